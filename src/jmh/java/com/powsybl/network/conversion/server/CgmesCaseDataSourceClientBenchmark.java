@@ -0,0 +1,57 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.network.conversion.server;
+
+import com.powsybl.network.conversion.server.dto.BoundaryInfos;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the boundary files replacement done by CGMES imports using given boundaries.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CgmesCaseDataSourceClientBenchmark {
+
+    @Param({"64", "4096"})
+    private int boundarySizeKb;
+
+    private List<BoundaryInfos> boundaries;
+
+    @Setup
+    public void setUp() {
+        String boundary = "x".repeat(boundarySizeKb * 1024);
+        boundaries = List.of(
+            new BoundaryInfos("urn:uuid:f1582c44-d9e2-4ea0-afdc-dba189ab4358", "20201121T0000Z__ENTSOE_EQBD_003.xml", boundary),
+            new BoundaryInfos("urn:uuid:3e3f7738-aab9-4284-a965-71d5cd151f71", "20201205T1000Z__ENTSOE_TPBD_004.xml", boundary));
+    }
+
+    /**
+     * A new client per import, reading both boundary files
+     */
+    @Benchmark
+    public long readBoundaries() throws IOException {
+        CgmesCaseDataSourceClient client = new CgmesCaseDataSourceClient(new RestTemplate(), UUID.randomUUID(), boundaries);
+        long size = 0;
+        try (InputStream eqbd = client.newInputStream("20210326T0000Z__ENTSOE_EQBD_101.xml");
+             InputStream tpbd = client.newInputStream("20210326T0000Z__ENTSOE_TPBD_6.xml")) {
+            size += eqbd.available();
+            size += tpbd.available();
+        }
+        return size;
+    }
+}
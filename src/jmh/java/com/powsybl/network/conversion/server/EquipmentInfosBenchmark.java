@@ -0,0 +1,98 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.network.conversion.server;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.powsybl.iidm.network.Identifiable;
+import com.powsybl.iidm.network.Network;
+import com.powsybl.iidm.network.VariantManagerConstants;
+import com.powsybl.network.conversion.server.dto.EquipmentInfos;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the equipment infos computation done on import and reindexing.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EquipmentInfosBenchmark {
+
+    private static final String VARIANT_ID = "variant";
+
+    @Param({"100", "1000"})
+    private int substationCount;
+
+    private final UUID networkUuid = UUID.randomUUID();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private Network network;
+
+    private Map<String, EquipmentInfos> initialVariantEquipmentInfos;
+
+    private Map<String, EquipmentInfos> currentVariantEquipmentInfos;
+
+    private List<EquipmentInfos> equipmentInfos;
+
+    @Setup
+    public void setUp() {
+        network = SyntheticNetworks.create(substationCount);
+
+        initialVariantEquipmentInfos = NetworkConversionService.getEquipmentInfos(network, networkUuid, VARIANT_ID);
+        equipmentInfos = new ArrayList<>(initialVariantEquipmentInfos.values());
+
+        // a variant with 5% of created, 5% of modified and 5% of deleted equipments
+        currentVariantEquipmentInfos = new HashMap<>(NetworkConversionService.getEquipmentInfos(network, networkUuid, VARIANT_ID));
+        int i = 0;
+        for (String id : List.copyOf(currentVariantEquipmentInfos.keySet())) {
+            switch (i++ % 20) {
+                case 0 -> currentVariantEquipmentInfos.remove(id);
+                case 1 -> currentVariantEquipmentInfos.get(id).setName(id + "_modified");
+                case 2 -> currentVariantEquipmentInfos.put(id + "_created", NetworkConversionService.toEquipmentInfos(network.getIdentifiable(id), networkUuid, VARIANT_ID));
+                default -> {
+                    // unchanged
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public void toEquipmentInfos(Blackhole blackhole) {
+        for (Identifiable<?> identifiable : network.getIdentifiables()) {
+            if (NetworkConversionService.TYPES_FOR_INDEXING.contains(identifiable.getType())) {
+                blackhole.consume(NetworkConversionService.toEquipmentInfos(identifiable, networkUuid, VariantManagerConstants.INITIAL_VARIANT_ID));
+            }
+        }
+    }
+
+    @Benchmark
+    public Map<String, EquipmentInfos> getEquipmentInfos() {
+        return NetworkConversionService.getEquipmentInfos(network, networkUuid, VariantManagerConstants.INITIAL_VARIANT_ID);
+    }
+
+    @Benchmark
+    public NetworkConversionService.EquipmentInfosVariantDiff diffEquipmentInfos() {
+        return NetworkConversionService.diffEquipmentInfos(initialVariantEquipmentInfos, currentVariantEquipmentInfos, networkUuid, VARIANT_ID);
+    }
+
+    @Benchmark
+    public byte[] equipmentInfosToJson() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(equipmentInfos);
+    }
+}
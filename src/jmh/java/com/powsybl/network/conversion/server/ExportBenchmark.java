@@ -0,0 +1,109 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.network.conversion.server;
+
+import com.powsybl.network.conversion.server.archive.ArchiveCodec;
+import com.powsybl.network.conversion.server.archive.ArchiveOptions;
+import com.powsybl.network.conversion.server.archive.ArchiveWriter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the export steps done around the network serialization. Each benchmark has its own state, so that it
+ * is only run over the parameters it depends on.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExportBenchmark {
+
+    private static final String EXPORTED_FILE_NAME = "network.xiidm";
+
+    @State(Scope.Benchmark)
+    public static class ArchiveState {
+
+        @Param({"1024", "65536"})
+        private int exportedFileSizeKb;
+
+        @Param({"ZIP", "TAR_GZ", "TAR_ZST"})
+        private ArchiveCodec archiveCodec;
+
+        @Param({"1", "0"})
+        private int compressionThreads;
+
+        private Path tempDir;
+
+        private ArchiveWriter archiveWriter;
+
+        private Map<String, Path> archiveEntries;
+
+        @Setup
+        public void setUp() throws IOException {
+            tempDir = Files.createTempDirectory("export_benchmark_");
+            // text like content, so that it is compressed as a real export
+            byte[] content = new byte[exportedFileSizeKb * 1024];
+            Random random = new Random(0);
+            for (int i = 0; i < content.length; i++) {
+                content[i] = (byte) ('a' + random.nextInt(16));
+            }
+            Files.write(tempDir.resolve(EXPORTED_FILE_NAME), content);
+            archiveEntries = Map.of(EXPORTED_FILE_NAME, tempDir.resolve(EXPORTED_FILE_NAME));
+            archiveWriter = new ArchiveWriter(DataSize.ofMegabytes(4), compressionThreads);
+        }
+
+        @TearDown
+        public void tearDown() throws IOException {
+            archiveWriter.shutdown();
+            FileSystemUtils.deleteRecursively(tempDir);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class FormatParametersState {
+
+        @Param({"10", "100"})
+        private int formatParameterCount;
+
+        private Message<UUID> exportMessage;
+
+        @Setup
+        public void setUp() {
+            Map<String, Object> formatParameters = new HashMap<>();
+            for (int i = 0; i < formatParameterCount; i++) {
+                formatParameters.put("iidm.export.xml.parameter" + i, "value" + i);
+            }
+            exportMessage = MessageBuilder.withPayload(UUID.randomUUID())
+                .setHeader(NotificationService.HEADER_EXPORT_PARAMETERS, formatParameters)
+                .build();
+        }
+    }
+
+    @Benchmark
+    public Path writeArchive(ArchiveState state) throws IOException {
+        return state.archiveWriter.write(state.tempDir, "network", state.archiveEntries,
+            new ArchiveOptions(state.archiveCodec, state.archiveCodec.getDefaultLevel()));
+    }
+
+    @Benchmark
+    public Map<String, Object> extractFormatParameters(FormatParametersState state) {
+        return NetworkConversionService.extractFormatParameters(state.exportMessage);
+    }
+}
@@ -0,0 +1,142 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.network.conversion.server;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.powsybl.commons.report.ReportNode;
+import com.powsybl.commons.report.ReportNodeJsonModule;
+import com.powsybl.commons.report.TypedValue;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the sending of the import reports to a local stand-in of the report server, which reads and discards
+ * the request body: the report serialized as a String before the request, as done before, compared to the report
+ * serialized into the request body by {@link NetworkConversionService#writeReport}, with and without compression.
+ * The latency of a send is the average time, the heap allocated per send is gc.alloc.rate.norm of the gc profiler,
+ * and heapPeakMb is the highest heap use during an iteration, garbage not yet collected included.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ReportBenchmark {
+
+    @Param({"1000", "100000"})
+    private int reportNodeCount;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new ReportNodeJsonModule());
+
+    private ReportNode report;
+
+    private HttpServer reportServer;
+
+    private RestTemplate reportServerRest;
+
+    private String reportUrl;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class HeapPeak {
+
+        private final List<MemoryPoolMXBean> heapPools = ManagementFactory.getMemoryPoolMXBeans().stream()
+            .filter(pool -> pool.getType() == MemoryType.HEAP)
+            .toList();
+
+        public long heapPeakMb;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            heapPeakMb = 0;
+            heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+        }
+
+        void sample() {
+            heapPeakMb = Math.max(heapPeakMb, heapPools.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum() / (1024 * 1024));
+        }
+    }
+
+    @Setup
+    public void setUp() throws IOException {
+        report = ReportNode.newRootReportNode()
+            .withAllResourceBundlesFromClasspath()
+            .withMessageTemplate("network.conversion.server.reporterId")
+            .withUntypedValue("reporterId", "Root")
+            .build();
+        ReportNode importReport = report.newReportNode()
+            .withMessageTemplate("network.conversion.server.subReporterId")
+            .withUntypedValue("subReporterId", "Import Case : benchmark")
+            .add();
+        for (int i = 0; i < reportNodeCount; i++) {
+            importReport.newReportNode()
+                .withMessageTemplate("network.conversion.server.subReporterId")
+                .withUntypedValue("subReporterId", "Equipment " + i + " ignored")
+                .withSeverity(TypedValue.WARN_SEVERITY)
+                .add();
+        }
+
+        reportServer = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        reportServer.createContext("/v1/reports", exchange -> {
+            exchange.getRequestBody().transferTo(OutputStream.nullOutputStream());
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        reportServer.start();
+        reportUrl = "http://localhost:" + reportServer.getAddress().getPort() + "/v1/reports/benchmark";
+        PooledHttpClientFactory httpClientFactory = new PooledHttpClientFactory(10, 10, Duration.ofSeconds(5), Duration.ofMinutes(5),
+            Duration.ofMinutes(1), Duration.ofSeconds(30), new NetworkConversionObserver(ObservationRegistry.NOOP, new SimpleMeterRegistry()));
+        reportServerRest = new RestTemplate(httpClientFactory.createRequestFactory("report-server"));
+    }
+
+    @TearDown
+    public void tearDown() {
+        reportServer.stop(0);
+    }
+
+    /**
+     * The report serialized as a String, then sent
+     */
+    @Benchmark
+    public void sendReportAsString(HeapPeak heapPeak) throws IOException {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        reportServerRest.exchange(reportUrl, HttpMethod.PUT, new HttpEntity<>(objectMapper.writeValueAsString(report), headers), Void.class);
+        heapPeak.sample();
+    }
+
+    @Benchmark
+    public void sendReport(HeapPeak heapPeak) {
+        reportServerRest.execute(reportUrl, HttpMethod.PUT, request -> NetworkConversionService.writeReport(request, report, objectMapper, false), null);
+        heapPeak.sample();
+    }
+
+    @Benchmark
+    public void sendCompressedReport(HeapPeak heapPeak) {
+        reportServerRest.execute(reportUrl, HttpMethod.PUT, request -> NetworkConversionService.writeReport(request, report, objectMapper, true), null);
+        heapPeak.sample();
+    }
+}
@@ -0,0 +1,214 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.network.conversion.server;
+
+import com.powsybl.network.conversion.server.jfr.ConversionEvents;
+import com.powsybl.network.conversion.server.jfr.ConversionPhaseEvent;
+import io.micrometer.context.ContextRegistry;
+import io.micrometer.observation.Observation;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Records the download phase of the case files read through the case server datasource : the time to get the response
+ * and to read its body. Case files are streamed to the importers, so the body is read while the case is imported and
+ * the time spent in the importer between two reads is not counted.
+ * The other case server requests (case infos, datasource metadata) are not downloads and are not recorded. The downloads
+ * are tagged with the format of the case being read, bound to the job with {@link #withCaseFormat}.
+ */
+class CaseDownloadInterceptor implements ClientHttpRequestInterceptor {
+
+    private static final String CASE_FORMAT_CONTEXT_KEY = "network-conversion-case-format";
+
+    private static final ThreadLocal<String> CURRENT_CASE_FORMAT = new ThreadLocal<>();
+
+    // path of the datasource file download, the metadata requests having another sub path (baseName, exists, list)
+    private static final String DATASOURCE_FILE_PATH_SUFFIX = "/datasource";
+
+    static {
+        ContextRegistry.getInstance().registerThreadLocalAccessor(CASE_FORMAT_CONTEXT_KEY, CURRENT_CASE_FORMAT::get, CURRENT_CASE_FORMAT::set, CURRENT_CASE_FORMAT::remove);
+    }
+
+    private final NetworkConversionObserver networkConversionObserver;
+
+    CaseDownloadInterceptor(NetworkConversionObserver networkConversionObserver) {
+        this.networkConversionObserver = networkConversionObserver;
+    }
+
+    /**
+     * Read a case, its downloads being tagged with its format
+     */
+    static <T, E extends Throwable> T withCaseFormat(String caseFormat, Observation.CheckedCallable<T, E> callable) throws E {
+        String previous = CURRENT_CASE_FORMAT.get();
+        CURRENT_CASE_FORMAT.set(caseFormat);
+        try {
+            return callable.call();
+        } finally {
+            if (previous != null) {
+                CURRENT_CASE_FORMAT.set(previous);
+            } else {
+                CURRENT_CASE_FORMAT.remove();
+            }
+        }
+    }
+
+    /**
+     * @return the format of the case being read by the current job, null if not known
+     */
+    static String getCaseFormat() {
+        return CURRENT_CASE_FORMAT.get();
+    }
+
+    private static boolean isCaseFileDownload(HttpRequest request) {
+        String path = request.getURI().getPath();
+        return HttpMethod.GET.equals(request.getMethod()) && path != null && path.endsWith(DATASOURCE_FILE_PATH_SUFFIX);
+    }
+
+    private static void addDownloadedBytes(ConversionPhaseEvent event, long bytes) {
+        ConversionEvents.addBytes(event, bytes);
+        JobResourceUsage jobResourceUsage = JobResourceUsage.current();
+        if (jobResourceUsage != null) {
+            jobResourceUsage.addDownloadedBytes(bytes);
+        }
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        if (!isCaseFileDownload(request)) {
+            return execution.execute(request, body);
+        }
+        String caseFormat = getCaseFormat();
+        long startTime = System.nanoTime();
+        // the flight recorder event spans the whole download, from the request to the close of the body
+        ConversionPhaseEvent event = ConversionEvents.createPhase(NetworkConversionObserver.PHASE_DOWNLOAD, caseFormat);
+        ClientHttpResponse response;
+        try {
+            response = execution.execute(request, body);
+        } catch (IOException e) {
+            networkConversionObserver.recordPhase(NetworkConversionObserver.PHASE_DOWNLOAD, caseFormat, false, System.nanoTime() - startTime);
+            ConversionEvents.commit(event, false);
+            throw e;
+        }
+        return new DownloadResponse(response, System.nanoTime() - startTime, event, caseFormat);
+    }
+
+    private final class DownloadResponse implements ClientHttpResponse {
+
+        private final ClientHttpResponse delegate;
+
+        private final AtomicBoolean recorded = new AtomicBoolean();
+
+        private long durationNanos;
+
+        private boolean success = true;
+
+        private InputStream body;
+
+        private final ConversionPhaseEvent event;
+
+        private final String caseFormat;
+
+        private DownloadResponse(ClientHttpResponse delegate, long responseNanos, ConversionPhaseEvent event, String caseFormat) {
+            this.delegate = delegate;
+            this.durationNanos = responseNanos;
+            this.event = event;
+            this.caseFormat = caseFormat;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            if (body == null) {
+                body = new FilterInputStream(delegate.getBody()) {
+                    @Override
+                    public int read() throws IOException {
+                        long startTime = System.nanoTime();
+                        try {
+                            int read = super.read();
+                            if (read >= 0) {
+                                addDownloadedBytes(event, 1);
+                            }
+                            return read;
+                        } catch (IOException e) {
+                            success = false;
+                            throw e;
+                        } finally {
+                            durationNanos += System.nanoTime() - startTime;
+                        }
+                    }
+
+                    @Override
+                    public int read(byte[] b, int off, int len) throws IOException {
+                        long startTime = System.nanoTime();
+                        try {
+                            int read = super.read(b, off, len);
+                            if (read > 0) {
+                                addDownloadedBytes(event, read);
+                            }
+                            return read;
+                        } catch (IOException e) {
+                            success = false;
+                            throw e;
+                        } finally {
+                            durationNanos += System.nanoTime() - startTime;
+                        }
+                    }
+
+                    @Override
+                    public void close() throws IOException {
+                        try {
+                            super.close();
+                        } finally {
+                            record();
+                        }
+                    }
+                };
+            }
+            return body;
+        }
+
+        @Override
+        public void close() {
+            try {
+                delegate.close();
+            } finally {
+                record();
+            }
+        }
+
+        private void record() {
+            if (recorded.compareAndSet(false, true)) {
+                networkConversionObserver.recordPhase(NetworkConversionObserver.PHASE_DOWNLOAD, caseFormat, success, durationNanos);
+                ConversionEvents.commit(event, success);
+            }
+        }
+    }
+}
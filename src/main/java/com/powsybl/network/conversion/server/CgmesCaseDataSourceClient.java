@@ -6,6 +6,8 @@
  */
 package com.powsybl.network.conversion.server;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.powsybl.cases.datasource.CaseDataSourceClient;
 import com.powsybl.commons.PowsyblException;
 import com.powsybl.network.conversion.server.dto.BoundaryInfos;
@@ -16,9 +18,11 @@ import org.springframework.web.client.RestTemplate;
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.List;
-import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.regex.Pattern;
 
 /**
  * @author Franck Lecuyer <franck.lecuyer at rte-france.com>
@@ -29,33 +33,70 @@ public class CgmesCaseDataSourceClient extends CaseDataSourceClient {
     public static final String TPBD_FILE_REGEX = "^(([^_][^_])*?(__ENTSOE_TPBD_).*(\\.xml))$";
     public static final String EQBD_FILE_REGEX = "^(([^_][^_])*?(__ENTSOE_EQBD_).*(\\.xml))$";
 
-    private List<BoundaryInfos> boundaries;
+    private static final Pattern TPBD_FILE_PATTERN = Pattern.compile(TPBD_FILE_REGEX);
+    private static final Pattern EQBD_FILE_PATTERN = Pattern.compile(EQBD_FILE_REGEX);
+
+    // the same boundary sets are used by many imports : their encoded content is shared by all the clients.
+    // A boundary is identified by its id and the hash of its content, the content of a cached boundary being checked
+    // as the same id may be published again with another content, e.g. by another boundary server
+    private static final Cache<BoundaryKey, EncodedBoundary> BOUNDARY_BYTES_CACHE = CacheBuilder.newBuilder()
+        .maximumSize(10)
+        .expireAfterWrite(Duration.ofHours(1))
+        .build();
+
+    private record BoundaryKey(String id, int contentHash) {
+    }
+
+    private record EncodedBoundary(String content, byte[] bytes) {
+    }
+
+    private final BoundaryInfos eqbdBoundary;
+
+    private final BoundaryInfos tpbdBoundary;
 
     public CgmesCaseDataSourceClient(RestTemplate restTemplate, UUID caseUuid, List<BoundaryInfos> boundaries) {
         super(restTemplate, caseUuid);
-        this.boundaries = boundaries;
+        this.eqbdBoundary = findBoundary(boundaries, EQBD_FILE_PATTERN);
+        this.tpbdBoundary = findBoundary(boundaries, TPBD_FILE_PATTERN);
+    }
+
+    private static BoundaryInfos findBoundary(List<BoundaryInfos> boundaries, Pattern pattern) {
+        return boundaries.stream().filter(b -> pattern.matcher(b.getFilename()).matches()).findFirst().orElse(null);
+    }
+
+    private static byte[] getBoundaryBytes(BoundaryInfos boundary) {
+        String content = boundary.getBoundary();
+        if (boundary.getId() == null) {
+            return content.getBytes(StandardCharsets.UTF_8);
+        }
+        try {
+            EncodedBoundary encodedBoundary = BOUNDARY_BYTES_CACHE.get(new BoundaryKey(boundary.getId(), content.hashCode()),
+                () -> new EncodedBoundary(content, content.getBytes(StandardCharsets.UTF_8)));
+            // another content with the same id and hash is not cached
+            return encodedBoundary.content().equals(content) ? encodedBoundary.bytes() : content.getBytes(StandardCharsets.UTF_8);
+        } catch (ExecutionException e) {
+            throw new PowsyblException("Error encoding boundary " + boundary.getId(), e);
+        }
     }
 
     @Override
     public InputStream newInputStream(String fileName) {
-        if (!fileName.matches(EQBD_FILE_REGEX) && !fileName.matches(TPBD_FILE_REGEX)) {
+        BoundaryInfos replacingBoundary;
+        if (EQBD_FILE_PATTERN.matcher(fileName).matches()) {
+            replacingBoundary = eqbdBoundary;
+        } else if (TPBD_FILE_PATTERN.matcher(fileName).matches()) {
+            replacingBoundary = tpbdBoundary;
+        } else {
             return super.newInputStream(fileName);
+        }
+        if (replacingBoundary != null) {
+            LOGGER.info("Using boundary file {} with id {} to replace original boundary file {}",
+                replacingBoundary.getFilename(),
+                replacingBoundary.getId(),
+                fileName);
+            return new ByteArrayInputStream(getBoundaryBytes(replacingBoundary));
         } else {
-            Optional<BoundaryInfos> replacingBoundary;
-            if (fileName.matches(EQBD_FILE_REGEX)) {
-                replacingBoundary = boundaries.stream().filter(b -> b.getFilename().matches(EQBD_FILE_REGEX)).findFirst();
-            } else {
-                replacingBoundary = boundaries.stream().filter(b -> b.getFilename().matches(TPBD_FILE_REGEX)).findFirst();
-            }
-            if (replacingBoundary.isPresent()) {
-                LOGGER.info("Using boundary file {} with id {} to replace original boundary file {}",
-                    replacingBoundary.get().getFilename(),
-                    replacingBoundary.get().getId(),
-                    fileName);
-                return new ByteArrayInputStream(replacingBoundary.get().getBoundary().getBytes(StandardCharsets.UTF_8));
-            } else {
-                throw new PowsyblException("No replacing boundary available for replacement of boundary " + fileName + " !!");
-            }
+            throw new PowsyblException("No replacing boundary available for replacement of boundary " + fileName + " !!");
         }
     }
 }
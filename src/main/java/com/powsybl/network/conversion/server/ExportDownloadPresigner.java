@@ -0,0 +1,85 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.network.conversion.server;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ContentDisposition;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.regions.providers.AwsRegionProvider;
+import software.amazon.awssdk.services.s3.S3Configuration;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
+
+import java.net.URI;
+import java.time.Duration;
+
+/**
+ * Pre-signs the URLs to download the exported files directly from S3.
+ * The URLs are signed for the endpoint of the S3 client, unless export-download.public-endpoint is set, for clients
+ * reaching S3 through another endpoint than the service (e.g. an ingress in front of an internal S3). The URLs of the
+ * public endpoint use path-style access, the bucket being in their path.
+ */
+@Service
+public class ExportDownloadPresigner {
+
+    private final S3Presigner s3Presigner;
+
+    // the dedicated pre-signer of the public endpoint is closed with the service, the other one being a shared bean
+    private final S3Presigner publicEndpointPresigner;
+
+    @Autowired
+    public ExportDownloadPresigner(S3Presigner s3Presigner,
+                                   ObjectProvider<AwsCredentialsProvider> awsCredentialsProvider,
+                                   ObjectProvider<AwsRegionProvider> awsRegionProvider,
+                                   @Value("${export-download.public-endpoint:}") String publicEndpoint) {
+        this(s3Presigner, publicEndpoint.isEmpty() ? null
+            : createPublicEndpointPresigner(URI.create(publicEndpoint), awsCredentialsProvider.getObject(), awsRegionProvider.getObject().getRegion()));
+    }
+
+    ExportDownloadPresigner(S3Presigner s3Presigner, S3Presigner publicEndpointPresigner) {
+        this.s3Presigner = publicEndpointPresigner != null ? publicEndpointPresigner : s3Presigner;
+        this.publicEndpointPresigner = publicEndpointPresigner;
+    }
+
+    static S3Presigner createPublicEndpointPresigner(URI publicEndpoint, AwsCredentialsProvider awsCredentialsProvider, Region region) {
+        return S3Presigner.builder()
+            .endpointOverride(publicEndpoint)
+            .credentialsProvider(awsCredentialsProvider)
+            .region(region)
+            .serviceConfiguration(S3Configuration.builder().pathStyleAccessEnabled(true).build())
+            .build();
+    }
+
+    @PreDestroy
+    private void preDestroy() {
+        if (publicEndpointPresigner != null) {
+            publicEndpointPresigner.close();
+        }
+    }
+
+    /**
+     * @return a URL to download the file during the given duration, with the same file name as through the service
+     */
+    public String presignDownloadUrl(String bucketName, String s3Key, Duration duration) {
+        String fileName = s3Key.substring(s3Key.lastIndexOf('/') + 1);
+        GetObjectPresignRequest presignRequest = GetObjectPresignRequest.builder()
+            .signatureDuration(duration)
+            .getObjectRequest(GetObjectRequest.builder()
+                .bucket(bucketName)
+                .key(s3Key)
+                .responseContentDisposition(ContentDisposition.builder("attachment").filename(fileName).build().toString())
+                .build())
+            .build();
+        return s3Presigner.presignGetObject(presignRequest).url().toString();
+    }
+}
@@ -0,0 +1,461 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.network.conversion.server;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.Delete;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsResponse;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
+import software.amazon.awssdk.services.s3.model.ObjectIdentifier;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static com.powsybl.network.conversion.server.NetworkConversionConstants.DELIMITER;
+
+/**
+ * Retention of the exported files stored on S3 under exportRootPath/exportUuid/.
+ * The exports are tracked with their files, last access time and size, from the uploads of this pod and from a
+ * periodic listing of the export folder, which also finds the exports of the other pods.
+ * The downloads are shared between the pods with an empty marker object per export, under
+ * exportRootPath-retention/access/, whose last modification time is the last download of the export.
+ * Each sweep deletes the exports not accessed for more than ttl, then the least recently accessed ones while the total
+ * size is above max-total-size, with batched multi-object deletes.
+ * A single pod sweeps per sweep-interval: the one creating the lock object of the interval under
+ * exportRootPath-retention/sweep/, with a conditional put failing if it already exists. The other pods only keep
+ * tracking the exports they uploaded during the last interval, and the storage metrics are the ones of the sweeping pod.
+ * The tracked files are also used to find the file of a download without listing the export folder, an evicted export
+ * being forgotten before its files are deleted.
+ */
+@Service
+public class ExportRetentionService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ExportRetentionService.class);
+
+    // maximum number of keys of a DeleteObjects request
+    private static final int MAX_DELETE_BATCH_SIZE = 1000;
+
+    private static final String RETENTION_PATH_SUFFIX = "-retention";
+
+    private static final String ACCESS_FOLDER = "access";
+
+    private static final String SWEEP_LOCK_FOLDER = "sweep";
+
+    // the access markers of an export are not written more often, the eviction not needing a finer precision
+    private static final Duration ACCESS_RECORD_INTERVAL = Duration.ofMinutes(1);
+
+    private static final int PRECONDITION_FAILED = 412;
+
+    private static final int CONFLICT = 409;
+
+    private static final class TrackedExport {
+
+        private final Map<String, Long> fileSizes = new ConcurrentHashMap<>();
+
+        private Instant creationTime;
+
+        private Instant lastAccessTime;
+
+        // true if the export has an access marker on S3
+        private boolean accessed;
+
+        private TrackedExport(Instant creationTime) {
+            this.creationTime = creationTime;
+            this.lastAccessTime = creationTime;
+        }
+
+        private synchronized void addFile(String key, long size, Instant time) {
+            fileSizes.put(key, size);
+            creationTime = creationTime.isBefore(time) ? creationTime : time;
+            lastAccessTime = lastAccessTime.isAfter(time) ? lastAccessTime : time;
+        }
+
+        private synchronized void setAccessTime(Instant time) {
+            accessed = true;
+            lastAccessTime = lastAccessTime.isAfter(time) ? lastAccessTime : time;
+        }
+
+        private synchronized Instant getCreationTime() {
+            return creationTime;
+        }
+
+        private synchronized Instant getLastAccessTime() {
+            return lastAccessTime;
+        }
+
+        private synchronized boolean isAccessed() {
+            return accessed;
+        }
+
+        private long getSize() {
+            return fileSizes.values().stream().mapToLong(Long::longValue).sum();
+        }
+    }
+
+    private final S3Client s3Client;
+
+    private final NetworkConversionObserver networkConversionObserver;
+
+    private final String bucketName;
+
+    private final String exportRootPath;
+
+    private final Duration ttl;
+
+    private final long maxTotalSize;
+
+    private final Duration sweepInterval;
+
+    private final int deleteBatchSize;
+
+    private final ConcurrentMap<String, TrackedExport> exports = new ConcurrentHashMap<>();
+
+    // the exports whose access marker was written recently
+    private final Cache<String, Boolean> recentAccesses = CacheBuilder.newBuilder()
+        .expireAfterWrite(ACCESS_RECORD_INTERVAL)
+        .maximumSize(10_000)
+        .build();
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+
+    public ExportRetentionService(S3Client s3Client,
+                                  NetworkConversionObserver networkConversionObserver,
+                                  @Value("${spring.cloud.aws.bucket:ws-bucket}") String bucketName,
+                                  @Value("${powsybl-ws.s3.subpath.prefix:}${export-subpath}") String exportRootPath,
+                                  @Value("${export-retention.ttl:0}") Duration ttl,
+                                  @Value("${export-retention.max-total-size:0}") DataSize maxTotalSize,
+                                  @Value("${export-retention.sweep-interval:1h}") Duration sweepInterval,
+                                  @Value("${export-retention.delete-batch-size:1000}") int deleteBatchSize) {
+        this.s3Client = s3Client;
+        this.networkConversionObserver = networkConversionObserver;
+        this.bucketName = bucketName;
+        this.exportRootPath = exportRootPath;
+        this.ttl = ttl;
+        this.maxTotalSize = maxTotalSize.toBytes();
+        this.sweepInterval = sweepInterval;
+        this.deleteBatchSize = Math.max(1, Math.min(MAX_DELETE_BATCH_SIZE, deleteBatchSize));
+        networkConversionObserver.createExportStorageMetrics(exports::size, this::getTotalSize);
+    }
+
+    @PostConstruct
+    private void postConstruct() {
+        if (isEnabled()) {
+            scheduler.scheduleWithFixedDelay(this::sweepIfElectedSafely, sweepInterval.toMillis(), sweepInterval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    private void preDestroy() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * @return true if the exports are evicted by ttl or by size, the exports not being tracked otherwise
+     */
+    public boolean isEnabled() {
+        return ttl.isPositive() || maxTotalSize > 0;
+    }
+
+    private long getTotalSize() {
+        return exports.values().stream().mapToLong(TrackedExport::getSize).sum();
+    }
+
+    private String getAccessPrefix() {
+        return exportRootPath + RETENTION_PATH_SUFFIX + DELIMITER + ACCESS_FOLDER + DELIMITER;
+    }
+
+    private String getSweepLockPrefix() {
+        return exportRootPath + RETENTION_PATH_SUFFIX + DELIMITER + SWEEP_LOCK_FOLDER + DELIMITER;
+    }
+
+    /**
+     * @return the export UUID of a key or key prefix, null if the key is not in an export folder
+     */
+    private String getExportUuid(String key) {
+        String rootPrefix = exportRootPath + DELIMITER;
+        if (!key.startsWith(rootPrefix)) {
+            return null;
+        }
+        int end = key.indexOf(DELIMITER, rootPrefix.length());
+        return end > rootPrefix.length() ? key.substring(rootPrefix.length(), end) : null;
+    }
+
+    /**
+     * Track an uploaded file of an export
+     */
+    public void recordExport(String s3Key, long size) {
+        String exportUuid = getExportUuid(s3Key);
+        if (!isEnabled() || exportUuid == null) {
+            return;
+        }
+        Instant now = Instant.now();
+        exports.computeIfAbsent(exportUuid, uuid -> new TrackedExport(now)).addFile(s3Key, size, now);
+    }
+
+    /**
+     * Find a tracked file of an export
+     * @param keyPrefix the prefix of the key of the file, in the folder of the export
+     * @return the key of the file, empty if not tracked
+     */
+    public Optional<String> findExportKey(String keyPrefix) {
+        String exportUuid = getExportUuid(keyPrefix);
+        TrackedExport export = exportUuid != null ? exports.get(exportUuid) : null;
+        if (export == null) {
+            return Optional.empty();
+        }
+        return export.fileSizes.keySet().stream().filter(fileKey -> fileKey.startsWith(keyPrefix)).sorted().findFirst();
+    }
+
+    /**
+     * Record the download of a file of an export, in its access marker shared by all the pods
+     */
+    public void recordAccess(String s3Key) {
+        String exportUuid = getExportUuid(s3Key);
+        if (!isEnabled() || exportUuid == null || recentAccesses.asMap().putIfAbsent(exportUuid, Boolean.TRUE) != null) {
+            return;
+        }
+        TrackedExport export = exports.get(exportUuid);
+        if (export != null) {
+            export.setAccessTime(Instant.now());
+        }
+        try {
+            s3Client.putObject(PutObjectRequest.builder().bucket(bucketName).key(getAccessPrefix() + exportUuid).build(), RequestBody.empty());
+        } catch (SdkException e) {
+            // the export is evicted by its creation time or a previous access
+            LOGGER.warn("Recording the access of export {} failed: {}", exportUuid, e.getMessage());
+        }
+    }
+
+    /**
+     * Stop tracking an export whose file is missing, e.g. deleted by another pod
+     */
+    public void forgetExport(String s3Key) {
+        String exportUuid = getExportUuid(s3Key);
+        if (exportUuid != null) {
+            exports.remove(exportUuid);
+        }
+    }
+
+    private void sweepIfElectedSafely() {
+        try {
+            sweepIfElected();
+        } catch (RuntimeException e) {
+            // the next sweeps must still run
+            LOGGER.error("Sweep of the exports failed", e);
+        }
+    }
+
+    /**
+     * Sweep the exports if this pod is the first one to take the lock of the current sweep interval, otherwise only
+     * forget the exports tracked before the last interval, which may have been evicted by the sweeping pod
+     * @return true if the exports were swept
+     */
+    boolean sweepIfElected() {
+        Instant now = Instant.now();
+        if (acquireSweepLock(now.toEpochMilli() / sweepInterval.toMillis())) {
+            sweep();
+            return true;
+        }
+        Instant lastInterval = now.minus(sweepInterval);
+        exports.entrySet().removeIf(entry -> entry.getValue().getCreationTime().isBefore(lastInterval));
+        return false;
+    }
+
+    /**
+     * @return true if the lock object of the sweep interval was created by this pod, false if it already exists
+     */
+    private boolean acquireSweepLock(long interval) {
+        String lockPrefix = getSweepLockPrefix();
+        String lockKey = lockPrefix + interval;
+        try {
+            s3Client.putObject(PutObjectRequest.builder().bucket(bucketName).key(lockKey).ifNoneMatch("*").build(), RequestBody.empty());
+        } catch (S3Exception e) {
+            if (e.statusCode() == PRECONDITION_FAILED || e.statusCode() == CONFLICT) {
+                return false;
+            }
+            throw e;
+        }
+        // the locks of the previous intervals
+        List<String> previousLocks = listKeys(lockPrefix).keySet().stream().filter(key -> !key.equals(lockKey)).toList();
+        if (!previousLocks.isEmpty()) {
+            deleteObjects(previousLocks);
+        }
+        return true;
+    }
+
+    /**
+     * Refresh the tracked exports from the listing of the export folder and of the access markers, and evict the
+     * exports not accessed for more than the ttl then the least recently accessed ones above the size quota
+     */
+    public synchronized void sweep() {
+        Instant sweepStart = Instant.now();
+        Map<String, TrackedExport> listedExports = listExports();
+        Map<String, Instant> accessTimes = listAccessTimes();
+        // exports deleted by another pod, the exports uploaded during the listing being kept
+        exports.entrySet().removeIf(entry -> !listedExports.containsKey(entry.getKey()) && entry.getValue().getCreationTime().isBefore(sweepStart));
+        listedExports.forEach((exportUuid, listedExport) -> {
+            TrackedExport export = exports.computeIfAbsent(exportUuid, uuid -> listedExport);
+            if (export != listedExport) {
+                listedExport.fileSizes.forEach((key, size) -> export.addFile(key, size, listedExport.getCreationTime()));
+            }
+            Instant accessTime = accessTimes.get(exportUuid);
+            if (accessTime != null) {
+                export.setAccessTime(accessTime);
+            }
+        });
+        // the markers of the exports deleted since their last access
+        List<String> orphanMarkers = accessTimes.entrySet().stream()
+            .filter(entry -> !listedExports.containsKey(entry.getKey()) && entry.getValue().isBefore(sweepStart))
+            .map(entry -> getAccessPrefix() + entry.getKey())
+            .toList();
+        for (int i = 0; i < orphanMarkers.size(); i += deleteBatchSize) {
+            deleteObjects(orphanMarkers.subList(i, Math.min(orphanMarkers.size(), i + deleteBatchSize)));
+        }
+
+        if (ttl.isPositive()) {
+            Instant expiration = sweepStart.minus(ttl);
+            evict(exports.entrySet().stream().filter(entry -> entry.getValue().getLastAccessTime().isBefore(expiration)).toList(),
+                NetworkConversionObserver.EVICTION_REASON_AGE);
+        }
+        if (maxTotalSize > 0) {
+            long totalSize = getTotalSize();
+            List<Map.Entry<String, TrackedExport>> evictedExports = new ArrayList<>();
+            // the access ties are broken by export UUID, for the evictions not to depend on the listing order
+            Iterator<Map.Entry<String, TrackedExport>> leastRecentlyAccessed = exports.entrySet().stream()
+                .sorted(Comparator.comparing((Map.Entry<String, TrackedExport> entry) -> entry.getValue().getLastAccessTime())
+                    .thenComparing(Map.Entry::getKey))
+                .iterator();
+            while (totalSize > maxTotalSize && leastRecentlyAccessed.hasNext()) {
+                Map.Entry<String, TrackedExport> entry = leastRecentlyAccessed.next();
+                evictedExports.add(entry);
+                totalSize -= entry.getValue().getSize();
+            }
+            evict(evictedExports, NetworkConversionObserver.EVICTION_REASON_QUOTA);
+        }
+    }
+
+    /**
+     * @return the last access times of the exports, from the modification times of their markers
+     */
+    private Map<String, Instant> listAccessTimes() {
+        Map<String, Instant> accessTimes = new HashMap<>();
+        String accessPrefix = getAccessPrefix();
+        listKeys(accessPrefix).forEach((key, lastModified) -> {
+            String exportUuid = key.substring(accessPrefix.length());
+            if (!exportUuid.isEmpty() && !exportUuid.contains(DELIMITER)) {
+                accessTimes.put(exportUuid, lastModified);
+            }
+        });
+        return accessTimes;
+    }
+
+    /**
+     * @return the last modification times of the objects under a prefix, by key
+     */
+    private Map<String, Instant> listKeys(String prefix) {
+        Map<String, Instant> keys = new HashMap<>();
+        String continuationToken = null;
+        do {
+            ListObjectsV2Response response = s3Client.listObjectsV2(ListObjectsV2Request.builder()
+                .bucket(bucketName)
+                .prefix(prefix)
+                .continuationToken(continuationToken)
+                .build());
+            for (S3Object object : response.contents()) {
+                keys.put(object.key(), object.lastModified() != null ? object.lastModified() : Instant.now());
+            }
+            continuationToken = Boolean.TRUE.equals(response.isTruncated()) ? response.nextContinuationToken() : null;
+        } while (continuationToken != null);
+        return keys;
+    }
+
+    private Map<String, TrackedExport> listExports() {
+        Map<String, TrackedExport> listedExports = new HashMap<>();
+        String continuationToken = null;
+        do {
+            ListObjectsV2Response response = s3Client.listObjectsV2(ListObjectsV2Request.builder()
+                .bucket(bucketName)
+                .prefix(exportRootPath + DELIMITER)
+                .continuationToken(continuationToken)
+                .build());
+            for (S3Object object : response.contents()) {
+                String exportUuid = getExportUuid(object.key());
+                // some S3 implementations also list the directory objects
+                if (exportUuid != null && !object.key().endsWith(DELIMITER)) {
+                    Instant lastModified = object.lastModified() != null ? object.lastModified() : Instant.now();
+                    listedExports.computeIfAbsent(exportUuid, uuid -> new TrackedExport(lastModified))
+                        .addFile(object.key(), object.size() != null ? object.size() : 0, lastModified);
+                }
+            }
+            continuationToken = Boolean.TRUE.equals(response.isTruncated()) ? response.nextContinuationToken() : null;
+        } while (continuationToken != null);
+        return listedExports;
+    }
+
+    private void evict(List<Map.Entry<String, TrackedExport>> evictedExports, String reason) {
+        if (evictedExports.isEmpty()) {
+            return;
+        }
+        List<String> keys = new ArrayList<>();
+        int count = 0;
+        long size = 0;
+        for (Map.Entry<String, TrackedExport> entry : evictedExports) {
+            // the export is not found by the downloads anymore before its files are deleted
+            if (exports.remove(entry.getKey(), entry.getValue())) {
+                keys.addAll(entry.getValue().fileSizes.keySet());
+                if (entry.getValue().isAccessed()) {
+                    keys.add(getAccessPrefix() + entry.getKey());
+                }
+                count++;
+                size += entry.getValue().getSize();
+            }
+        }
+        for (int i = 0; i < keys.size(); i += deleteBatchSize) {
+            deleteObjects(keys.subList(i, Math.min(keys.size(), i + deleteBatchSize)));
+        }
+        networkConversionObserver.recordExportEvictions(reason, count, size);
+        LOGGER.info("{} exports ({} bytes) evicted by {}", count, size, reason);
+    }
+
+    private void deleteObjects(List<String> keys) {
+        try {
+            DeleteObjectsResponse response = s3Client.deleteObjects(DeleteObjectsRequest.builder()
+                .bucket(bucketName)
+                .delete(Delete.builder()
+                    .objects(keys.stream().map(key -> ObjectIdentifier.builder().key(key).build()).toList())
+                    .quiet(true)
+                    .build())
+                .build());
+            // the files not deleted are found again by the next listing
+            response.errors().forEach(error -> LOGGER.warn("Deletion of export file {} failed: {}", error.key(), error.message()));
+        } catch (SdkException e) {
+            LOGGER.error("Deletion of {} export files failed: {}", keys.size(), e.getMessage());
+        }
+    }
+}
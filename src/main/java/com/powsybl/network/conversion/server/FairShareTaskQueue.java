@@ -0,0 +1,157 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.network.conversion.server;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Pending import/export tasks, dispatched in weighted round-robin across tenants (user id, or receiver for the jobs submitted without user id) :
+ * the tenant currently served runs up to its weight (1 by default) tasks before the next tenant is served,
+ * so that a tenant submitting many jobs doesn't block the others.
+ * Priority tasks (interactive synchronous calls) are dispatched before any tenant task.
+ */
+class FairShareTaskQueue {
+
+    static final String DEFAULT_TENANT = "default";
+
+    static final String INTERACTIVE_TENANT = "interactive";
+
+    // metrics tag of the tenants without weight, so that the tags are bounded by the configuration
+    static final String OTHER_TENANTS_TAG = "other";
+
+    private final Map<String, Integer> tenantWeights;
+
+    private final Deque<Runnable> priorityTasks = new ArrayDeque<>();
+
+    private final Map<String, Deque<Runnable>> tasksByTenant = new HashMap<>();
+
+    // tenants having pending tasks in round-robin order, the first one being currently served
+    private final Deque<String> activeTenants = new ArrayDeque<>();
+
+    private int currentTenantServedTasks = 0;
+
+    FairShareTaskQueue(Map<String, Integer> tenantWeights) {
+        this.tenantWeights = Objects.requireNonNull(tenantWeights);
+    }
+
+    static String getTenant(String tenant) {
+        return tenant != null ? tenant : DEFAULT_TENANT;
+    }
+
+    /**
+     * @return the tenant of a job: its user, or its receiver (e.g. a study) when the job is submitted without user id
+     */
+    static String getTenant(String userId, String receiver) {
+        return userId != null ? userId : receiver;
+    }
+
+    /**
+     * @return the tenant as metrics tag: the weighted tenants and the interactive tenant, {@link #OTHER_TENANTS_TAG} for the others
+     */
+    String getTenantTag(String tenant) {
+        return tenantWeights.containsKey(tenant) || INTERACTIVE_TENANT.equals(tenant) ? tenant : OTHER_TENANTS_TAG;
+    }
+
+    /**
+     * @return all the tenant tags, whose number is bounded by the configuration
+     */
+    Set<String> getTenantTags() {
+        Set<String> tenantTags = new TreeSet<>(tenantWeights.keySet());
+        tenantTags.add(INTERACTIVE_TENANT);
+        tenantTags.add(OTHER_TENANTS_TAG);
+        return tenantTags;
+    }
+
+    synchronized void addPriorityTask(Runnable task) {
+        priorityTasks.addLast(task);
+    }
+
+    synchronized void addTask(String tenant, Runnable task) {
+        tasksByTenant.computeIfAbsent(tenant, t -> {
+            activeTenants.addLast(t);
+            return new ArrayDeque<>();
+        }).addLast(task);
+    }
+
+    synchronized Runnable poll() {
+        if (!priorityTasks.isEmpty()) {
+            return priorityTasks.pollFirst();
+        }
+        String tenant = activeTenants.peekFirst();
+        if (tenant == null) {
+            return null;
+        }
+        Deque<Runnable> tenantTasks = tasksByTenant.get(tenant);
+        Runnable task = tenantTasks.pollFirst();
+        currentTenantServedTasks++;
+        if (tenantTasks.isEmpty()) {
+            tasksByTenant.remove(tenant);
+            activeTenants.pollFirst();
+            currentTenantServedTasks = 0;
+        } else if (currentTenantServedTasks >= tenantWeights.getOrDefault(tenant, 1)) {
+            activeTenants.addLast(activeTenants.pollFirst());
+            currentTenantServedTasks = 0;
+        }
+        return task;
+    }
+
+    /**
+     * Remove a task not dispatched yet
+     * @return true if the task was pending
+     */
+    synchronized boolean remove(Runnable task) {
+        if (priorityTasks.remove(task)) {
+            return true;
+        }
+        for (Map.Entry<String, Deque<Runnable>> entry : tasksByTenant.entrySet()) {
+            if (entry.getValue().remove(task)) {
+                if (entry.getValue().isEmpty()) {
+                    String tenant = entry.getKey();
+                    tasksByTenant.remove(tenant);
+                    if (tenant.equals(activeTenants.peekFirst())) {
+                        currentTenantServedTasks = 0;
+                    }
+                    activeTenants.remove(tenant);
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    synchronized int size() {
+        return priorityTasks.size() + tasksByTenant.values().stream().mapToInt(Deque::size).sum();
+    }
+
+    synchronized int size(String tenant) {
+        Deque<Runnable> tenantTasks = tasksByTenant.get(tenant);
+        return tenantTasks != null ? tenantTasks.size() : 0;
+    }
+
+    /**
+     * @return the number of pending tasks of the tenants of a tag, the priority tasks being interactive tasks
+     */
+    synchronized int sizeByTenantTag(String tenantTag) {
+        int size = INTERACTIVE_TENANT.equals(tenantTag) ? priorityTasks.size() : 0;
+        for (Map.Entry<String, Deque<Runnable>> entry : tasksByTenant.entrySet()) {
+            if (getTenantTag(entry.getKey()).equals(tenantTag)) {
+                size += entry.getValue().size();
+            }
+        }
+        return size;
+    }
+
+    synchronized int prioritySize() {
+        return priorityTasks.size();
+    }
+}
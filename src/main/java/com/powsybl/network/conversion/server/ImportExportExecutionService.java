@@ -12,33 +12,134 @@ import jakarta.annotation.PreDestroy;
 import lombok.NonNull;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.function.Supplier;
 
+import static com.powsybl.network.conversion.server.FairShareTaskQueue.getTenant;
+
 /**
+ * Runs imports/exports on a bounded number of slots.
+ * Pending tasks are not run in FIFO order but dispatched fairly across tenants by a {@link FairShareTaskQueue}:
+ * each submission queues the task in its tenant queue and submits to the pool a dispatcher running the next task to serve.
+ *
  * @author Sylvain Bouzols <sylvain.bouzols_externe at rte-france.com>
  */
 @Service
 public class ImportExportExecutionService {
     private final ExecutorService executorService;
 
+    private final FairShareTaskQueue taskQueue;
+
+    // large imports run on their own slots, so that they never delay the other imports/exports
+    private final ExecutorService largeImportExecutorService;
+
+    private final FairShareTaskQueue largeImportTaskQueue;
+
+    private final boolean interactivePriority;
+
+    private final NetworkConversionObserver networkConversionObserver;
+
+    // the context is captured for each task, as the dispatcher submitted with a task may run another one
+    private final ContextSnapshotFactory taskContextSnapshotFactory = ContextSnapshotFactory.builder().clearMissing(true).build();
+
     public ImportExportExecutionService(@Value("${max-concurrent-import-export}") int maxConcurrentImportExport,
-                                                    @NonNull NetworkConversionObserver networkConversionObserver) {
-        ThreadPoolExecutor threadPoolExecutor = (ThreadPoolExecutor) Executors.newFixedThreadPool(maxConcurrentImportExport);
-        networkConversionObserver.createThreadPoolMetric(threadPoolExecutor);
+                                        @Value("${max-concurrent-large-import:1}") int maxConcurrentLargeImport,
+                                        @Value("#{${import-export-tenant-weights:{:}}}") Map<String, Integer> tenantWeights,
+                                        @Value("${import-export-interactive-priority:true}") boolean interactivePriority,
+                                        @NonNull NetworkConversionObserver networkConversionObserver) {
+        this.networkConversionObserver = networkConversionObserver;
+        this.interactivePriority = interactivePriority;
+        executorService = createExecutorService(maxConcurrentImportExport, NetworkConversionObserver.TASK_LANE_TAG_VALUE_DEFAULT, networkConversionObserver);
+        taskQueue = new FairShareTaskQueue(tenantWeights);
+        createTaskQueueMetrics(NetworkConversionObserver.TASK_LANE_TAG_VALUE_DEFAULT, taskQueue, networkConversionObserver);
+        largeImportExecutorService = createExecutorService(maxConcurrentLargeImport, NetworkConversionObserver.TASK_LANE_TAG_VALUE_LARGE_IMPORT, networkConversionObserver);
+        largeImportTaskQueue = new FairShareTaskQueue(tenantWeights);
+        createTaskQueueMetrics(NetworkConversionObserver.TASK_LANE_TAG_VALUE_LARGE_IMPORT, largeImportTaskQueue, networkConversionObserver);
+    }
+
+    private static void createTaskQueueMetrics(String lane, FairShareTaskQueue queue, NetworkConversionObserver networkConversionObserver) {
+        networkConversionObserver.createTaskQueueMetric(lane, queue::size);
+        queue.getTenantTags().forEach(tenantTag -> networkConversionObserver.createTenantQueueDepthMetric(lane, tenantTag, () -> queue.sizeByTenantTag(tenantTag)));
+    }
+
+    private static ExecutorService createExecutorService(int nbThreads, String lane, NetworkConversionObserver networkConversionObserver) {
+        ThreadPoolExecutor threadPoolExecutor = (ThreadPoolExecutor) Executors.newFixedThreadPool(nbThreads);
+        networkConversionObserver.createThreadPoolMetric(threadPoolExecutor, lane);
         var contextSnapshotFactory = ContextSnapshotFactory.builder().build();
-        executorService = ContextExecutorService.wrap(threadPoolExecutor, contextSnapshotFactory::captureAll);
+        return ContextExecutorService.wrap(threadPoolExecutor, contextSnapshotFactory::captureAll);
     }
 
     @PreDestroy
     private void preDestroy() {
         executorService.shutdown();
+        largeImportExecutorService.shutdown();
+    }
+
+    /**
+     * Run a task submitted by an interactive synchronous call, ahead of the tenants tasks if interactive priority is enabled,
+     * or as a task of the interactive tenant otherwise
+     */
+    public <U> CompletableFuture<U> supplyInteractiveAsync(String jobType, String format, Supplier<U> supplier) {
+        return supplyAsync(executorService, taskQueue, NetworkConversionObserver.TASK_LANE_TAG_VALUE_DEFAULT, FairShareTaskQueue.INTERACTIVE_TENANT, interactivePriority,
+            jobType, format, supplier);
+    }
+
+    /**
+     * Run a task submitted by an interactive synchronous call on the large imports slots, with the same priority as
+     * {@link #supplyInteractiveAsync}
+     */
+    public <U> CompletableFuture<U> supplyInteractiveLargeImportAsync(String jobType, String format, Supplier<U> supplier) {
+        return supplyAsync(largeImportExecutorService, largeImportTaskQueue, NetworkConversionObserver.TASK_LANE_TAG_VALUE_LARGE_IMPORT,
+            FairShareTaskQueue.INTERACTIVE_TENANT, interactivePriority, jobType, format, supplier);
+    }
+
+    public <U> CompletableFuture<U> supplyAsync(String tenant, String jobType, String format, Supplier<U> supplier) {
+        return supplyAsync(executorService, taskQueue, NetworkConversionObserver.TASK_LANE_TAG_VALUE_DEFAULT, tenant, false, jobType, format, supplier);
+    }
+
+    public <U> CompletableFuture<U> supplyLargeImportAsync(String tenant, String jobType, String format, Supplier<U> supplier) {
+        return supplyAsync(largeImportExecutorService, largeImportTaskQueue, NetworkConversionObserver.TASK_LANE_TAG_VALUE_LARGE_IMPORT, tenant, false,
+            jobType, format, supplier);
     }
 
-    public <U> CompletableFuture<U> supplyAsync(Supplier<U> supplier) {
-        return CompletableFuture.supplyAsync(supplier, executorService);
+    private <U> CompletableFuture<U> supplyAsync(ExecutorService executor, FairShareTaskQueue queue, String lane,
+                                                 String tenant, boolean priority, String jobType, String format, Supplier<U> supplier) {
+        String nonNullTenant = getTenant(tenant);
+        CompletableFuture<U> future = new CompletableFuture<>();
+        long submissionTime = System.nanoTime();
+        // the resource usage is recorded here only when the submitter does not account for the job itself
+        JobResourceUsage submitterResourceUsage = JobResourceUsage.current();
+        JobResourceUsage jobResourceUsage = submitterResourceUsage != null ? submitterResourceUsage : new JobResourceUsage();
+        Runnable task = taskContextSnapshotFactory.captureAll().wrap(() -> {
+            long waitNanos = System.nanoTime() - submissionTime;
+            networkConversionObserver.recordTaskQueueWait(lane, jobType, format, queue.getTenantTag(nonNullTenant), waitNanos);
+            future.completeAsync(() -> {
+                try {
+                    return jobResourceUsage.measure(supplier::get);
+                } finally {
+                    if (submitterResourceUsage == null) {
+                        networkConversionObserver.recordJobResourceUsage(jobType, format, jobResourceUsage);
+                    }
+                }
+            }, Runnable::run);
+        });
+        if (priority) {
+            queue.addPriorityTask(task);
+        } else {
+            queue.addTask(nonNullTenant, task);
+        }
+        try {
+            executor.execute(() -> queue.poll().run());
+        } catch (RejectedExecutionException e) {
+            // the pool is shut down, the task would never be dispatched
+            queue.remove(task);
+            future.completeExceptionally(e);
+        }
+        return future;
     }
 }
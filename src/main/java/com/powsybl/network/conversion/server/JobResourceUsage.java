@@ -0,0 +1,104 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.network.conversion.server;
+
+import io.micrometer.observation.Observation;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * CPU time and heap allocations of an import/export job, summed over all the threads running a part of it.
+ * The usage bound to the current thread is propagated to the tasks submitted to the {@link ImportExportExecutionService}
+ * and the {@link NetworkConversionExecutionService}, so that subtasks are accounted to their job.
+ * Values stay at 0 when the JVM does not support thread CPU time or allocation measurement.
+ */
+public class JobResourceUsage {
+
+    private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN = getThreadMXBean();
+
+    private static final ThreadLocal<JobResourceUsage> CURRENT = new ThreadLocal<>();
+
+    private final AtomicLong cpuTimeNanos = new AtomicLong();
+
+    private final AtomicLong allocatedBytes = new AtomicLong();
+
+    private final AtomicLong downloadedBytes = new AtomicLong();
+
+    private static com.sun.management.ThreadMXBean getThreadMXBean() {
+        return ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threadMXBean ? threadMXBean : null;
+    }
+
+    public static JobResourceUsage current() {
+        return CURRENT.get();
+    }
+
+    public long getCpuTimeNanos() {
+        return cpuTimeNanos.get();
+    }
+
+    public long getAllocatedBytes() {
+        return allocatedBytes.get();
+    }
+
+    /**
+     * @return the bytes of the case files downloaded by the job
+     */
+    public long getDownloadedBytes() {
+        return downloadedBytes.get();
+    }
+
+    public void addDownloadedBytes(long bytes) {
+        downloadedBytes.addAndGet(bytes);
+    }
+
+    /**
+     * Run the callable with this usage bound to the current thread, adding to it the CPU time and allocations of the thread
+     */
+    public <T, E extends Throwable> T measure(Observation.CheckedCallable<T, E> callable) throws E {
+        JobResourceUsage previous = CURRENT.get();
+        CURRENT.set(this);
+        long startCpuTime = currentThreadCpuTime();
+        long startAllocatedBytes = currentThreadAllocatedBytes();
+        try {
+            return callable.call();
+        } finally {
+            long endCpuTime = currentThreadCpuTime();
+            long endAllocatedBytes = currentThreadAllocatedBytes();
+            if (startCpuTime >= 0 && endCpuTime >= 0) {
+                cpuTimeNanos.addAndGet(endCpuTime - startCpuTime);
+            }
+            if (startAllocatedBytes >= 0 && endAllocatedBytes >= 0) {
+                allocatedBytes.addAndGet(endAllocatedBytes - startAllocatedBytes);
+            }
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    public Runnable wrap(Runnable runnable) {
+        return () -> measure(() -> {
+            runnable.run();
+            return null;
+        });
+    }
+
+    private static long currentThreadCpuTime() {
+        return THREAD_MX_BEAN != null && THREAD_MX_BEAN.isThreadCpuTimeSupported() && THREAD_MX_BEAN.isThreadCpuTimeEnabled()
+            ? THREAD_MX_BEAN.getCurrentThreadCpuTime()
+            : -1;
+    }
+
+    private static long currentThreadAllocatedBytes() {
+        return THREAD_MX_BEAN != null && THREAD_MX_BEAN.isThreadAllocatedMemorySupported() && THREAD_MX_BEAN.isThreadAllocatedMemoryEnabled()
+            ? THREAD_MX_BEAN.getCurrentThreadAllocatedBytes()
+            : -1;
+    }
+}
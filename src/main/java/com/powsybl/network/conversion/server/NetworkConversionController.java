@@ -6,10 +6,14 @@
  */
 package com.powsybl.network.conversion.server;
 
+import com.powsybl.iidm.network.VariantManagerConstants;
 import com.powsybl.network.conversion.server.dto.BoundaryInfos;
+import com.powsybl.network.conversion.server.dto.ExportFormatInfos;
 import com.powsybl.network.conversion.server.dto.ExportInfos;
 import com.powsybl.network.conversion.server.dto.ImportExportFormatMeta;
+import com.powsybl.network.conversion.server.dto.NetworkExportFilter;
 import com.powsybl.network.conversion.server.dto.NetworkInfos;
+import com.powsybl.network.conversion.server.jfr.FlightRecordingService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -17,15 +21,19 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.core.io.InputStreamResource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
 import java.util.*;
 
 import static com.powsybl.network.conversion.server.NotificationService.HEADER_USER_ID;
@@ -51,6 +59,9 @@ public class NetworkConversionController {
     @Autowired
     private NetworkConversionObserver networkConversionObserver;
 
+    @Autowired
+    private FlightRecordingService flightRecordingService;
+
     @PostMapping(value = "/networks")
     @Operation(summary = "Get a case file from its name and import it into the store")
     public ResponseEntity<NetworkInfos> importCase(@Parameter(description = "Case UUID") @RequestParam("caseUuid") UUID caseUuid,
@@ -60,7 +71,8 @@ public class NetworkConversionController {
                                                    @Parameter(description = "Import parameters") @RequestBody(required = false) Map<String, Object> importParameters,
                                                    @Parameter(description = "Result receiver") @RequestParam(name = "receiver", required = false) String receiver,
                                                    @Parameter(description = "Is import running asynchronously ?") @RequestParam(name = "isAsyncRun", required = false,
-                                                           defaultValue = "true") boolean isAsyncRun) {
+                                                           defaultValue = "true") boolean isAsyncRun,
+                                                   @RequestHeader(name = HEADER_USER_ID, required = false) String userId) {
         LOGGER.debug("Importing case {} {}...", caseUuid, isAsyncRun ? ASYNCHRONOUSLY : SYNCHRONOUSLY);
         Map<String, Object> nonNullImportParameters = importParameters == null ? new HashMap<>() : importParameters;
         if (!isAsyncRun) {
@@ -68,7 +80,7 @@ public class NetworkConversionController {
             return ResponseEntity.ok().body(networkInfos);
         }
 
-        networkConversionService.importCaseAsynchronously(caseUuid, variantId, reportUuid, caseFormat, nonNullImportParameters, receiver);
+        networkConversionService.importCaseAsynchronously(caseUuid, variantId, reportUuid, caseFormat, nonNullImportParameters, receiver, userId);
         return ResponseEntity.ok().build();
     }
 
@@ -87,11 +99,83 @@ public class NetworkConversionController {
                                               @Parameter(description = "File name") @RequestParam(name = "fileName", required = false) String fileName,
                                               @Parameter(description = "Result receiver") @RequestParam(name = "receiver", required = false) String receiver,
                                               @Parameter(description = "export infos") @RequestParam(name = "exportInfos", required = false) String exportInfos,
-                                              @org.springframework.web.bind.annotation.RequestBody(required = false) Map<String, Object> formatParameters
+                                              @Parameter(description = "Substations to export, for a partial export") @RequestParam(name = "substationIds", required = false) List<String> substationIds,
+                                              @Parameter(description = "Voltage levels to export, for a partial export") @RequestParam(name = "voltageLevelIds", required = false) List<String> voltageLevelIds,
+                                              @Parameter(description = "Minimal nominal voltage of the voltage levels to export, for a partial export") @RequestParam(name = "minNominalVoltage", required = false) Double minNominalVoltage,
+                                              @Parameter(description = "Maximal nominal voltage of the voltage levels to export, for a partial export") @RequestParam(name = "maxNominalVoltage", required = false) Double maxNominalVoltage,
+                                              @org.springframework.web.bind.annotation.RequestBody(required = false) Map<String, Object> formatParameters,
+                                              @RequestHeader(name = HEADER_USER_ID, required = false) String userId
                                               ) {
         LOGGER.debug("Exporting asynchronously network {} ...", networkUuid);
         UUID exportUuid = UUID.randomUUID();
-        networkConversionService.exportNetworkAsynchronously(networkUuid, variantId, new ExportInfos(fileName, exportUuid, format, receiver, formatParameters, exportInfos));
+        networkConversionService.exportNetworkAsynchronously(networkUuid, variantId, new ExportInfos(fileName, exportUuid, format, receiver, formatParameters, exportInfos, userId),
+            new NetworkExportFilter(substationIds, voltageLevelIds, minNominalVoltage, maxNominalVoltage));
+        return ResponseEntity.ok().body(exportUuid);
+    }
+
+    @PostMapping(value = "/networks/{mainNetworkUuid}/export/{format}/stream", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    @Operation(summary = "Export a network from the network-store, the zip archive being streamed in the response as it is written",
+        requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(description = "Parameters for chosen format",
+            content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = Properties.class))
+        )
+    )
+    @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "The zip archive of the exported files"),
+        @ApiResponse(responseCode = "400", description = "The network is too large to be streamed, and must be exported asynchronously")})
+    public void exportNetworkToStream(@Parameter(description = "Network UUID") @PathVariable("mainNetworkUuid") UUID networkUuid,
+                                      @Parameter(description = "Export format") @PathVariable("format") String format,
+                                      @Parameter(description = "Variant Id") @RequestParam(name = "variantId", required = false) String variantId,
+                                      @Parameter(description = "File name") @RequestParam(name = "fileName", required = false) String fileName,
+                                      @Parameter(description = "Substations to export, for a partial export") @RequestParam(name = "substationIds", required = false) List<String> substationIds,
+                                      @Parameter(description = "Voltage levels to export, for a partial export") @RequestParam(name = "voltageLevelIds", required = false) List<String> voltageLevelIds,
+                                      @Parameter(description = "Minimal nominal voltage of the voltage levels to export, for a partial export") @RequestParam(name = "minNominalVoltage", required = false) Double minNominalVoltage,
+                                      @Parameter(description = "Maximal nominal voltage of the voltage levels to export, for a partial export") @RequestParam(name = "maxNominalVoltage", required = false) Double maxNominalVoltage,
+                                      @org.springframework.web.bind.annotation.RequestBody(required = false) Map<String, Object> formatParameters,
+                                      HttpServletResponse response) {
+        LOGGER.debug("Exporting synchronously network {} ...", networkUuid);
+        // no content length is set, the archive being sent with a chunked transfer encoding
+        networkConversionService.exportNetworkToStream(networkUuid, variantId, fileName, format, formatParameters,
+            new NetworkExportFilter(substationIds, voltageLevelIds, minNominalVoltage, maxNominalVoltage), zipName -> {
+                response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+                response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.builder("attachment").filename(zipName).build().toString());
+                return response.getOutputStream();
+            });
+    }
+
+    @PostMapping(value = "/networks/{mainNetworkUuid}/export")
+    @Operation(summary = "Export variants of a network from the network-store to several formats, the network being loaded only once")
+    public ResponseEntity<UUID> exportNetworkToFormats(@Parameter(description = "Network UUID") @PathVariable("mainNetworkUuid") UUID networkUuid,
+                                                       @Parameter(description = "Variant Id") @RequestParam(name = "variantId", required = false) String variantId,
+                                                       @Parameter(description = "Variant Ids, to export several variants instead of the given one") @RequestParam(name = "variantIds", required = false) List<String> variantIds,
+                                                       @Parameter(description = "Gather all the exported files in a single archive") @RequestParam(name = "combined", defaultValue = "false") boolean combined,
+                                                       @Parameter(description = "File name") @RequestParam(name = "fileName", required = false) String fileName,
+                                                       @Parameter(description = "Result receiver") @RequestParam(name = "receiver", required = false) String receiver,
+                                                       @Parameter(description = "export infos") @RequestParam(name = "exportInfos", required = false) String exportInfos,
+                                                       @Parameter(description = "Substations to export, for a partial export") @RequestParam(name = "substationIds", required = false) List<String> substationIds,
+                                                       @Parameter(description = "Voltage levels to export, for a partial export") @RequestParam(name = "voltageLevelIds", required = false) List<String> voltageLevelIds,
+                                                       @Parameter(description = "Minimal nominal voltage of the voltage levels to export, for a partial export") @RequestParam(name = "minNominalVoltage", required = false) Double minNominalVoltage,
+                                                       @Parameter(description = "Maximal nominal voltage of the voltage levels to export, for a partial export") @RequestParam(name = "maxNominalVoltage", required = false) Double maxNominalVoltage,
+                                                       @Parameter(description = "Formats to export, with their parameters") @RequestBody List<ExportFormatInfos> exportFormats,
+                                                       @RequestHeader(name = HEADER_USER_ID, required = false) String userId) {
+        LOGGER.debug("Exporting asynchronously network {} to several formats ...", networkUuid);
+        UUID exportUuid = UUID.randomUUID();
+        networkConversionService.exportNetworkToFormatsAsynchronously(networkUuid, variantId, new ExportInfos(fileName, exportUuid, null, receiver, null, exportInfos, userId), exportFormats,
+            variantIds, combined, new NetworkExportFilter(substationIds, voltageLevelIds, minNominalVoltage, maxNominalVoltage));
+        return ResponseEntity.ok().body(exportUuid);
+    }
+
+    @PostMapping(value = "/networks/{mainNetworkUuid}/export-delta")
+    @Operation(summary = "Export the equipments created, modified and removed in a variant of a network compared to a reference variant")
+    public ResponseEntity<UUID> exportNetworkDelta(@Parameter(description = "Network UUID") @PathVariable("mainNetworkUuid") UUID networkUuid,
+                                                   @Parameter(description = "Variant Id") @RequestParam(name = "variantId") String variantId,
+                                                   @Parameter(description = "Reference variant Id") @RequestParam(name = "referenceVariantId", defaultValue = VariantManagerConstants.INITIAL_VARIANT_ID) String referenceVariantId,
+                                                   @Parameter(description = "File name") @RequestParam(name = "fileName", required = false) String fileName,
+                                                   @Parameter(description = "Result receiver") @RequestParam(name = "receiver", required = false) String receiver,
+                                                   @Parameter(description = "export infos") @RequestParam(name = "exportInfos", required = false) String exportInfos,
+                                                   @RequestHeader(name = HEADER_USER_ID, required = false) String userId) {
+        LOGGER.debug("Exporting asynchronously delta of network {} ...", networkUuid);
+        UUID exportUuid = UUID.randomUUID();
+        networkConversionService.exportNetworkDeltaAsynchronously(networkUuid, referenceVariantId, variantId,
+            new ExportInfos(fileName, exportUuid, NetworkConversionService.DELTA_FORMAT, receiver, null, exportInfos, userId));
         return ResponseEntity.ok().body(exportUuid);
     }
 
@@ -164,8 +248,21 @@ public class NetworkConversionController {
 
     @GetMapping(value = "/download-file/{exportUuid}")
     @Operation(summary = "Get exported file from S3")
-    public ResponseEntity<InputStreamResource> downloadExportFile(@PathVariable String exportUuid) {
+    public ResponseEntity<InputStreamResource> downloadExportFile(@PathVariable String exportUuid,
+                                                                  @Parameter(description = "Format of the file, for multi-format exports") @RequestParam(name = "format", required = false) String format,
+                                                                  @Parameter(description = "Variant of the file, for multi-variant exports") @RequestParam(name = "variantId", required = false) String variantId,
+                                                                  @Parameter(description = "Redirect to a short-lived pre-signed URL of the file, to download it directly from S3") @RequestParam(name = "presigned", defaultValue = "false") boolean presigned) {
         Objects.requireNonNull(exportUuid);
-        return networkConversionService.downloadExportFile(exportUuid);
+        return networkConversionService.downloadExportFile(exportUuid, variantId, format, presigned);
+    }
+
+    @PostMapping(value = "/flight-recordings", produces = MediaType.TEXT_PLAIN_VALUE)
+    @Operation(summary = "Start a flight recording of the pod, stored on the local disk or on S3 when it ends")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "The path or S3 key of the recording once stored"),
+        @ApiResponse(responseCode = "409", description = "A flight recording is already running")})
+    public ResponseEntity<String> startFlightRecording(@Parameter(description = "Duration of the recording (ISO-8601)") @RequestParam(name = "duration", defaultValue = "PT5M") Duration duration,
+                                                       @Parameter(description = "Storage of the recording") @RequestParam(name = "storage", defaultValue = "S3") FlightRecordingService.Storage storage) {
+        return ResponseEntity.ok().body(flightRecordingService.startRecording(duration, storage));
     }
 }
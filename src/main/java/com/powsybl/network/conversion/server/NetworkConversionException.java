@@ -72,6 +72,14 @@ public final class NetworkConversionException extends RuntimeException {
         return new NetworkConversionException(String.format("Reindex of network '%s' has failed", networkUuid), cause);
     }
 
+    public static NetworkConversionException createInvalidArchiveOptions(String message) {
+        return new NetworkConversionException(message);
+    }
+
+    public static NetworkConversionException createEmptyExportArea() {
+        return new NetworkConversionException("No voltage level matches the filter of the partial export");
+    }
+
     public static NetworkConversionException createFailedDownloadExportFile(String exportUuid) {
         return new NetworkConversionException(String.format("Failed to download file for export UUID '%s'", exportUuid));
     }
@@ -39,6 +39,8 @@ public class NetworkConversionExecutionService {
     }
 
     public CompletableFuture<Void> runAsync(Runnable runnable) {
-        return CompletableFuture.runAsync(runnable, executorService);
+        // subtasks are accounted to the job submitting them
+        JobResourceUsage jobResourceUsage = JobResourceUsage.current();
+        return CompletableFuture.runAsync(jobResourceUsage != null ? jobResourceUsage.wrap(runnable) : runnable, executorService);
     }
 }
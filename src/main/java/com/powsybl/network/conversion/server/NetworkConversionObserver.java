@@ -6,16 +6,27 @@
  */
 package com.powsybl.network.conversion.server;
 
+import com.powsybl.iidm.network.IdentifiableType;
 import com.powsybl.iidm.network.Network;
 import com.powsybl.network.conversion.server.dto.ExportNetworkInfos;
+import com.powsybl.network.conversion.server.jfr.ConversionEvents;
+import com.powsybl.network.conversion.server.jfr.ConversionPhaseEvent;
+import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.DistributionSummary;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
 import io.micrometer.observation.Observation;
 import io.micrometer.observation.ObservationRegistry;
 import lombok.NonNull;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
 import org.springframework.stereotype.Service;
+import java.util.Map;
 import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 /**
  * @author Anis Touri <anis.touri at rte-france.com>
@@ -31,16 +42,59 @@ public class NetworkConversionObserver {
     private static final String IMPORT_TOTAL_OBSERVATION_NAME = OBSERVATION_PREFIX + "import.total";
     private static final String IMPORT_PROCESSING_OBSERVATION_NAME = OBSERVATION_PREFIX + "import.processing";
     private static final String NUMBER_BUSES_IMPORTED_METER_NAME = IMPORT_OBSERVATION_NAME + ".buses";
+    private static final String EQUIPMENTS_IMPORTED_METER_NAME = IMPORT_OBSERVATION_NAME + ".equipments";
+    private static final String VARIANTS_IMPORTED_METER_NAME = IMPORT_OBSERVATION_NAME + ".variants";
+    private static final String CASE_BYTES_IMPORTED_METER_NAME = IMPORT_OBSERVATION_NAME + ".case.bytes";
+    private static final String EQUIPMENT_TYPE_TAG_NAME = "type";
+    private static final String SUPPRESSED_REPORT_NODES_METER_NAME = IMPORT_OBSERVATION_NAME + ".report.suppressed";
 
     private static final String EXPORT_OBSERVATION_NAME = OBSERVATION_PREFIX + "export";
     private static final String EXPORT_TOTAL_OBSERVATION_NAME = OBSERVATION_PREFIX + "export.total";
     private static final String EXPORT_PROCESSING_OBSERVATION_NAME = OBSERVATION_PREFIX + "export.processing";
     private static final String NUMBER_BUSES_EXPORTED_METER_NAME = EXPORT_OBSERVATION_NAME + ".buses";
+    private static final String EXPORT_STORAGE_METER_NAME_PREFIX = EXPORT_OBSERVATION_NAME + ".storage.";
+    private static final String EVICTION_REASON_TAG_NAME = "reason";
+    public static final String EVICTION_REASON_AGE = "age";
+    public static final String EVICTION_REASON_QUOTA = "quota";
 
     private static final String TASK_TYPE_TAG_NAME = "type";
     private static final String TASK_TYPE_TAG_VALUE_CURRENT = "current";
     private static final String TASK_TYPE_TAG_VALUE_PENDING = "pending";
     private static final String TASK_POOL_METER_NAME_PREFIX = OBSERVATION_PREFIX + "tasks.pool.";
+    private static final String TASK_LANE_TAG_NAME = "lane";
+    public static final String TASK_LANE_TAG_VALUE_DEFAULT = "default";
+    public static final String TASK_LANE_TAG_VALUE_LARGE_IMPORT = "large-import";
+    private static final String TASK_TENANT_TAG_NAME = "tenant";
+    private static final String TASK_QUEUE_METER_NAME_PREFIX = OBSERVATION_PREFIX + "tasks.queue.";
+    private static final String MESSAGE_AGE_METER_NAME = OBSERVATION_PREFIX + "messages.age";
+    private static final String JOB_TYPE_TAG_NAME = "job";
+    public static final String JOB_TYPE_IMPORT = "import";
+    public static final String JOB_TYPE_EXPORT = "export";
+    public static final String JOB_TYPE_CONVERT = "convert";
+    private static final String JOB_CPU_TIME_METER_NAME = OBSERVATION_PREFIX + "job.cpu.time";
+    private static final String JOB_ALLOCATED_BYTES_METER_NAME = OBSERVATION_PREFIX + "job.allocated";
+
+    private static final String PHASE_METER_NAME = OBSERVATION_PREFIX + "phase";
+    private static final String PHASE_TAG_NAME = "phase";
+    private static final String OUTCOME_TAG_NAME = "outcome";
+    private static final String OUTCOME_TAG_VALUE_SUCCESS = "success";
+    private static final String OUTCOME_TAG_VALUE_ERROR = "error";
+    // for the phases not related to a format
+    private static final String FORMAT_TAG_VALUE_NONE = "none";
+    public static final String PHASE_DOWNLOAD = "download";
+    public static final String PHASE_IMPORT = "import";
+    public static final String PHASE_FLUSH = "flush";
+    public static final String PHASE_INDEX = "index";
+    public static final String PHASE_REPORT = "report";
+    public static final String PHASE_REDUCE = "reduce";
+    public static final String PHASE_WRITE = "write";
+    public static final String PHASE_ZIP = "zip";
+    public static final String PHASE_UPLOAD = "upload";
+    public static final String PHASE_EXPORT_DOWNLOAD = "export-download";
+    public static final String PHASE_REINDEX = "reindex";
+
+    private static final String HTTP_CLIENT_TAG_NAME = "client";
+    private static final String HTTP_CLIENT_LEASE_METER_NAME = OBSERVATION_PREFIX + "http.client.lease";
 
     private final ObservationRegistry observationRegistry;
 
@@ -67,12 +121,50 @@ public class NetworkConversionObserver {
         return createObservation(IMPORT_TOTAL_OBSERVATION_NAME, format).observeChecked(callable);
     }
 
+    /**
+     * The number of buses of the imported network is recorded with its shape, by {@link #recordImportedNetworkShape}
+     */
     public <E extends Throwable> Network observeImportProcessing(String format, Observation.CheckedCallable<Network, E> callable) throws E {
-        Network network = createObservation(IMPORT_PROCESSING_OBSERVATION_NAME, format).observeChecked(callable);
-        if (network != null) {
-            recordNumberBuses(NUMBER_BUSES_IMPORTED_METER_NAME, format, network.getBusView().getBusStream().count());
+        return createObservation(IMPORT_PROCESSING_OBSERVATION_NAME, format).observeChecked(callable);
+    }
+
+    /**
+     * Record the duration of an import/export phase, and a flight recorder event of the phase when a recording is running
+     */
+    public <T, E extends Throwable> T observePhase(String phase, String format, Observation.CheckedCallable<T, E> callable) throws E {
+        long startTime = System.nanoTime();
+        ConversionPhaseEvent event = ConversionEvents.beginPhase(phase, format);
+        boolean success = false;
+        try {
+            T result = callable.call();
+            success = true;
+            return result;
+        } finally {
+            ConversionEvents.endPhase(event, success);
+            recordPhase(phase, format, success, System.nanoTime() - startTime);
         }
-        return network;
+    }
+
+    public <E extends Throwable> void observePhase(String phase, String format, Observation.CheckedRunnable<E> runnable) throws E {
+        observePhase(phase, format, () -> {
+            runnable.run();
+            return null;
+        });
+    }
+
+    /**
+     * Record the duration of an import/export phase, with a histogram to compare the phases percentiles
+     * @param format the format of the case or export, null if not known
+     */
+    public void recordPhase(String phase, String format, boolean success, long durationNanos) {
+        Timer.builder(PHASE_METER_NAME)
+                .description("The duration of an import/export phase")
+                .tags(PHASE_TAG_NAME, phase,
+                    FORMAT_TAG_NAME, format != null ? format : FORMAT_TAG_VALUE_NONE,
+                    OUTCOME_TAG_NAME, success ? OUTCOME_TAG_VALUE_SUCCESS : OUTCOME_TAG_VALUE_ERROR)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(durationNanos, TimeUnit.NANOSECONDS);
     }
 
     private Observation createObservation(String name, String format) {
@@ -80,6 +172,75 @@ public class NetworkConversionObserver {
                 .lowCardinalityKeyValue(FORMAT_TAG_NAME, format);
     }
 
+    public void createHttpClientPoolMetrics(PoolingHttpClientConnectionManager connectionManager, String clientName) {
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, clientName).bindTo(meterRegistry);
+    }
+
+    public void recordHttpClientLease(String clientName, long leaseNanos) {
+        Timer.builder(HTTP_CLIENT_LEASE_METER_NAME)
+                .description("The time waited to lease a connection of the HTTP client pool")
+                .tag(HTTP_CLIENT_TAG_NAME, clientName)
+                .register(meterRegistry)
+                .record(leaseNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordSuppressedReportNodes(String format, long suppressedReportNodes) {
+        Counter.builder(SUPPRESSED_REPORT_NODES_METER_NAME)
+                .description("The number of import report nodes suppressed to bound the report size")
+                .tags(FORMAT_TAG_NAME, format)
+                .register(meterRegistry)
+                .increment(suppressedReportNodes);
+    }
+
+    public void recordJobResourceUsage(String jobType, String format, JobResourceUsage jobResourceUsage) {
+        DistributionSummary.builder(JOB_CPU_TIME_METER_NAME)
+                .description("The CPU time used by an import/export job over all its threads")
+                .baseUnit(BaseUnits.MILLISECONDS)
+                .tag(JOB_TYPE_TAG_NAME, jobType)
+                .tag(FORMAT_TAG_NAME, format != null ? format : FORMAT_TAG_VALUE_NONE)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(TimeUnit.NANOSECONDS.toMillis(jobResourceUsage.getCpuTimeNanos()));
+        DistributionSummary.builder(JOB_ALLOCATED_BYTES_METER_NAME)
+                .description("The heap memory allocated by an import/export job over all its threads")
+                .baseUnit(BaseUnits.BYTES)
+                .tag(JOB_TYPE_TAG_NAME, jobType)
+                .tag(FORMAT_TAG_NAME, format != null ? format : FORMAT_TAG_VALUE_NONE)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(jobResourceUsage.getAllocatedBytes());
+    }
+
+    /**
+     * Record the shape of an imported network, to correlate the import duration and memory with it
+     * @param equipmentCounts the number of equipments by type, the buses of the bus view being also recorded as the
+     *                        number of imported buses
+     * @param caseBytes the size of the downloaded case files
+     */
+    public void recordImportedNetworkShape(String format, Map<IdentifiableType, Long> equipmentCounts, int variantCount, long caseBytes) {
+        Long numberBuses = equipmentCounts.get(IdentifiableType.BUS);
+        if (numberBuses != null) {
+            recordNumberBuses(NUMBER_BUSES_IMPORTED_METER_NAME, format, numberBuses);
+        }
+        equipmentCounts.forEach((type, count) ->
+            DistributionSummary.builder(EQUIPMENTS_IMPORTED_METER_NAME)
+                    .description("The number of equipments of a type in the imported networks")
+                    .tags(FORMAT_TAG_NAME, format, EQUIPMENT_TYPE_TAG_NAME, type.name())
+                    .register(meterRegistry)
+                    .record(count));
+        DistributionSummary.builder(VARIANTS_IMPORTED_METER_NAME)
+                .description("The number of variants of the imported networks")
+                .tags(FORMAT_TAG_NAME, format)
+                .register(meterRegistry)
+                .record(variantCount);
+        DistributionSummary.builder(CASE_BYTES_IMPORTED_METER_NAME)
+                .description("The size of the imported case files")
+                .baseUnit(BaseUnits.BYTES)
+                .tags(FORMAT_TAG_NAME, format)
+                .register(meterRegistry)
+                .record(caseBytes);
+    }
+
     private void recordNumberBuses(String meterName, String format, long numberBuses) {
         DistributionSummary.builder(meterName)
                 .tags(FORMAT_TAG_NAME, format)
@@ -87,14 +248,94 @@ public class NetworkConversionObserver {
                 .record(numberBuses);
     }
 
-    public void createThreadPoolMetric(ThreadPoolExecutor threadPoolExecutor) {
+    public void createThreadPoolMetric(ThreadPoolExecutor threadPoolExecutor, String lane) {
         Gauge.builder(TASK_POOL_METER_NAME_PREFIX + TASK_TYPE_TAG_VALUE_CURRENT, threadPoolExecutor, ThreadPoolExecutor::getActiveCount)
             .description("The number of active import/export tasks in the thread pool")
             .tag(TASK_TYPE_TAG_NAME, TASK_TYPE_TAG_VALUE_CURRENT)
+            .tag(TASK_LANE_TAG_NAME, lane)
             .register(meterRegistry);
         Gauge.builder(TASK_POOL_METER_NAME_PREFIX + TASK_TYPE_TAG_VALUE_PENDING, threadPoolExecutor, executor -> executor.getQueue().size())
             .description("The number of pending import/export tasks in the thread pool")
             .tag(TASK_TYPE_TAG_NAME, TASK_TYPE_TAG_VALUE_PENDING)
+            .tag(TASK_LANE_TAG_NAME, lane)
             .register(meterRegistry);
     }
+
+    /**
+     * @param exports the number of exports stored on S3
+     * @param bytes the total size of their files
+     */
+    public void createExportStorageMetrics(Supplier<Number> exports, Supplier<Number> bytes) {
+        Gauge.builder(EXPORT_STORAGE_METER_NAME_PREFIX + "exports", exports)
+            .description("The number of exports stored on S3")
+            .register(meterRegistry);
+        Gauge.builder(EXPORT_STORAGE_METER_NAME_PREFIX + "size", bytes)
+            .description("The total size of the exports stored on S3")
+            .baseUnit(BaseUnits.BYTES)
+            .register(meterRegistry);
+    }
+
+    public void recordExportEvictions(String reason, long exports, long bytes) {
+        Counter.builder(EXPORT_STORAGE_METER_NAME_PREFIX + "evicted")
+            .description("The number of exports deleted from S3 by the retention, by time since their last access or least recently accessed first above the size quota")
+            .tag(EVICTION_REASON_TAG_NAME, reason)
+            .register(meterRegistry)
+            .increment(exports);
+        Counter.builder(EXPORT_STORAGE_METER_NAME_PREFIX + "evicted.size")
+            .description("The size of the exports deleted from S3 by the retention, by time since their last access or least recently accessed first above the size quota")
+            .baseUnit(BaseUnits.BYTES)
+            .tag(EVICTION_REASON_TAG_NAME, reason)
+            .register(meterRegistry)
+            .increment(bytes);
+    }
+
+    public void createTaskQueueMetric(String lane, Supplier<Number> queueSize) {
+        Gauge.builder(TASK_QUEUE_METER_NAME_PREFIX + "size", queueSize)
+            .description("The number of pending import/export tasks")
+            .tag(TASK_LANE_TAG_NAME, lane)
+            .register(meterRegistry);
+    }
+
+    /**
+     * @param tenant the tenant tag, bounded to the configured tenants
+     */
+    public void createTenantQueueDepthMetric(String lane, String tenant, Supplier<Number> queueDepth) {
+        Gauge.builder(TASK_QUEUE_METER_NAME_PREFIX + "depth", queueDepth)
+            .description("The number of pending import/export tasks of a tenant")
+            .tag(TASK_LANE_TAG_NAME, lane)
+            .tag(TASK_TENANT_TAG_NAME, tenant)
+            .register(meterRegistry);
+    }
+
+    /**
+     * @param tenant the tenant tag, bounded to the configured tenants
+     */
+    public void recordTaskQueueWait(String lane, String jobType, String format, String tenant, long waitNanos) {
+        Timer.builder(TASK_QUEUE_METER_NAME_PREFIX + "wait")
+            .description("The time import/export tasks wait in the queue for a free slot before running")
+            .tag(TASK_LANE_TAG_NAME, lane)
+            .tag(JOB_TYPE_TAG_NAME, jobType)
+            .tag(FORMAT_TAG_NAME, format != null ? format : FORMAT_TAG_VALUE_NONE)
+            .tag(TASK_TENANT_TAG_NAME, tenant)
+            .publishPercentileHistogram()
+            .register(meterRegistry)
+            .record(waitNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Record the time an import/export start message spent in the broker before being consumed
+     * @param emissionTime the emission time of the message in epoch milliseconds, null for messages emitted by older versions
+     */
+    public void recordMessageAge(String jobType, String format, Long emissionTime) {
+        if (emissionTime == null) {
+            return;
+        }
+        Timer.builder(MESSAGE_AGE_METER_NAME)
+            .description("The time import/export start messages wait in the broker before being consumed")
+            .tag(JOB_TYPE_TAG_NAME, jobType)
+            .tag(FORMAT_TAG_NAME, format != null ? format : FORMAT_TAG_VALUE_NONE)
+            .publishPercentileHistogram()
+            .register(meterRegistry)
+            .record(Math.max(0, System.currentTimeMillis() - emissionTime), TimeUnit.MILLISECONDS);
+    }
 }
@@ -8,37 +8,61 @@
 package com.powsybl.network.conversion.server;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.InjectableValues;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.io.CountingOutputStream;
 import com.powsybl.cases.datasource.CaseDataSourceClient;
 import com.powsybl.commons.PowsyblException;
 import com.powsybl.commons.datasource.DataSourceUtil;
 import com.powsybl.commons.datasource.DirectoryDataSource;
+import com.powsybl.commons.datasource.MemDataSource;
+import com.powsybl.commons.datasource.ReadOnlyDataSource;
 import com.powsybl.commons.parameters.ParameterScope;
+import com.powsybl.commons.parameters.ParameterType;
 import com.powsybl.commons.report.ReportNode;
 import com.powsybl.commons.report.ReportNodeDeserializer;
 import com.powsybl.commons.report.ReportNodeJsonModule;
 import com.powsybl.computation.local.LocalComputationManager;
 import com.powsybl.iidm.network.*;
+import com.powsybl.iidm.reducer.NetworkReducer;
+import com.powsybl.iidm.reducer.ReductionOptions;
+import com.powsybl.network.conversion.server.NotificationService.NetworkExportOutcome;
+import com.powsybl.network.conversion.server.archive.ArchiveCodec;
+import com.powsybl.network.conversion.server.archive.ArchiveEntry;
+import com.powsybl.network.conversion.server.archive.ArchiveOptions;
+import com.powsybl.network.conversion.server.archive.ArchiveWriter;
+import com.powsybl.network.conversion.server.archive.InMemoryArchive;
+import com.powsybl.network.conversion.server.archive.StreamingZipDataSource;
+import com.powsybl.network.conversion.server.config.ConsumerBindingsEnvironmentPostProcessor;
 import com.powsybl.network.conversion.server.dto.*;
 import com.powsybl.network.conversion.server.elasticsearch.EquipmentInfosService;
+import com.powsybl.network.conversion.server.jfr.ConversionEvents;
+import com.powsybl.network.conversion.server.report.BoundedReporter;
 import com.powsybl.network.store.client.NetworkStoreService;
 import com.powsybl.network.store.client.PreloadingStrategy;
 import com.rabbitmq.client.LongString;
+import io.micrometer.observation.Observation;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.tuple.Pair;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.support.BeanDefinitionRegistryPostProcessor;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
+import org.springframework.core.env.Environment;
 import org.springframework.core.io.InputStreamResource;
 import org.springframework.http.*;
+import org.springframework.http.client.ClientHttpRequest;
 import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.messaging.Message;
 import org.springframework.stereotype.Service;
 import org.springframework.util.FileSystemUtils;
+import org.springframework.util.StreamUtils;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.util.DefaultUriBuilderFactory;
@@ -50,22 +74,23 @@ import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.model.*;
 
 import java.io.IOException;
-import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
 import java.nio.file.FileSystem;
 import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
-import java.util.zip.ZipEntry;
-import java.util.zip.ZipOutputStream;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
 
 import static com.powsybl.commons.parameters.ParameterType.STRING_LIST;
 import static com.powsybl.network.conversion.server.NetworkConversionConstants.*;
@@ -85,6 +110,15 @@ public class NetworkConversionService {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(NetworkConversionService.class);
 
+    // CGMES imports with replaced boundaries are tagged apart in the import metrics
+    private static final String CGMES_WITH_BOUNDARIES_FORMAT = "CGMES-boundaries";
+
+    // multi-format exports are tagged apart in the export metrics
+    static final String MULTI_FORMAT = "multi-format";
+
+    // format of the delta exports, a json change set between two variants
+    public static final String DELTA_FORMAT = "DELTA";
+
     public static final Set<IdentifiableType> TYPES_FOR_INDEXING = Set.of(
             IdentifiableType.SUBSTATION,
             IdentifiableType.VOLTAGE_LEVEL,
@@ -100,6 +134,14 @@ public class NetworkConversionService {
             IdentifiableType.STATIC_VAR_COMPENSATOR,
             IdentifiableType.HVDC_CONVERTER_STATION);
 
+    // the switches are compared as their state is the most frequent change of operational variants
+    private static final Set<IdentifiableType> TYPES_FOR_DELTA = Stream.concat(TYPES_FOR_INDEXING.stream(), Stream.of(IdentifiableType.SWITCH))
+            .collect(Collectors.toUnmodifiableSet());
+
+    // the buses are counted in the bus view
+    private static final Set<IdentifiableType> TYPES_FOR_SHAPE_METRICS = Stream.concat(TYPES_FOR_INDEXING.stream(), Stream.of(IdentifiableType.BUS, IdentifiableType.SWITCH))
+            .collect(Collectors.toUnmodifiableSet());
+
     private FileSystem fileSystem;
 
     private RestTemplate caseServerRest;
@@ -123,10 +165,39 @@ public class NetworkConversionService {
 
     private final S3Client s3Client;
 
+    private final ExportDownloadPresigner exportDownloadPresigner;
+
+    private final ArchiveWriter archiveWriter;
+
+    private final ExportRetentionService exportRetentionService;
+
     private final String bucketName;
 
     private final String exportRootPath;
 
+    private final boolean reportCompression;
+
+    private final int importReportMaxNodesPerKey;
+
+    private final String importReportMinSeverity;
+
+    private long inMemoryExportMaxBuses;
+
+    private long streamingExportMaxBuses;
+
+    private final Duration presignedUrlDuration;
+
+    private final boolean presignedUrlInNotification;
+
+    /**
+     * Output of a streamed export, opened once the network is ready to be written
+     */
+    @FunctionalInterface
+    public interface ExportOutput {
+
+        OutputStream open(String fileName) throws IOException;
+    }
+
     public NetworkConversionService(@Value("${powsybl.services.case-server.base-uri:http://case-server/}") String caseServerBaseUri,
                                     @Value("${gridsuite.services.geo-data-server.base-uri:http://geo-data-server/}") String geoDataServerBaseUri,
                                     @Value("${gridsuite.services.report-server.base-uri:http://report-server}") String reportServerURI,
@@ -137,9 +208,20 @@ public class NetworkConversionService {
                                     NetworkConversionObserver networkConversionObserver,
                                     ImportExportExecutionService importExportExecutionService,
                                     RestTemplateBuilder restTemplateBuilder,
+                                    PooledHttpClientFactory pooledHttpClientFactory,
                                     S3Client s3Client,
+                                    ExportDownloadPresigner exportDownloadPresigner,
+                                    ArchiveWriter archiveWriter,
+                                    ExportRetentionService exportRetentionService,
                                     @Value("${spring.cloud.aws.bucket:ws-bucket}") String bucketName,
-                                    @Value("${powsybl-ws.s3.subpath.prefix:}${export-subpath}") String exportRootPath) {
+                                    @Value("${powsybl-ws.s3.subpath.prefix:}${export-subpath}") String exportRootPath,
+                                    @Value("${gridsuite.services.report-server.compression:false}") boolean reportCompression,
+                                    @Value("${import-report.max-nodes-per-key:0}") int importReportMaxNodesPerKey,
+                                    @Value("${import-report.min-severity:TRACE}") String importReportMinSeverity,
+                                    @Value("${export-in-memory.max-buses:0}") long inMemoryExportMaxBuses,
+                                    @Value("${export-streaming.max-buses:0}") long streamingExportMaxBuses,
+                                    @Value("${export-download.presigned-url-duration:5m}") Duration presignedUrlDuration,
+                                    @Value("${export-download.presigned-url-in-notification:false}") boolean presignedUrlInNotification) {
         this.networkStoreService = networkStoreService;
         this.equipmentInfosService = equipmentInfosService;
         this.networkConversionExecutionService = networkConversionExecutionService;
@@ -147,17 +229,31 @@ public class NetworkConversionService {
         this.networkConversionObserver = networkConversionObserver;
         this.importExportExecutionService = importExportExecutionService;
         this.s3Client = s3Client;
+        this.exportDownloadPresigner = exportDownloadPresigner;
+        this.archiveWriter = archiveWriter;
+        this.exportRetentionService = exportRetentionService;
         this.bucketName = bucketName;
         this.exportRootPath = exportRootPath;
+        this.reportCompression = reportCompression;
+        this.importReportMaxNodesPerKey = importReportMaxNodesPerKey;
+        // fails the startup on an unknown severity, rather than not bounding the reports
+        BoundedReporter.getSeverityLevel(importReportMinSeverity);
+        this.importReportMinSeverity = importReportMinSeverity;
+        this.inMemoryExportMaxBuses = inMemoryExportMaxBuses;
+        this.streamingExportMaxBuses = streamingExportMaxBuses;
+        this.presignedUrlDuration = presignedUrlDuration;
+        this.presignedUrlInNotification = presignedUrlInNotification;
         this.fileSystem = FileSystems.getDefault();
 
-        caseServerRest = restTemplateBuilder.build();
+        caseServerRest = restTemplateBuilder.requestFactory(() -> pooledHttpClientFactory.createRequestFactory("case-server"))
+            .additionalInterceptors(new CaseDownloadInterceptor(networkConversionObserver))
+            .build();
         caseServerRest.setUriTemplateHandler(new DefaultUriBuilderFactory(caseServerBaseUri));
 
-        geoDataServerRest = restTemplateBuilder.build();
+        geoDataServerRest = restTemplateBuilder.requestFactory(() -> pooledHttpClientFactory.createRequestFactory("geo-data-server")).build();
         geoDataServerRest.setUriTemplateHandler(new DefaultUriBuilderFactory(geoDataServerBaseUri));
 
-        reportServerRest = restTemplateBuilder.build();
+        reportServerRest = restTemplateBuilder.requestFactory(() -> pooledHttpClientFactory.createRequestFactory("report-server")).build();
         reportServerRest.setUriTemplateHandler(new DefaultUriBuilderFactory(reportServerURI));
 
         objectMapper = Jackson2ObjectMapperBuilder.json().build();
@@ -177,12 +273,39 @@ public class NetworkConversionService {
             .build();
     }
 
-    void importCaseAsynchronously(UUID caseUuid, String variantId, UUID reportUuid, String caseFormat, Map<String, Object> importParameters, String receiver) {
-        notificationService.emitCaseImportStart(caseUuid, variantId, reportUuid, caseFormat, importParameters, receiver);
+    void importCaseAsynchronously(UUID caseUuid, String variantId, UUID reportUuid, String caseFormat, Map<String, Object> importParameters, String receiver,
+                                  String userId) {
+        notificationService.emitCaseImportStart(caseUuid, variantId, reportUuid, caseFormat, importParameters, receiver, userId);
     }
 
     void exportNetworkAsynchronously(UUID networkUuid, String variantId, ExportInfos exportInfos) {
-        notificationService.emitNetworkExportStart(networkUuid, variantId, exportInfos);
+        exportNetworkAsynchronously(networkUuid, variantId, exportInfos, null);
+    }
+
+    void exportNetworkAsynchronously(UUID networkUuid, String variantId, ExportInfos exportInfos, NetworkExportFilter exportFilter) {
+        try {
+            notificationService.emitNetworkExportStart(networkUuid, variantId, exportInfos, null, null, false, writeExportFilter(exportFilter));
+        } catch (JsonProcessingException e) {
+            throw new PowsyblException("error serializing export filter", e);
+        }
+    }
+
+    void exportNetworkDeltaAsynchronously(UUID networkUuid, String referenceVariantId, String variantId, ExportInfos exportInfos) {
+        notificationService.emitNetworkDeltaExportStart(networkUuid, referenceVariantId, variantId, exportInfos);
+    }
+
+    void exportNetworkToFormatsAsynchronously(UUID networkUuid, String variantId, ExportInfos exportInfos, List<ExportFormatInfos> exportFormats,
+                                              List<String> variantIds, boolean combinedArchive, NetworkExportFilter exportFilter) {
+        try {
+            notificationService.emitNetworkExportStart(networkUuid, variantId, exportInfos, objectMapper.writeValueAsString(exportFormats),
+                variantIds != null ? objectMapper.writeValueAsString(variantIds) : null, combinedArchive, writeExportFilter(exportFilter));
+        } catch (JsonProcessingException e) {
+            throw new PowsyblException("error serializing export formats", e);
+        }
+    }
+
+    private String writeExportFilter(NetworkExportFilter exportFilter) throws JsonProcessingException {
+        return exportFilter != null && !exportFilter.isEmpty() ? objectMapper.writeValueAsString(exportFilter) : null;
     }
 
     void exportCaseAsynchronously(UUID caseUuid, String fileName, String format, String userId, UUID exportUuid, Map<String, Object> formatParameters) {
@@ -199,22 +322,33 @@ public class NetworkConversionService {
     }
 
     @Bean
-    Consumer<Message<UUID>> consumeCaseImportStart1() {
-        return consumeCaseImportStart();
+    static BeanDefinitionRegistryPostProcessor startConsumersRegistrar(Environment environment) {
+        return new StartConsumersRegistrar(environment, Map.of(
+            ConsumerBindingsEnvironmentPostProcessor.CASE_IMPORT_START_CONSUMER, NetworkConversionService::consumeCaseImportStart,
+            ConsumerBindingsEnvironmentPostProcessor.LARGE_CASE_IMPORT_START_CONSUMER, NetworkConversionService::consumeLargeCaseImportStart,
+            ConsumerBindingsEnvironmentPostProcessor.NETWORK_EXPORT_START_CONSUMER, NetworkConversionService::consumeNetworkExportStart,
+            ConsumerBindingsEnvironmentPostProcessor.CASE_EXPORT_START_CONSUMER, NetworkConversionService::consumeCaseExportStart));
     }
 
-    @Bean
-    Consumer<Message<UUID>> consumeCaseImportStart2() {
-        return consumeCaseImportStart();
+    Consumer<Message<UUID>> consumeCaseImportStart() {
+        return consumeCaseImportStart(false);
     }
 
-    Consumer<Message<UUID>> consumeCaseImportStart() {
+    Consumer<Message<UUID>> consumeLargeCaseImportStart() {
+        return consumeCaseImportStart(true);
+    }
+
+    private Consumer<Message<UUID>> consumeCaseImportStart(boolean largeImport) {
         return message -> {
+            networkConversionObserver.recordMessageAge(NetworkConversionObserver.JOB_TYPE_IMPORT,
+                message.getHeaders().get(NotificationService.HEADER_CASE_FORMAT, String.class),
+                message.getHeaders().get(NotificationService.HEADER_EMISSION_TIME, Long.class));
             UUID caseUuid = message.getPayload();
             String variantId = message.getHeaders().get(NotificationService.HEADER_VARIANT_ID, String.class);
             String reportUuidStr = message.getHeaders().get(NotificationService.HEADER_REPORT_UUID, String.class);
             UUID reportUuid = reportUuidStr != null ? UUID.fromString(reportUuidStr) : null;
             String receiver = message.getHeaders().get(NotificationService.HEADER_RECEIVER, String.class);
+            String tenant = FairShareTaskQueue.getTenant(message.getHeaders().get(NotificationService.HEADER_USER_ID, String.class), receiver);
             Map<String, Object> rawParameters = (Map<String, Object>) message.getHeaders().get(NotificationService.HEADER_IMPORT_PARAMETERS);
             Map<String, Object> allImportParameters = new HashMap<>();
             rawParameters.forEach(allImportParameters::put);
@@ -226,21 +360,17 @@ public class NetworkConversionService {
             if (caseInfos.getFormat().equals("DIE")) {
                 allImportParameters.remove("iidm.die.excluded-extensions");
             }
-            NetworkInfos networkInfos = importCase(caseUuid, variantId, reportUuid, caseInfos.getFormat(), allImportParameters);
-            notificationService.emitCaseImportSucceeded(networkInfos, caseInfos.getName(), caseInfos.getFormat(), receiver, allImportParameters);
+            JobResourceUsage jobResourceUsage = new JobResourceUsage();
+            NetworkInfos networkInfos;
+            try {
+                networkInfos = jobResourceUsage.measure(() -> importCase(caseInfos, variantId, reportUuid, allImportParameters, tenant, largeImport));
+            } finally {
+                networkConversionObserver.recordJobResourceUsage(NetworkConversionObserver.JOB_TYPE_IMPORT, caseInfos.getFormat(), jobResourceUsage);
+            }
+            notificationService.emitCaseImportSucceeded(networkInfos, caseInfos.getName(), caseInfos.getFormat(), receiver, allImportParameters, jobResourceUsage);
         };
     }
 
-    @Bean
-    Consumer<Message<UUID>> consumeNetworkExportStart1() {
-        return consumeNetworkExportStart();
-    }
-
-    @Bean
-    Consumer<Message<UUID>> consumeNetworkExportStart2() {
-        return consumeNetworkExportStart();
-    }
-
     Consumer<Message<UUID>> consumeNetworkExportStart() {
         return message -> {
             UUID networkUuid = message.getPayload();
@@ -248,37 +378,227 @@ public class NetworkConversionService {
             String fileName = message.getHeaders().get(NotificationService.HEADER_FILE_NAME, String.class);
             String format = message.getHeaders().get(NotificationService.HEADER_FORMAT, String.class);
             String receiver = message.getHeaders().get(NotificationService.HEADER_RECEIVER, String.class);
+            String tenant = FairShareTaskQueue.getTenant(message.getHeaders().get(NotificationService.HEADER_USER_ID, String.class), receiver);
             String exportUuidStr = message.getHeaders().get(NotificationService.HEADER_EXPORT_UUID, String.class);
             String exportInfos = message.getHeaders().get(NotificationService.HEADER_EXPORT_INFOS, String.class);
+            String referenceVariantId = message.getHeaders().get(NotificationService.HEADER_REFERENCE_VARIANT_ID, String.class);
+            networkConversionObserver.recordMessageAge(NetworkConversionObserver.JOB_TYPE_EXPORT, format,
+                message.getHeaders().get(NotificationService.HEADER_EMISSION_TIME, Long.class));
             String exportContentType = "application/zip";
             UUID exportUuid = exportUuidStr != null ? UUID.fromString(exportUuidStr) : null;
+            // the formats, variants and filter json are LongStrings when longer than 1024 bytes
+            Object exportFilterJson = message.getHeaders().get(NotificationService.HEADER_EXPORT_FILTER);
+            Object exportFormats = message.getHeaders().get(NotificationService.HEADER_EXPORT_FORMATS);
+            if (exportFormats != null) {
+                Object variantIds = message.getHeaders().get(NotificationService.HEADER_VARIANT_IDS);
+                boolean combinedArchive = Boolean.TRUE.equals(message.getHeaders().get(NotificationService.HEADER_COMBINED_ARCHIVE, Boolean.class));
+                exportNetworkToFormatsAndUpload(networkUuid, variantIds != null ? variantIds.toString() : null, variantId, fileName, receiver, tenant, exportUuid, exportInfos,
+                    exportFormats.toString(), combinedArchive, exportFilterJson != null ? exportFilterJson.toString() : null);
+                return;
+            }
             Map<String, Object> formatParameters = extractFormatParameters(message);
-            ExportNetworkInfos exportNetworkInfos = null;
+            JobResourceUsage jobResourceUsage = new JobResourceUsage();
             try {
                 LOGGER.debug("Processing export for network {} with format {}...", networkUuid, format);
-                exportNetworkInfos = networkConversionObserver.observeExportProcessing(
-                        format,
-                        () -> exportNetwork(networkUuid, variantId, fileName, format, formatParameters)
-                );
-                String s3Key = exportRootPath + DELIMITER + exportUuid + DELIMITER + exportNetworkInfos.getTempFilePath().getFileName();
-                uploadFile(exportNetworkInfos.getTempFilePath(), s3Key);
-                notificationService.emitNetworkExportFinished(exportUuid, receiver, exportInfos, null, s3Key, exportContentType);
+                NetworkExportFilter exportFilter = exportFilterJson != null ? objectMapper.readValue(exportFilterJson.toString(), NetworkExportFilter.class) : null;
+                String s3Key = jobResourceUsage.measure(() -> exportAndUpload(format, exportUuid, () -> referenceVariantId != null
+                    ? exportNetworkDelta(networkUuid, referenceVariantId, variantId, fileName, tenant)
+                    : exportNetwork(networkUuid, variantId, fileName, format, formatParameters, tenant, exportFilter)));
+                notificationService.emitNetworkExportFinished(exportUuid, receiver, exportInfos,
+                    NetworkExportOutcome.success(s3Key, getNotificationDownloadUrl(s3Key), ArchiveCodec.getContentType(s3Key)), jobResourceUsage);
             } catch (Exception e) {
-                notificationService.emitNetworkExportFinished(exportUuid, receiver, exportInfos, String.format("Export failed for network %s", fileName), null, exportContentType);
+                notificationService.emitNetworkExportFinished(exportUuid, receiver, exportInfos,
+                    NetworkExportOutcome.failure(String.format("Export failed for network %s", fileName), exportContentType), jobResourceUsage);
                 LOGGER.error(String.format("Export failed for network %s (uuid: %s):", fileName, networkUuid), e);
             } finally {
-                if (exportNetworkInfos != null) {
-                    Path tempDir = exportNetworkInfos.getTempFilePath().getParent();
-                    cleanUpTempDir(tempDir);
-                }
+                networkConversionObserver.recordJobResourceUsage(NetworkConversionObserver.JOB_TYPE_EXPORT, format, jobResourceUsage);
             }
         };
     }
 
+    /**
+     * Export a network to several formats and upload the exports. The content types of the exports are given by the
+     * results, the one of the notification being the content type of the combined archive, if any.
+     */
+    private void exportNetworkToFormatsAndUpload(UUID networkUuid, String variantIdsJson, String variantId, String fileName, String receiver, String tenant, UUID exportUuid,
+                                                 String exportInfos, String exportFormatsJson, boolean combinedArchive, String exportFilterJson) {
+        JobResourceUsage jobResourceUsage = new JobResourceUsage();
+        try {
+            List<ExportFormatInfos> exportFormats = objectMapper.readValue(exportFormatsJson, new TypeReference<>() { });
+            List<String> variantIds = variantIdsJson != null ? objectMapper.readValue(variantIdsJson, new TypeReference<>() { }) : Collections.singletonList(variantId);
+            NetworkExportFilter exportFilter = exportFilterJson != null ? objectMapper.readValue(exportFilterJson, NetworkExportFilter.class) : null;
+            boolean multiVariant = variantIds.size() > 1;
+            LOGGER.debug("Processing export for network {} with formats {} and variants {}...", networkUuid,
+                exportFormats.stream().map(ExportFormatInfos::getFormat).toList(), variantIds);
+            List<ExportFormatResult> results = jobResourceUsage.measure(() -> {
+                if (combinedArchive) {
+                    List<FormatExport> formatExports = new ArrayList<>();
+                    try {
+                        exportNetworkToFormats(networkUuid, variantIds, fileName, exportFormats, tenant, exportFilter, formatExports::add);
+                    } catch (RuntimeException e) {
+                        formatExports.stream().filter(formatExport -> formatExport.error() == null)
+                            .forEach(formatExport -> cleanUpExport(formatExport.exportNetworkInfos()));
+                        throw e;
+                    }
+                    return uploadCombinedFormatExports(exportUuid, fileName, formatExports, multiVariant);
+                }
+                // each export is uploaded as soon as it is done, so that only one of them is on disk at a time
+                List<ExportFormatResult> formatResults = new ArrayList<>();
+                exportNetworkToFormats(networkUuid, variantIds, fileName, exportFormats, tenant, exportFilter,
+                    formatExport -> formatResults.add(uploadFormatExport(exportUuid, formatExport, multiVariant)));
+                return formatResults;
+            });
+            List<String> failedExports = results.stream().filter(result -> result.getError() != null)
+                .map(result -> multiVariant ? result.getVariantId() + DELIMITER + result.getFormat() : result.getFormat())
+                .toList();
+            String error = failedExports.isEmpty() ? null : String.format("Export failed for network %s in formats %s", fileName, failedExports);
+            String combinedContentType = combinedArchive
+                ? results.stream().map(ExportFormatResult::getContentType).filter(Objects::nonNull).findFirst().orElse(null)
+                : null;
+            notificationService.emitNetworkExportFinished(exportUuid, receiver, exportInfos,
+                NetworkExportOutcome.multiFormat(error, combinedContentType, objectMapper.writeValueAsString(results)), jobResourceUsage);
+        } catch (Exception e) {
+            notificationService.emitNetworkExportFinished(exportUuid, receiver, exportInfos,
+                NetworkExportOutcome.failure(String.format("Export failed for network %s", fileName), null), jobResourceUsage);
+            LOGGER.error(String.format("Export failed for network %s (uuid: %s):", fileName, networkUuid), e);
+        } finally {
+            networkConversionObserver.recordJobResourceUsage(NetworkConversionObserver.JOB_TYPE_EXPORT, MULTI_FORMAT, jobResourceUsage);
+        }
+    }
+
+    /**
+     * Upload the file of a format of a multi-format export under a folder per format (per variant then per format for
+     * multi-variant exports), and remove the temporary files
+     */
+    private ExportFormatResult uploadFormatExport(UUID exportUuid, FormatExport formatExport, boolean multiVariant) {
+        if (formatExport.error() != null) {
+            return new ExportFormatResult(formatExport.format(), formatExport.variantId(), null, formatExport.error().getMessage());
+        }
+        ExportNetworkInfos exportNetworkInfos = formatExport.exportNetworkInfos();
+        String s3Key = exportRootPath + DELIMITER + exportUuid + DELIMITER + getFormatExportFolder(formatExport, multiVariant) + exportNetworkInfos.getNetworkName();
+        try {
+            networkConversionObserver.observePhase(NetworkConversionObserver.PHASE_UPLOAD, formatExport.format(), () -> uploadExport(exportNetworkInfos, s3Key));
+            return new ExportFormatResult(formatExport.format(), formatExport.variantId(), s3Key, getNotificationDownloadUrl(s3Key),
+                ArchiveCodec.getContentType(s3Key), null);
+        } catch (IOException e) {
+            LOGGER.error(String.format("Upload of export %s in format %s failed:", exportUuid, formatExport.format()), e);
+            return new ExportFormatResult(formatExport.format(), formatExport.variantId(), null, e.getMessage());
+        } finally {
+            cleanUpExport(exportNetworkInfos);
+        }
+    }
+
+    /**
+     * Gather the files of a multi-format export in a single archive, with a folder per format (per variant then per
+     * format for multi-variant exports), upload it and remove the temporary files
+     */
+    private List<ExportFormatResult> uploadCombinedFormatExports(UUID exportUuid, String fileName, List<FormatExport> formatExports, boolean multiVariant) throws IOException {
+        List<FormatExport> succeededExports = formatExports.stream().filter(formatExport -> formatExport.error() == null).toList();
+        Path tempDir = null;
+        try {
+            String s3Key = null;
+            if (!succeededExports.isEmpty()) {
+                List<ArchiveEntry> zipEntries = succeededExports.stream().map(formatExport -> {
+                    ExportNetworkInfos exportNetworkInfos = formatExport.exportNetworkInfos();
+                    String entryName = getFormatExportFolder(formatExport, multiVariant) + exportNetworkInfos.getNetworkName();
+                    return exportNetworkInfos.isInMemory()
+                        ? ArchiveEntry.ofContent(entryName, exportNetworkInfos.getContent())
+                        : ArchiveEntry.ofFile(entryName, exportNetworkInfos.getTempFilePath());
+                }).toList();
+                String zipName = fileName != null ? fileName.replace('/', '_') : exportUuid.toString();
+                ExportNetworkInfos combinedExport;
+                // the archive of exports done in memory is also written in memory
+                if (zipEntries.stream().allMatch(ArchiveEntry::isInMemory)) {
+                    InMemoryArchive archive = networkConversionObserver.observePhase(NetworkConversionObserver.PHASE_ZIP, MULTI_FORMAT, () -> {
+                        InMemoryArchive inMemoryArchive = archiveWriter.write(zipName, zipEntries, ArchiveOptions.DEFAULT);
+                        ConversionEvents.setBytes(() -> inMemoryArchive.content().length);
+                        return inMemoryArchive;
+                    });
+                    combinedExport = new ExportNetworkInfos(archive.fileName(), null, 0, archive.content());
+                } else {
+                    tempDir = Files.createTempDirectory(fileSystem.getPath(TMP_DIR), "export_", PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rwx------")));
+                    Path zipDir = tempDir;
+                    Path zipFile = networkConversionObserver.observePhase(NetworkConversionObserver.PHASE_ZIP, MULTI_FORMAT, () -> {
+                        Path archive = archiveWriter.write(zipDir, zipName, zipEntries, ArchiveOptions.DEFAULT);
+                        ConversionEvents.setBytes(() -> getFileSize(archive));
+                        return archive;
+                    });
+                    combinedExport = new ExportNetworkInfos(zipFile.getFileName().toString(), zipFile, 0);
+                }
+                s3Key = exportRootPath + DELIMITER + exportUuid + DELIMITER + combinedExport.getNetworkName();
+                String combinedS3Key = s3Key;
+                networkConversionObserver.observePhase(NetworkConversionObserver.PHASE_UPLOAD, MULTI_FORMAT, () -> uploadExport(combinedExport, combinedS3Key));
+            }
+            String downloadUrl = getNotificationDownloadUrl(s3Key);
+            String contentType = s3Key != null ? ArchiveCodec.getContentType(s3Key) : null;
+            List<ExportFormatResult> results = new ArrayList<>();
+            for (FormatExport formatExport : formatExports) {
+                results.add(formatExport.error() != null
+                    ? new ExportFormatResult(formatExport.format(), formatExport.variantId(), null, formatExport.error().getMessage())
+                    : new ExportFormatResult(formatExport.format(), formatExport.variantId(), s3Key, downloadUrl, contentType, null));
+            }
+            return results;
+        } finally {
+            succeededExports.forEach(formatExport -> cleanUpExport(formatExport.exportNetworkInfos()));
+            if (tempDir != null) {
+                cleanUpTempDir(tempDir);
+            }
+        }
+    }
+
+    private static String getFormatExportFolder(FormatExport formatExport, boolean multiVariant) {
+        return (multiVariant ? formatExport.variantId() + DELIMITER : "") + formatExport.format() + DELIMITER;
+    }
+
+    /**
+     * Export to a temporary file (or in memory for small networks), upload it to S3 and remove the temporary file
+     * @return the S3 key of the uploaded file
+     */
+    private String exportAndUpload(String format, UUID exportUuid, Observation.CheckedCallable<ExportNetworkInfos, Exception> export) throws Exception {
+        ExportNetworkInfos exportNetworkInfos = null;
+        try {
+            exportNetworkInfos = networkConversionObserver.observeExportProcessing(format, export);
+            ExportNetworkInfos exportedNetworkInfos = exportNetworkInfos;
+            String s3Key = exportRootPath + DELIMITER + exportUuid + DELIMITER + exportNetworkInfos.getNetworkName();
+            networkConversionObserver.observePhase(NetworkConversionObserver.PHASE_UPLOAD, format, () -> uploadExport(exportedNetworkInfos, s3Key));
+            return s3Key;
+        } finally {
+            if (exportNetworkInfos != null) {
+                cleanUpExport(exportNetworkInfos);
+            }
+        }
+    }
+
+    private void uploadExport(ExportNetworkInfos exportNetworkInfos, String s3Key) throws IOException {
+        if (exportNetworkInfos.isInMemory()) {
+            ConversionEvents.setBytes(() -> exportNetworkInfos.getContent().length);
+            uploadContent(exportNetworkInfos.getContent(), s3Key);
+            exportRetentionService.recordExport(s3Key, exportNetworkInfos.getContent().length);
+        } else {
+            ConversionEvents.setBytes(() -> getFileSize(exportNetworkInfos.getTempFilePath()));
+            uploadFile(exportNetworkInfos.getTempFilePath(), s3Key);
+            exportRetentionService.recordExport(s3Key, getFileSize(exportNetworkInfos.getTempFilePath()));
+        }
+    }
+
+    private void cleanUpExport(ExportNetworkInfos exportNetworkInfos) {
+        if (exportNetworkInfos.getTempFilePath() != null) {
+            cleanUpTempDir(exportNetworkInfos.getTempFilePath().getParent());
+        }
+    }
+
     public void setFileSystem(FileSystem fileSystem) {
         this.fileSystem = Objects.requireNonNull(fileSystem);
     }
 
+    public void setInMemoryExportMaxBuses(long inMemoryExportMaxBuses) {
+        this.inMemoryExportMaxBuses = inMemoryExportMaxBuses;
+    }
+
+    public void setStreamingExportMaxBuses(long streamingExportMaxBuses) {
+        this.streamingExportMaxBuses = streamingExportMaxBuses;
+    }
+
     public void uploadFile(Path filePath, String s3Key) throws IOException {
         try {
             PutObjectRequest putRequest = PutObjectRequest.builder()
@@ -291,25 +611,63 @@ public class NetworkConversionService {
         }
     }
 
-    public ResponseEntity<InputStreamResource> downloadExportFile(String exportUuid) {
+    public void uploadContent(byte[] content, String s3Key) throws IOException {
         try {
-            ListObjectsV2Request requestBuild = ListObjectsV2Request.builder()
+            PutObjectRequest putRequest = PutObjectRequest.builder()
                     .bucket(bucketName)
-                    .prefix(exportRootPath + DELIMITER + exportUuid + DELIMITER)
+                    .key(s3Key)
                     .build();
-            ListObjectsV2Response response = s3Client.listObjectsV2(requestBuild);
-            // We need here to filter directory objects to retrieve the file because some s3 implementations
-            // will return in the listing file objets AND directory objects.
-            S3Object s3Object = response.contents().stream()
-                    .filter(obj -> !obj.key().endsWith(DELIMITER))
-                    .findFirst().orElseThrow(() -> createFailedDownloadExportFile(exportUuid));
+            s3Client.putObject(putRequest, RequestBody.fromBytes(content));
+        } catch (SdkException e) {
+            throw new IOException("Error occurred while uploading file to S3: " + e.getMessage());
+        }
+    }
+
+    public ResponseEntity<InputStreamResource> downloadExportFile(String exportUuid) {
+        return downloadExportFile(exportUuid, null, null, false);
+    }
+
+    /**
+     * @param variantId the variant of the file to download for multi-variant exports, null otherwise
+     * @param format the format of the file to download for multi-format exports, null for single format and combined exports
+     * @param presigned redirect the client to a pre-signed URL of the file, to download it directly from S3 instead of
+     *                  through the service
+     */
+    public ResponseEntity<InputStreamResource> downloadExportFile(String exportUuid, String variantId, String format, boolean presigned) {
+        String keyPrefix = exportRootPath + DELIMITER + exportUuid + DELIMITER + (variantId != null ? variantId + DELIMITER : "") + (format != null ? format + DELIMITER : "");
+        // the files of the exports tracked by the retention are found without listing the export folder
+        String fileKey = exportRetentionService.findExportKey(keyPrefix).orElse(null);
+        try {
+            if (fileKey == null) {
+                ListObjectsV2Request requestBuild = ListObjectsV2Request.builder()
+                        .bucket(bucketName)
+                        .prefix(keyPrefix)
+                        .build();
+                ListObjectsV2Response response = s3Client.listObjectsV2(requestBuild);
+                // We need here to filter directory objects to retrieve the file because some s3 implementations
+                // will return in the listing file objets AND directory objects.
+                S3Object s3Object = response.contents().stream()
+                        .filter(obj -> !obj.key().endsWith(DELIMITER))
+                        .findFirst().orElseThrow(() -> createFailedDownloadExportFile(exportUuid));
+                fileKey = s3Object.key();
+            }
+            exportRetentionService.recordAccess(fileKey);
+            if (presigned) {
+                return ResponseEntity.status(HttpStatus.SEE_OTHER)
+                    .location(URI.create(getPresignedDownloadUrl(fileKey)))
+                    .build();
+            }
             GetObjectRequest getRequest = GetObjectRequest.builder()
                     .bucket(bucketName)
-                    .key(s3Object.key())
+                    .key(fileKey)
                     .build();
-            ResponseInputStream<GetObjectResponse> s3InputStream = s3Client.getObject(getRequest);
-            String fileKey = s3Object.key();
-            String fileName = s3Object.key().substring(fileKey.lastIndexOf('/') + 1);
+            // the file is streamed to the client after the phase, which only covers the request to S3
+            ResponseInputStream<GetObjectResponse> s3InputStream = networkConversionObserver.observePhase(NetworkConversionObserver.PHASE_EXPORT_DOWNLOAD, null, () -> {
+                ResponseInputStream<GetObjectResponse> objectInputStream = s3Client.getObject(getRequest);
+                ConversionEvents.setBytes(() -> objectInputStream.response().contentLength());
+                return objectInputStream;
+            });
+            String fileName = fileKey.substring(fileKey.lastIndexOf('/') + 1);
             HttpHeaders headers = new HttpHeaders();
             headers.setContentDisposition(ContentDisposition.builder("attachment")
                     .filename(fileName)
@@ -320,18 +678,35 @@ public class NetworkConversionService {
                     .contentType(MediaType.APPLICATION_OCTET_STREAM)
                     .body(new InputStreamResource(s3InputStream));
         } catch (NoSuchKeyException e) {
+            if (fileKey != null) {
+                exportRetentionService.forgetExport(fileKey);
+            }
             return ResponseEntity.notFound().build();
         }
     }
 
-    @Bean
-    Consumer<Message<UUID>> consumeCaseExportStart1() {
-        return consumeCaseExportStart();
+    /**
+     * @return a URL to download the exported file directly from S3 during export-download.presigned-url-duration,
+     * on export-download.public-endpoint if set, on the endpoint of the S3 client otherwise
+     */
+    public String getPresignedDownloadUrl(String s3Key) {
+        return exportDownloadPresigner.presignDownloadUrl(bucketName, s3Key, presignedUrlDuration);
     }
 
-    @Bean
-    Consumer<Message<UUID>> consumeCaseExportStart2() {
-        return consumeCaseExportStart();
+    /**
+     * @return the pre-signed URL of the file to send in the export finished notification, null if disabled
+     */
+    private String getNotificationDownloadUrl(String s3Key) {
+        if (!presignedUrlInNotification || s3Key == null) {
+            return null;
+        }
+        try {
+            return getPresignedDownloadUrl(s3Key);
+        } catch (SdkException e) {
+            // the file can still be downloaded through the service
+            LOGGER.warn("Pre-signing of the URL of {} failed: {}", s3Key, e.getMessage());
+            return null;
+        }
     }
 
     Consumer<Message<UUID>> consumeCaseExportStart() {
@@ -341,31 +716,25 @@ public class NetworkConversionService {
             String fileName = message.getHeaders().get(NotificationService.HEADER_FILE_NAME, String.class);
             String userId = message.getHeaders().get(NotificationService.HEADER_USER_ID, String.class);
             String exportUuidStr = message.getHeaders().get(NotificationService.HEADER_EXPORT_UUID, String.class);
+            networkConversionObserver.recordMessageAge(NetworkConversionObserver.JOB_TYPE_CONVERT, format,
+                message.getHeaders().get(NotificationService.HEADER_EMISSION_TIME, Long.class));
             UUID exportUuid = exportUuidStr != null ? UUID.fromString(exportUuidStr) : null;
             Map<String, Object> formatParameters = extractFormatParameters(message);
-            ExportNetworkInfos exportNetworkInfos = null;
+            JobResourceUsage jobResourceUsage = new JobResourceUsage();
             try {
                 LOGGER.debug("Processing export for case {} with format {}...", caseUuid, format);
-                exportNetworkInfos = networkConversionObserver.observeExportProcessing(
-                        format,
-                        () -> exportCase(caseUuid, format, fileName, formatParameters)
-                );
-                String s3Key = exportRootPath + DELIMITER + exportUuid + DELIMITER + exportNetworkInfos.getTempFilePath().getFileName();
-                uploadFile(exportNetworkInfos.getTempFilePath(), s3Key);
-                notificationService.emitCaseExportFinished(exportUuid, userId, null);
+                jobResourceUsage.measure(() -> exportAndUpload(format, exportUuid, () -> exportCase(caseUuid, format, fileName, formatParameters, userId)));
+                notificationService.emitCaseExportFinished(exportUuid, userId, null, jobResourceUsage);
             } catch (Exception e) {
-                notificationService.emitCaseExportFinished(exportUuid, userId, String.format("Export failed for case %s", fileName));
+                notificationService.emitCaseExportFinished(exportUuid, userId, String.format("Export failed for case %s", fileName), jobResourceUsage);
                 LOGGER.error(String.format("Export failed for case %s (uuid: %s):", fileName, caseUuid), e);
             } finally {
-                if (exportNetworkInfos != null) {
-                    Path tempDir = exportNetworkInfos.getTempFilePath().getParent();
-                    cleanUpTempDir(tempDir);
-                }
+                networkConversionObserver.recordJobResourceUsage(NetworkConversionObserver.JOB_TYPE_CONVERT, format, jobResourceUsage);
             }
         };
     }
 
-    private Map<String, Object> extractFormatParameters(Message<UUID> message) {
+    static Map<String, Object> extractFormatParameters(Message<UUID> message) {
         // String longer than 1024 bytes are converted to com.rabbitmq.client.LongString (https://docs.spring.io/spring-amqp/docs/3.0.0/reference/html/#message-properties-converters)
         Map<String, Object> rawParameters = (Map<String, Object>) message.getHeaders().get(NotificationService.HEADER_EXPORT_PARAMETERS);
         Map<String, Object> formatParameters = new HashMap<>();
@@ -379,10 +748,28 @@ public class NetworkConversionService {
         return formatParameters;
     }
 
-    private NetworkInfos importCaseExec(UUID caseUuid, String variantId, UUID reportUuid, String caseFormat, Map<String, Object> importParameters) {
-        CaseDataSourceClient dataSource = new CaseDataSourceClient(caseServerRest, caseUuid);
+    /**
+     * @param caseInfos the infos of the case, read from S3 when they give its location, or null to read the case through the case server
+     */
+    private NetworkInfos importCaseExec(UUID caseUuid, CaseInfos caseInfos, String variantId, UUID reportUuid, String caseFormat, Map<String, Object> importParameters) {
+        return ConversionEvents.inJob(caseUuid, null, () ->
+            importCaseExec(getCaseDataSource(caseUuid, caseInfos), variantId, reportUuid, caseFormat, importParameters));
+    }
+
+    ReadOnlyDataSource getCaseDataSource(UUID caseUuid, CaseInfos caseInfos) {
+        if (caseInfos != null && S3CaseDataSource.isSupported(caseInfos.getS3Key())) {
+            return new S3CaseDataSource(s3Client, bucketName, caseInfos.getS3Key(), networkConversionObserver);
+        }
+        return new CaseDataSourceClient(caseServerRest, caseUuid);
+    }
+
+    /**
+     * @param caseFormat the format of the case, only used to tag the import metrics
+     */
+    private NetworkInfos importCaseExec(ReadOnlyDataSource dataSource, String variantId, UUID reportUuid, String caseFormat, Map<String, Object> importParameters) {
         ReportNode rootReport = ReportNode.NO_OP;
         ReportNode reporter = ReportNode.NO_OP;
+        BoundedReporter boundedReporter = null;
         if (reportUuid != null) {
             String reporterId = "Root";
             rootReport = ReportNode.newRootReportNode()
@@ -396,54 +783,94 @@ public class NetworkConversionService {
                     .withMessageTemplate("network.conversion.server.subReporterId")
                     .withUntypedValue("subReporterId", subReporterId)
                     .add();
+            if (BoundedReporter.isBounding(importReportMaxNodesPerKey, importReportMinSeverity)) {
+                boundedReporter = new BoundedReporter(importReportMaxNodesPerKey, importReportMinSeverity);
+            }
         }
 
-        AtomicReference<Long> startTime = new AtomicReference<>(System.nanoTime());
-        ReportNode finalReporter = reporter;
-        Network network = networkConversionObserver.observeImportProcessing(caseFormat, () -> {
-            if (!importParameters.isEmpty()) {
-                Properties importProperties = new Properties();
-                importParameters.forEach((k, v) -> {
-                    if (v != null) {
-                        // String longer than 1024 bytes are converted to com.rabbitmq.client.LongString (https://docs.spring.io/spring-amqp/docs/3.0.0/reference/html/#message-properties-converters)
-                        importProperties.put(k, (v instanceof LongString) ? v.toString() : v);
-                    }
-                });
-                return networkStoreService.importNetwork(dataSource, finalReporter, importProperties, false);
-            } else {
-                return networkStoreService.importNetwork(dataSource, finalReporter, false);
-            }
-        });
+        ReportNode finalReporter = boundedReporter != null ? boundedReporter.wrap(reporter) : reporter;
+        JobResourceUsage jobResourceUsage = JobResourceUsage.current();
+        long startDownloadedBytes = jobResourceUsage != null ? jobResourceUsage.getDownloadedBytes() : 0;
+        Network network = networkConversionObserver.observeImportProcessing(caseFormat, () ->
+            networkConversionObserver.observePhase(NetworkConversionObserver.PHASE_IMPORT, caseFormat, () -> {
+                Network importedNetwork = CaseDownloadInterceptor.withCaseFormat(caseFormat, () -> importNetwork(dataSource, finalReporter, importParameters));
+                ConversionEvents.setEquipments(importedNetwork::getConnectableCount);
+                return importedNetwork;
+            }));
+        // the variant is cloned in the store, not in the imported network
+        int variantCount = network.getVariantManager().getVariantIds().size() + (variantId != null ? 1 : 0);
+        networkConversionObserver.recordImportedNetworkShape(caseFormat, getEquipmentCounts(network), variantCount,
+            jobResourceUsage != null ? jobResourceUsage.getDownloadedBytes() - startDownloadedBytes : 0);
         UUID networkUuid = networkStoreService.getNetworkUuid(network);
-        LOGGER.trace("Import network '{}' : {} seconds", networkUuid, TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - startTime.get()));
-        saveNetwork(network, networkUuid, variantId, rootReport, reportUuid);
-        return new NetworkInfos(networkUuid, network.getId());
+        if (boundedReporter != null) {
+            boundedReporter.addSummary(reporter);
+            networkConversionObserver.recordSuppressedReportNodes(caseFormat, boundedReporter.getSuppressedCount());
+        }
+        ReportNode finalRootReport = rootReport;
+        return ConversionEvents.inNetwork(networkUuid, () -> {
+            saveNetwork(network, networkUuid, variantId, finalRootReport, reportUuid, caseFormat);
+            return new NetworkInfos(networkUuid, network.getId());
+        });
+    }
+
+    private Network importNetwork(ReadOnlyDataSource dataSource, ReportNode reporter, Map<String, Object> importParameters) {
+        if (!importParameters.isEmpty()) {
+            Properties importProperties = new Properties();
+            importParameters.forEach((k, v) -> {
+                if (v != null) {
+                    // String longer than 1024 bytes are converted to com.rabbitmq.client.LongString (https://docs.spring.io/spring-amqp/docs/3.0.0/reference/html/#message-properties-converters)
+                    importProperties.put(k, (v instanceof LongString) ? v.toString() : v);
+                }
+            });
+            return networkStoreService.importNetwork(dataSource, reporter, importProperties, false);
+        } else {
+            return networkStoreService.importNetwork(dataSource, reporter, false);
+        }
     }
 
     public NetworkInfos importCase(UUID caseUuid, String variantId, UUID reportUuid, String caseFormat, Map<String, Object> importParameters) {
+        return importCase(caseFormat, () ->
+            supplyInteractiveImportAsync(caseFormat, caseFormat, () -> importCaseExec(caseUuid, null, variantId, reportUuid, caseFormat, importParameters)));
+    }
+
+    /**
+     * Submit an import of an interactive call, on the large imports slots when the case format is a large import one
+     */
+    private CompletableFuture<NetworkInfos> supplyInteractiveImportAsync(String caseFormat, String formatTag, Supplier<NetworkInfos> importTask) {
+        return notificationService.isLargeImport(caseFormat)
+            ? importExportExecutionService.supplyInteractiveLargeImportAsync(NetworkConversionObserver.JOB_TYPE_IMPORT, formatTag, importTask)
+            : importExportExecutionService.supplyInteractiveAsync(NetworkConversionObserver.JOB_TYPE_IMPORT, formatTag, importTask);
+    }
+
+    private NetworkInfos importCase(CaseInfos caseInfos, String variantId, UUID reportUuid, Map<String, Object> importParameters,
+                                    String tenant, boolean largeImport) {
+        String caseFormat = caseInfos.getFormat();
+        Supplier<NetworkInfos> importTask = () -> importCaseExec(caseInfos.getUuid(), caseInfos, variantId, reportUuid, caseFormat, importParameters);
+        return importCase(caseFormat, () -> largeImport
+            ? importExportExecutionService.supplyLargeImportAsync(tenant, NetworkConversionObserver.JOB_TYPE_IMPORT, caseFormat, importTask)
+            : importExportExecutionService.supplyAsync(tenant, NetworkConversionObserver.JOB_TYPE_IMPORT, caseFormat, importTask));
+    }
+
+    private NetworkInfos importCase(String caseFormat, Supplier<CompletableFuture<NetworkInfos>> submitImport) {
         try {
-            return networkConversionObserver.observeImportTotal(caseFormat, () ->
-                    importExportExecutionService.supplyAsync(() ->
-                            importCaseExec(caseUuid, variantId, reportUuid, caseFormat, importParameters)
-                    ).join()
-            );
+            return networkConversionObserver.observeImportTotal(caseFormat, () -> submitImport.get().join());
         } catch (CompletionException e) {
             throw NetworkConversionException.createFailedCaseImport(e.getCause());
         }
     }
 
-    private void saveNetwork(Network network, UUID networkUuid, String variantId, ReportNode reporter, UUID reportUuid) {
+    private void saveNetwork(Network network, UUID networkUuid, String variantId, ReportNode reporter, UUID reportUuid, String caseFormat) {
         CompletableFuture<Void> saveInParallel;
         if (reportUuid == null) {
             saveInParallel = CompletableFuture.allOf(
-                networkConversionExecutionService.runAsync(() -> storeNetworkInitialVariants(network, networkUuid, variantId)),
-                networkConversionExecutionService.runAsync(() -> insertEquipmentIndexes(network, networkUuid, VariantManagerConstants.INITIAL_VARIANT_ID))
+                networkConversionExecutionService.runAsync(() -> storeNetworkInitialVariants(network, networkUuid, variantId, caseFormat)),
+                networkConversionExecutionService.runAsync(() -> insertEquipmentIndexes(network, networkUuid, VariantManagerConstants.INITIAL_VARIANT_ID, caseFormat))
             );
         } else {
             saveInParallel = CompletableFuture.allOf(
-                networkConversionExecutionService.runAsync(() -> storeNetworkInitialVariants(network, networkUuid, variantId)),
-                networkConversionExecutionService.runAsync(() -> sendReport(networkUuid, reporter, reportUuid)),
-                networkConversionExecutionService.runAsync(() -> insertEquipmentIndexes(network, networkUuid, VariantManagerConstants.INITIAL_VARIANT_ID))
+                networkConversionExecutionService.runAsync(() -> storeNetworkInitialVariants(network, networkUuid, variantId, caseFormat)),
+                networkConversionExecutionService.runAsync(() -> sendReport(reporter, reportUuid, caseFormat)),
+                networkConversionExecutionService.runAsync(() -> insertEquipmentIndexes(network, networkUuid, VariantManagerConstants.INITIAL_VARIANT_ID, caseFormat))
             );
         }
         try {
@@ -500,9 +927,41 @@ public class NetworkConversionService {
     }
 
     private ExportNetworkInfos exportNetworkExec(UUID networkUuid, String variantId, String fileName,
-        String format, Map<String, Object> formatParameters) {
+        String format, Map<String, Object> formatParameters, NetworkExportFilter exportFilter) {
         Properties exportProperties = initializePropertiesAndCheckFormat(format, formatParameters);
+        ArchiveOptions archiveOptions = ArchiveOptions.fromFormatParameters(formatParameters);
         Network network = getNetwork(networkUuid);
+        setWorkingVariant(network, variantId);
+        reduceNetwork(network, exportFilter, format);
+        String fileOrNetworkName = fileName != null ? fileName : getNetworkName(network, variantId);
+        long networkSize = network.getBusView().getBusStream().count();
+        return getExportNetworkInfos(network, format, fileOrNetworkName, exportProperties, archiveOptions, networkSize);
+    }
+
+    /**
+     * Reduce the working variant of the network to the area of a partial export, the lines crossing the border of the
+     * area being replaced by boundary lines. The reduction is never flushed to the network store.
+     * @param exportFilter the area of the export, null to keep the whole network
+     */
+    private void reduceNetwork(Network network, NetworkExportFilter exportFilter, String format) {
+        if (exportFilter == null || exportFilter.isEmpty()) {
+            return;
+        }
+        NetworkExportPredicate predicate = new NetworkExportPredicate(exportFilter);
+        if (network.getVoltageLevelStream().noneMatch(predicate::test)) {
+            throw NetworkConversionException.createEmptyExportArea();
+        }
+        networkConversionObserver.observePhase(NetworkConversionObserver.PHASE_REDUCE, format, () -> {
+            NetworkReducer.builder()
+                .withNetworkPredicate(predicate)
+                .withReductionOptions(new ReductionOptions().withBoundaryLines(true))
+                .build()
+                .reduce(network);
+            ConversionEvents.setEquipments(() -> network.getIdentifiables().size());
+        });
+    }
+
+    private static void setWorkingVariant(Network network, String variantId) {
         if (variantId != null) {
             if (network.getVariantManager().getVariantIds().contains(variantId)) {
                 network.getVariantManager().setWorkingVariant(variantId);
@@ -510,19 +969,93 @@ public class NetworkConversionService {
                 throw NetworkConversionException.createVariantIdUnknown(variantId);
             }
         }
-        String fileOrNetworkName = fileName != null ? fileName : getNetworkName(network, variantId);
-        long networkSize = network.getBusView().getBusStream().count();
-        return getExportNetworkInfos(network, format, fileOrNetworkName, exportProperties, networkSize);
+    }
+
+    /**
+     * The export of a format and variant of a multi-format export, or its error
+     */
+    record FormatExport(String format, String variantId, ExportNetworkInfos exportNetworkInfos, Exception error) {
+    }
+
+    /**
+     * Export variants of a network to several formats, the network being loaded only once and its working variant
+     * switched for each variant.
+     * The exports run one after the other, as the exporters may modify the network (e.g. extensions added by CGMES)
+     * @param variantIds the variants to export, a null variant being the initial variant
+     * @param exportHandler called with each export as soon as it is done, in the order of the variants then of the
+     *                      formats, the failure of an export not failing the others
+     */
+    public void exportNetworkToFormats(UUID networkUuid, List<String> variantIds, String fileName, List<ExportFormatInfos> exportFormats, String tenant,
+                                       NetworkExportFilter exportFilter, Consumer<FormatExport> exportHandler) {
+        try {
+            networkConversionObserver.observeExportTotal(MULTI_FORMAT, () ->
+                importExportExecutionService.supplyAsync(tenant, NetworkConversionObserver.JOB_TYPE_EXPORT, MULTI_FORMAT, () ->
+                    ConversionEvents.inJob(null, networkUuid, () -> {
+                        exportNetworkToFormatsExec(networkUuid, variantIds, fileName, exportFormats, exportFilter, exportHandler);
+                        return null;
+                    }))
+                    .join());
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof NetworkConversionException exception) {
+                throw exception;
+            }
+            throw NetworkConversionException.createFailedCaseExport(e);
+        }
+    }
+
+    private void exportNetworkToFormatsExec(UUID networkUuid, List<String> variantIds, String fileName, List<ExportFormatInfos> exportFormats,
+                                            NetworkExportFilter exportFilter, Consumer<FormatExport> exportHandler) {
+        Network network = getNetwork(networkUuid);
+        boolean multiVariant = variantIds.size() > 1;
+        for (String variantId : variantIds) {
+            try {
+                setWorkingVariant(network, variantId);
+                reduceNetwork(network, exportFilter, MULTI_FORMAT);
+            } catch (NetworkConversionException e) {
+                // an unknown variant or an empty area fails a single variant export, and only the variant exports otherwise
+                if (!multiVariant) {
+                    throw e;
+                }
+                LOGGER.error(String.format("Export of network %s in variant %s failed:", networkUuid, variantId), e);
+                exportFormats.forEach(exportFormat -> exportHandler.accept(new FormatExport(exportFormat.getFormat(), variantId, null, e)));
+                continue;
+            }
+            String fileOrNetworkName = fileName == null ? getNetworkName(network, variantId)
+                : multiVariant ? fileName + "_" + variantId : fileName;
+            long networkSize = network.getBusView().getBusStream().count();
+            for (ExportFormatInfos exportFormat : exportFormats) {
+                String format = exportFormat.getFormat();
+                FormatExport formatExport;
+                try {
+                    Properties exportProperties = initializePropertiesAndCheckFormat(format, exportFormat.getFormatParameters());
+                    ArchiveOptions archiveOptions = ArchiveOptions.fromFormatParameters(exportFormat.getFormatParameters());
+                    formatExport = new FormatExport(format, variantId, networkConversionObserver.observeExportProcessing(format,
+                        () -> getExportNetworkInfos(network, format, fileOrNetworkName, exportProperties, archiveOptions, networkSize)), null);
+                } catch (Exception e) {
+                    LOGGER.error(String.format("Export of network %s in format %s failed:", networkUuid, format), e);
+                    formatExport = new FormatExport(format, variantId, null, e);
+                }
+                exportHandler.accept(formatExport);
+            }
+        }
     }
 
     public ExportNetworkInfos exportNetwork(UUID networkUuid, String variantId, String fileName,
         String format, Map<String, Object> formatParameters) {
+        return exportNetwork(networkUuid, variantId, fileName, format, formatParameters, null, null);
+    }
+
+    /**
+     * @param exportFilter the area of a partial export, null to export the whole network
+     */
+    public ExportNetworkInfos exportNetwork(UUID networkUuid, String variantId, String fileName,
+        String format, Map<String, Object> formatParameters, String tenant, NetworkExportFilter exportFilter) {
         try {
             return networkConversionObserver.observeExportTotal(format, () ->
-                    importExportExecutionService.supplyAsync(() ->
-                        networkConversionObserver.observeExportProcessing(
+                    importExportExecutionService.supplyAsync(tenant, NetworkConversionObserver.JOB_TYPE_EXPORT, format, () ->
+                        ConversionEvents.inJob(null, networkUuid, () -> networkConversionObserver.observeExportProcessing(
                             format,
-                            () -> exportNetworkExec(networkUuid, variantId, fileName, format, formatParameters)))
+                            () -> exportNetworkExec(networkUuid, variantId, fileName, format, formatParameters, exportFilter))))
                         .join()
             );
         } catch (CompletionException e) {
@@ -533,11 +1066,142 @@ public class NetworkConversionService {
         }
     }
 
+    /**
+     * Export a network in a zip archive streamed to the output as the exporter writes its files, without temporary
+     * files nor upload to S3. The export runs on an interactive slot of the import/export executor, and only networks
+     * with at most export-streaming.max-buses buses, before any reduction, can be streamed, the larger ones having to be
+     * exported asynchronously.
+     * @param output the output of the archive, opened once the network is loaded and checked, and closed only once the
+     *               archive is complete: an export failing after it is opened leaves it unfinished
+     */
+    public void exportNetworkToStream(UUID networkUuid, String variantId, String fileName, String format, Map<String, Object> formatParameters,
+                                      NetworkExportFilter exportFilter, ExportOutput output) {
+        try {
+            networkConversionObserver.observeExportTotal(format, () ->
+                    importExportExecutionService.supplyInteractiveAsync(NetworkConversionObserver.JOB_TYPE_EXPORT, format, () ->
+                        ConversionEvents.inJob(null, networkUuid, () -> networkConversionObserver.observeExportProcessing(
+                            format,
+                            () -> exportNetworkToStreamExec(networkUuid, variantId, fileName, format, formatParameters, exportFilter, output))))
+                        .join()
+            );
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof NetworkConversionException || e.getCause() instanceof ResponseStatusException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw NetworkConversionException.createFailedCaseExport(e);
+        }
+    }
+
+    private ExportNetworkInfos exportNetworkToStreamExec(UUID networkUuid, String variantId, String fileName, String format, Map<String, Object> formatParameters,
+                                                         NetworkExportFilter exportFilter, ExportOutput output) {
+        Properties exportProperties = initializePropertiesAndCheckFormat(format, formatParameters);
+        ArchiveOptions archiveOptions = ArchiveOptions.fromFormatParameters(formatParameters);
+        if (archiveOptions.codec() != ArchiveCodec.ZIP) {
+            throw NetworkConversionException.createInvalidArchiveOptions("Streamed exports are " + ArchiveCodec.ZIP + " archives");
+        }
+        Network network = getNetwork(networkUuid);
+        setWorkingVariant(network, variantId);
+        // checked before the reduction and the export, the bus view being the one loaded for the export anyway
+        long networkSize = network.getBusView().getBusStream().count();
+        if (networkSize > streamingExportMaxBuses) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, String.format("Network '%s' has %d buses, more than the %d buses of a streamed export: export it asynchronously",
+                networkUuid, networkSize, streamingExportMaxBuses));
+        }
+        if (exportFilter != null && !exportFilter.isEmpty()) {
+            reduceNetwork(network, exportFilter, format);
+            networkSize = network.getBusView().getBusStream().count();
+        }
+        String finalFileOrNetworkName = (fileName != null ? fileName : getNetworkName(network, variantId)).replace('/', '_');
+        String zipName = (format.contains("IIDM") ? finalFileOrNetworkName + "." + format.toLowerCase() : finalFileOrNetworkName) + ArchiveCodec.ZIP.getExtension();
+        try {
+            // not closed on a failure: the response is left unfinished for the failure to abort it, a finished response
+            // being taken by the client as a complete archive
+            OutputStream os = output.open(zipName);
+            StreamingZipDataSource dataSource = new StreamingZipDataSource(os, finalFileOrNetworkName, archiveOptions.level());
+            // the archive is compressed while it is written
+            networkConversionObserver.observePhase(NetworkConversionObserver.PHASE_WRITE, format, () -> {
+                network.write(format, exportProperties, dataSource);
+                if (dataSource.listNames(".*").isEmpty()) {
+                    throw new IOException("No files were created during export");
+                }
+                dataSource.finish();
+                ConversionEvents.setBytes(dataSource::getArchiveSize);
+            });
+            os.close();
+        } catch (IOException e) {
+            throw NetworkConversionException.failedToStreamNetworkToFile(e);
+        }
+        return new ExportNetworkInfos(zipName, null, networkSize);
+    }
+
+    /**
+     * Export the equipments created, modified and removed in a variant compared to a reference variant, as a json
+     * change set much smaller than the exports of both variants
+     */
+    public ExportNetworkInfos exportNetworkDelta(UUID networkUuid, String referenceVariantId, String variantId, String fileName, String tenant) {
+        try {
+            return networkConversionObserver.observeExportTotal(DELTA_FORMAT, () ->
+                    importExportExecutionService.supplyAsync(tenant, NetworkConversionObserver.JOB_TYPE_EXPORT, DELTA_FORMAT, () ->
+                        ConversionEvents.inJob(null, networkUuid, () -> networkConversionObserver.observeExportProcessing(
+                            DELTA_FORMAT,
+                            () -> exportNetworkDeltaExec(networkUuid, referenceVariantId, variantId, fileName))))
+                        .join()
+            );
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof NetworkConversionException exception) {
+                throw exception;
+            }
+            throw NetworkConversionException.createFailedCaseExport(e);
+        }
+    }
+
+    private ExportNetworkInfos exportNetworkDeltaExec(UUID networkUuid, String referenceVariantId, String variantId, String fileName) {
+        Network referenceNetwork = getNetwork(networkUuid);
+        setWorkingVariant(referenceNetwork, referenceVariantId);
+
+        // get a new network (and associated cache) to avoid loading both variants in the same cache
+        Network network = getNetwork(networkUuid);
+        setWorkingVariant(network, variantId);
+        NetworkVariantDelta delta = NetworkVariantDiff.diff(networkUuid, referenceVariantId, referenceNetwork, variantId, network, TYPES_FOR_DELTA, objectMapper);
+
+        String fileOrNetworkName = (fileName != null ? fileName : getNetworkName(network, variantId)).replace('/', '_');
+        long networkSize = network.getBusView().getBusStream().count();
+        Path tempDir = null;
+        try {
+            tempDir = Files.createTempDirectory(fileSystem.getPath(TMP_DIR), "export_", PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rwx------")));
+            Path deltaFile = tempDir.resolve(fileOrNetworkName + ".delta.json");
+            networkConversionObserver.observePhase(NetworkConversionObserver.PHASE_WRITE, DELTA_FORMAT, () -> {
+                try (OutputStream os = Files.newOutputStream(deltaFile)) {
+                    objectMapper.writeValue(os, delta);
+                }
+                ConversionEvents.setBytes(() -> getFileSize(deltaFile));
+                ConversionEvents.setEquipments(() -> delta.getCreated().size() + delta.getModified().size() + delta.getRemoved().size());
+            });
+            Path zipDir = tempDir;
+            Path filePath = networkConversionObserver.observePhase(NetworkConversionObserver.PHASE_ZIP, DELTA_FORMAT, () -> {
+                Path zipFile = archiveWriter.write(zipDir, fileOrNetworkName, Map.of(deltaFile.getFileName().toString(), deltaFile), ArchiveOptions.DEFAULT);
+                ConversionEvents.setBytes(() -> getFileSize(zipFile));
+                return zipFile;
+            });
+            return new ExportNetworkInfos(filePath.getFileName().toString(), filePath, networkSize);
+        } catch (Exception e) {
+            if (tempDir != null) {
+                cleanUpTempDir(tempDir);
+            }
+            throw NetworkConversionException.failedToStreamNetworkToFile(e);
+        }
+    }
+
     public ExportNetworkInfos exportCase(UUID caseUuid, String format, String fileName, Map<String, Object> formatParameters) {
+        return exportCase(caseUuid, format, fileName, formatParameters, null);
+    }
+
+    public ExportNetworkInfos exportCase(UUID caseUuid, String format, String fileName, Map<String, Object> formatParameters, String userId) {
         try {
             return networkConversionObserver.observeExportTotal(format, () ->
-                importExportExecutionService.supplyAsync(() ->
-                    networkConversionObserver.observeExportProcessing(format, () -> exportCaseExec(caseUuid, format, fileName, formatParameters)))
+                importExportExecutionService.supplyAsync(userId, NetworkConversionObserver.JOB_TYPE_CONVERT, format, () ->
+                    ConversionEvents.inJob(caseUuid, null, () ->
+                        networkConversionObserver.observeExportProcessing(format, () -> exportCaseExec(caseUuid, format, fileName, formatParameters))))
                     .join());
         } catch (CompletionException e) {
             if (e.getCause() instanceof NetworkConversionException exception) {
@@ -549,20 +1213,22 @@ public class NetworkConversionService {
 
     public ExportNetworkInfos exportCaseExec(UUID caseUuid, String format, String fileName, Map<String, Object> formatParameters) {
         Properties exportProperties = initializePropertiesAndCheckFormat(format, formatParameters);
-        CaseDataSourceClient dataSource = new CaseDataSourceClient(caseServerRest, caseUuid);
+        ArchiveOptions archiveOptions = ArchiveOptions.fromFormatParameters(formatParameters);
+        CaseInfos caseInfos = getCaseInfos(caseUuid);
+        ReadOnlyDataSource dataSource = getCaseDataSource(caseUuid, caseInfos);
 
         // build import properties to import all available extensions
         // TODO : Check at next powsybl upgrade if this code is still required. To be removed if not useful anymore
         Properties importProperties = new Properties();
-        ImportExportFormatMeta caseImportParameters = getCaseImportParameters(caseUuid);
+        ImportExportFormatMeta caseImportParameters = getCaseImportParameters(caseInfos);
         Optional<ParamMeta> paramExtensions = caseImportParameters.getParameters().stream().filter(param -> param.getName().endsWith("extensions") && param.getType() == STRING_LIST).findFirst();
         paramExtensions.ifPresent(paramMeta -> importProperties.put(paramMeta.getName(), paramMeta.getPossibleValues()));
 
-        Network network = Network.read(dataSource, LocalComputationManager.getDefault(), ImportConfig.load(),
-                importProperties, NetworkFactory.find("NetworkStore"), new ImportersServiceLoader(), ReportNode.NO_OP);
+        Network network = CaseDownloadInterceptor.withCaseFormat(caseInfos.getFormat(), () -> Network.read(dataSource, LocalComputationManager.getDefault(), ImportConfig.load(),
+                importProperties, NetworkFactory.find("NetworkStore"), new ImportersServiceLoader(), ReportNode.NO_OP));
         String fileOrNetworkName = fileName != null ? fileName : DataSourceUtil.getBaseName(dataSource.getBaseName());
         long networkSize = network.getBusView().getBusStream().count();
-        return getExportNetworkInfos(network, format, fileOrNetworkName, exportProperties, networkSize);
+        return getExportNetworkInfos(network, format, fileOrNetworkName, exportProperties, archiveOptions, networkSize);
     }
 
     private String getNetworkName(Network network, String variantId) {
@@ -580,13 +1246,24 @@ public class NetworkConversionService {
                     .filter(pp -> pp.getScope().equals(ParameterScope.FUNCTIONAL))
                     .map(pp -> new ParamMeta(pp.getName(), pp.getType(), pp.getDescription(), pp.getDefaultValue(), pp.getPossibleValues()))
                     .collect(Collectors.toList());
+            paramsMeta.addAll(getArchiveParamsMeta());
             return Pair.of(formatId, new ImportExportFormatMeta(formatId, paramsMeta));
         }).collect(Collectors.toMap(Pair::getLeft, Pair::getRight));
         return ret;
     }
 
+    private static List<ParamMeta> getArchiveParamsMeta() {
+        return List.of(
+            new ParamMeta(ArchiveOptions.CODEC_PARAMETER, ParameterType.STRING, "Archive of the exported files", ArchiveCodec.ZIP.name(),
+                Arrays.stream(ArchiveCodec.values()).map(codec -> (Object) codec.name()).toList()),
+            new ParamMeta(ArchiveOptions.LEVEL_PARAMETER, ParameterType.INTEGER, "Compression level of the archive, the default one of the codec if not set", null, null));
+    }
+
     ImportExportFormatMeta getCaseImportParameters(UUID caseUuid) {
-        CaseInfos caseInfos = getCaseInfos(caseUuid);
+        return getCaseImportParameters(getCaseInfos(caseUuid));
+    }
+
+    private ImportExportFormatMeta getCaseImportParameters(CaseInfos caseInfos) {
         Importer importer = Importer.find(caseInfos.getFormat());
         List<ParamMeta> paramsMeta = importer.getParameters()
                 .stream()
@@ -613,53 +1290,79 @@ public class NetworkConversionService {
         if (CollectionUtils.isEmpty(boundaries)) {  // no boundaries given, standard import
             return importCase(caseUuid, null, UUID.randomUUID(), caseFormat, new HashMap<>());
         } else {  // import using the given boundaries
-            CaseDataSourceClient dataSource = new CgmesCaseDataSourceClient(caseServerRest, caseUuid, boundaries);
-            Network network = networkConversionObserver.observeImportTotal(caseFormat, () -> networkStoreService.importNetwork(dataSource));
-            UUID networkUuid = networkStoreService.getNetworkUuid(network);
-            return new NetworkInfos(networkUuid, network.getId());
+            return importCase(CGMES_WITH_BOUNDARIES_FORMAT, () -> supplyInteractiveImportAsync(caseFormat, CGMES_WITH_BOUNDARIES_FORMAT, () ->
+                ConversionEvents.inJob(caseUuid, null, () ->
+                    importCaseExec(new CgmesCaseDataSourceClient(caseServerRest, caseUuid, boundaries), null, null, CGMES_WITH_BOUNDARIES_FORMAT, Map.of()))));
         }
     }
 
-    private void storeNetworkInitialVariants(Network network, UUID networkUuid, String variantId) {
-        AtomicReference<Long> startTime = new AtomicReference<>(System.nanoTime());
-        try {
+    private void storeNetworkInitialVariants(Network network, UUID networkUuid, String variantId, String caseFormat) {
+        networkConversionObserver.observePhase(NetworkConversionObserver.PHASE_FLUSH, caseFormat, () -> {
             networkStoreService.flush(network);
             if (variantId != null) {
                 // cloning network initial variant into variantId
                 networkStoreService.cloneVariant(networkUuid, VariantManagerConstants.INITIAL_VARIANT_ID, variantId);
             }
-        } finally {
-            LOGGER.trace("Flush network '{}' in parallel : {} seconds", networkUuid, TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - startTime.get()));
-        }
+        });
     }
 
-    private void insertEquipmentIndexes(Network network, UUID networkUuid, String variantId) {
-        AtomicReference<Long> startTime = new AtomicReference<>(System.nanoTime());
-        try {
-            equipmentInfosService.addAll(new ArrayList<>(getEquipmentInfos(network, networkUuid, variantId).values()));
-        } finally {
-            LOGGER.trace("Indexation network '{}' in parallel : {} seconds", networkUuid, TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - startTime.get()));
-        }
+    private void insertEquipmentIndexes(Network network, UUID networkUuid, String variantId, String caseFormat) {
+        networkConversionObserver.observePhase(NetworkConversionObserver.PHASE_INDEX, caseFormat, () -> {
+            List<EquipmentInfos> equipmentInfos = new ArrayList<>(getEquipmentInfos(network, networkUuid, variantId).values());
+            ConversionEvents.setEquipments(equipmentInfos::size);
+            equipmentInfosService.addAll(equipmentInfos);
+        });
     }
 
-    private Map<String, EquipmentInfos> getEquipmentInfos(Network network, UUID networkUuid, String variantId) {
+    static Map<IdentifiableType, Long> getEquipmentCounts(Network network) {
+        return TYPES_FOR_SHAPE_METRICS.stream().collect(Collectors.toMap(type -> type, type -> type == IdentifiableType.BUS
+            ? network.getBusView().getBusStream().count()
+            : network.getIdentifiableStream(type).count()));
+    }
+
+    static Map<String, EquipmentInfos> getEquipmentInfos(Network network, UUID networkUuid, String variantId) {
         return TYPES_FOR_INDEXING.stream()
                 .flatMap(network::getIdentifiableStream)
                 .collect(Collectors.toMap(Identifiable::getId, equipment -> toEquipmentInfos(equipment, networkUuid, variantId)));
     }
 
-    private void sendReport(UUID networkUuid, ReportNode reportNode, UUID reportUuid) {
-        AtomicReference<Long> startTime = new AtomicReference<>(System.nanoTime());
-        var headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
+    private void sendReport(ReportNode reportNode, UUID reportUuid, String caseFormat) {
         var resourceUrl = DELIMITER + REPORT_API_VERSION + DELIMITER + "reports" + DELIMITER + reportUuid.toString();
         var uriBuilder = UriComponentsBuilder.fromPath(resourceUrl);
+        // the report is serialized directly into the request body, as reports of huge imports can reach hundreds of MB
+        networkConversionObserver.observePhase(NetworkConversionObserver.PHASE_REPORT, caseFormat, () ->
+            reportServerRest.execute(uriBuilder.toUriString(), HttpMethod.PUT, request -> writeReport(request, reportNode, objectMapper, reportCompression), null));
+    }
+
+    /**
+     * Write a report as the json body of a request. With a streaming request (e.g. of the pooled clients), the report
+     * is serialized to the connection as the request is sent, otherwise the request buffers it.
+     */
+    static void writeReport(ClientHttpRequest request, ReportNode reportNode, ObjectMapper objectMapper, boolean compression) throws IOException {
+        request.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        if (compression) {
+            request.getHeaders().set(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        if (request instanceof StreamingHttpOutputMessage streamingRequest) {
+            streamingRequest.setBody(body -> writeReportBody(body, reportNode, objectMapper, compression));
+        } else {
+            writeReportBody(request.getBody(), reportNode, objectMapper, compression);
+        }
+    }
+
+    private static void writeReportBody(OutputStream body, ReportNode reportNode, ObjectMapper objectMapper, boolean compression) throws IOException {
+        CountingOutputStream requestBody = new CountingOutputStream(StreamUtils.nonClosing(body));
         try {
-            reportServerRest.exchange(uriBuilder.toUriString(), HttpMethod.PUT, new HttpEntity<>(objectMapper.writeValueAsString(reportNode), headers), ReportNode.class);
+            if (compression) {
+                try (OutputStream compressedBody = new GZIPOutputStream(requestBody)) {
+                    objectMapper.writeValue(compressedBody, reportNode);
+                }
+            } else {
+                objectMapper.writeValue(requestBody, reportNode);
+            }
+            ConversionEvents.setBytes(requestBody::getCount);
         } catch (JsonProcessingException error) {
             throw new PowsyblException("error creating report", error);
-        } finally {
-            LOGGER.trace("Save reports for network '{}' in parallel : {} seconds", networkUuid, TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - startTime.get()));
         }
     }
 
@@ -673,70 +1376,91 @@ public class NetworkConversionService {
     }
 
     public void reindexAllEquipments(UUID networkUuid) {
-        AtomicReference<Long> startTime = new AtomicReference<>(System.nanoTime());
         try {
-            Network initialNetwork = getNetwork(networkUuid);
+            ConversionEvents.inJob(null, networkUuid, () ->
+                networkConversionObserver.observePhase(NetworkConversionObserver.PHASE_REINDEX, null, () -> reindexAllEquipmentsExec(networkUuid)));
+        } catch (Exception e) {
+            throw createFailedNetworkReindex(networkUuid, e);
+        }
+    }
 
-            // delete all network equipments infos. deleting a lot of documents in ElasticSearch is slow, we delete the index instead in maintenance script before reindexing
-            deleteAllEquipmentInfosByNetworkUuid(networkUuid);
+    private void reindexAllEquipmentsExec(UUID networkUuid) {
+        Network initialNetwork = getNetwork(networkUuid);
 
-            // save initial variant infos
-            Map<String, EquipmentInfos> initialVariantEquipmentInfos = getEquipmentInfos(initialNetwork, networkUuid, VariantManagerConstants.INITIAL_VARIANT_ID);
-            equipmentInfosService.addAll(new ArrayList<>(initialVariantEquipmentInfos.values()));
+        // delete all network equipments infos. deleting a lot of documents in ElasticSearch is slow, we delete the index instead in maintenance script before reindexing
+        deleteAllEquipmentInfosByNetworkUuid(networkUuid);
 
-            // get variant ids without the initial that is already processed and is the reference
-            List<String> variantIds = initialNetwork.getVariantManager()
-                    .getVariantIds()
-                    .stream()
-                    .filter(variantId -> !variantId.equals(VariantManagerConstants.INITIAL_VARIANT_ID))
-                    .toList();
-
-            for (String variantId : variantIds) {
-                // switch to working variant and change initial variant infos variantId for comparisons
-                // get a new network (and associated cache) to avoid loading all variants in the same cache
-                Network currentNetwork = getNetwork(networkUuid);
-                currentNetwork.getVariantManager().setWorkingVariant(variantId);
-                initialVariantEquipmentInfos.values().forEach(equipmentInfos ->
-                        equipmentInfos.setVariantId(variantId));
-
-                // get current variant infos
-                Map<String, EquipmentInfos> currentVariantEquipmentInfos = getEquipmentInfos(currentNetwork, networkUuid, variantId);
-
-                List<EquipmentInfos> createdEquipmentInfos = currentVariantEquipmentInfos.entrySet().stream()
-                        .filter(entry -> !initialVariantEquipmentInfos.containsKey(entry.getKey()))
-                        .map(Map.Entry::getValue)
-                        .toList();
-
-                // check if there are changes between current and initial variants infos
-                List<EquipmentInfos> modifiedEquipmentInfos = currentVariantEquipmentInfos.entrySet().stream()
-                        .filter(entry -> {
-                            EquipmentInfos initialEquipmentInfo = initialVariantEquipmentInfos.get(entry.getKey());
-                            return initialEquipmentInfo != null && !Objects.equals(initialEquipmentInfo, entry.getValue());
-                        })
-                        .map(Map.Entry::getValue)
-                        .toList();
-
-                List<TombstonedEquipmentInfos> tombstonedEquipmentInfos = initialVariantEquipmentInfos.keySet().stream()
-                        .filter(equipmentInfos -> !currentVariantEquipmentInfos.containsKey(equipmentInfos))
-                        .map(equipmentInfos -> TombstonedEquipmentInfos.builder()
-                                .networkUuid(networkUuid)
-                                .variantId(variantId)
-                                .id(equipmentInfos)
-                                .build())
-                        .collect(Collectors.toList());
-
-                // save all to ElasticSearch
-                equipmentInfosService.addAll(createdEquipmentInfos);
-                equipmentInfosService.addAll(modifiedEquipmentInfos);
-                equipmentInfosService.addAllTombstonedEquipmentInfos(tombstonedEquipmentInfos);
-            }
-        } catch (Exception e) {
-            throw createFailedNetworkReindex(networkUuid, e);
-        } finally {
-            LOGGER.trace("Indexation network '{}' in parallel : {} seconds", networkUuid, TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - startTime.get()));
+        // save initial variant infos
+        Map<String, EquipmentInfos> initialVariantEquipmentInfos = getEquipmentInfos(initialNetwork, networkUuid, VariantManagerConstants.INITIAL_VARIANT_ID);
+        equipmentInfosService.addAll(new ArrayList<>(initialVariantEquipmentInfos.values()));
+
+        // get variant ids without the initial that is already processed and is the reference
+        List<String> variantIds = initialNetwork.getVariantManager()
+                .getVariantIds()
+                .stream()
+                .filter(variantId -> !variantId.equals(VariantManagerConstants.INITIAL_VARIANT_ID))
+                .toList();
+
+        for (String variantId : variantIds) {
+            // switch to working variant and change initial variant infos variantId for comparisons
+            // get a new network (and associated cache) to avoid loading all variants in the same cache
+            Network currentNetwork = getNetwork(networkUuid);
+            currentNetwork.getVariantManager().setWorkingVariant(variantId);
+            initialVariantEquipmentInfos.values().forEach(equipmentInfos ->
+                    equipmentInfos.setVariantId(variantId));
+
+            // get current variant infos
+            Map<String, EquipmentInfos> currentVariantEquipmentInfos = getEquipmentInfos(currentNetwork, networkUuid, variantId);
+            EquipmentInfosVariantDiff diff = diffEquipmentInfos(initialVariantEquipmentInfos, currentVariantEquipmentInfos, networkUuid, variantId);
+
+            // save all to ElasticSearch
+            equipmentInfosService.addAll(diff.getCreatedEquipmentInfos());
+            equipmentInfosService.addAll(diff.getModifiedEquipmentInfos());
+            equipmentInfosService.addAllTombstonedEquipmentInfos(diff.getTombstonedEquipmentInfos());
         }
     }
 
+    @AllArgsConstructor
+    @Getter
+    static class EquipmentInfosVariantDiff {
+        private final List<EquipmentInfos> createdEquipmentInfos;
+        private final List<EquipmentInfos> modifiedEquipmentInfos;
+        private final List<TombstonedEquipmentInfos> tombstonedEquipmentInfos;
+    }
+
+    /**
+     * Compute the equipment infos of a variant to index, the equipment infos of the initial variant being already indexed
+     * @param initialVariantEquipmentInfos the initial variant equipment infos, whose variant id has been set to the variant id
+     */
+    static EquipmentInfosVariantDiff diffEquipmentInfos(Map<String, EquipmentInfos> initialVariantEquipmentInfos,
+                                                        Map<String, EquipmentInfos> currentVariantEquipmentInfos,
+                                                        UUID networkUuid, String variantId) {
+        List<EquipmentInfos> createdEquipmentInfos = currentVariantEquipmentInfos.entrySet().stream()
+                .filter(entry -> !initialVariantEquipmentInfos.containsKey(entry.getKey()))
+                .map(Map.Entry::getValue)
+                .toList();
+
+        // check if there are changes between current and initial variants infos
+        List<EquipmentInfos> modifiedEquipmentInfos = currentVariantEquipmentInfos.entrySet().stream()
+                .filter(entry -> {
+                    EquipmentInfos initialEquipmentInfo = initialVariantEquipmentInfos.get(entry.getKey());
+                    return initialEquipmentInfo != null && !Objects.equals(initialEquipmentInfo, entry.getValue());
+                })
+                .map(Map.Entry::getValue)
+                .toList();
+
+        List<TombstonedEquipmentInfos> tombstonedEquipmentInfos = initialVariantEquipmentInfos.keySet().stream()
+                .filter(equipmentInfos -> !currentVariantEquipmentInfos.containsKey(equipmentInfos))
+                .map(equipmentInfos -> TombstonedEquipmentInfos.builder()
+                        .networkUuid(networkUuid)
+                        .variantId(variantId)
+                        .id(equipmentInfos)
+                        .build())
+                .collect(Collectors.toList());
+
+        return new EquipmentInfosVariantDiff(createdEquipmentInfos, modifiedEquipmentInfos, tombstonedEquipmentInfos);
+    }
+
     public void deleteAllEquipmentInfosByNetworkUuid(UUID networkUuid) {
         equipmentInfosService.deleteAllByNetworkUuid(networkUuid);
     }
@@ -764,20 +1488,31 @@ public class NetworkConversionService {
         Properties exportProperties = null;
         if (formatParameters != null) {
             exportProperties = new Properties();
-            exportProperties.putAll(formatParameters);
+            // the archive parameters are not exporter parameters
+            for (Map.Entry<String, Object> formatParameter : formatParameters.entrySet()) {
+                if (!ArchiveOptions.isArchiveParameter(formatParameter.getKey())) {
+                    exportProperties.put(formatParameter.getKey(), formatParameter.getValue());
+                }
+            }
         }
         return exportProperties;
     }
 
     private ExportNetworkInfos getExportNetworkInfos(Network network, String format,
                                                      String fileOrNetworkName, Properties exportProperties,
-                                                     long networkSize) {
+                                                     ArchiveOptions archiveOptions, long networkSize) {
+        if (networkSize <= inMemoryExportMaxBuses) {
+            return getInMemoryExportNetworkInfos(network, format, fileOrNetworkName, exportProperties, archiveOptions, networkSize);
+        }
         Path tempDir = null;
         try {
             tempDir = Files.createTempDirectory(fileSystem.getPath(TMP_DIR), "export_", PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rwx------")));
             String finalFileOrNetworkName = fileOrNetworkName.replace('/', '_');
             DirectoryDataSource dataSource = new DirectoryDataSource(tempDir, finalFileOrNetworkName);
-            network.write(format, exportProperties, dataSource);
+            networkConversionObserver.observePhase(NetworkConversionObserver.PHASE_WRITE, format, () -> {
+                network.write(format, exportProperties, dataSource);
+                ConversionEvents.setBytes(() -> getDirectorySize(dataSource.getDirectory()));
+            });
 
             Set<String> fileNames = dataSource.listNames(".*");
             if (fileNames.isEmpty()) {
@@ -787,9 +1522,15 @@ public class NetworkConversionService {
              to solve the issue of filenames containing "." see the link below on how powsybl works
              https://powsybl.readthedocs.io/projects/powsybl-core/en/stable/grid_exchange_formats/going_further/datasources.html#archive-datasource */
             boolean isFormatIIDM = format.contains("IIDM");
-            Path filePath = createZipFile(tempDir,
-                isFormatIIDM ? finalFileOrNetworkName + "." + format.toLowerCase() : finalFileOrNetworkName,
-                fileNames);
+            Path zipDir = tempDir;
+            String zipName = isFormatIIDM ? finalFileOrNetworkName + "." + format.toLowerCase() : finalFileOrNetworkName;
+            Map<String, Path> zipEntries = new LinkedHashMap<>();
+            fileNames.forEach(name -> zipEntries.put(name, zipDir.resolve(name)));
+            Path filePath = networkConversionObserver.observePhase(NetworkConversionObserver.PHASE_ZIP, format, () -> {
+                Path zipFile = archiveWriter.write(zipDir, zipName, zipEntries, archiveOptions);
+                ConversionEvents.setBytes(() -> getFileSize(zipFile));
+                return zipFile;
+            });
             return new ExportNetworkInfos(filePath.getFileName().toString(), filePath, networkSize);
         } catch (Exception e) {
             if (tempDir != null) {
@@ -799,19 +1540,70 @@ public class NetworkConversionService {
         }
     }
 
-    private Path createZipFile(Path tempDir, String fileOrNetworkName, Set<String> fileNames) throws IOException {
-        Path zipFile = tempDir.resolve(fileOrNetworkName + ".zip");
-        try (ZipOutputStream zos = new ZipOutputStream(Files.newOutputStream(zipFile))) {
-            for (String fileName : fileNames) {
-                Path sourceFile = tempDir.resolve(fileName);
-                zos.putNextEntry(new ZipEntry(fileName));
-                try (InputStream is = Files.newInputStream(sourceFile)) {
-                    is.transferTo(zos);
-                }
-                zos.closeEntry();
+    /**
+     * Export a small network in memory, to avoid the creation of a temporary directory
+     */
+    private ExportNetworkInfos getInMemoryExportNetworkInfos(Network network, String format,
+                                                             String fileOrNetworkName, Properties exportProperties,
+                                                             ArchiveOptions archiveOptions, long networkSize) {
+        try {
+            String finalFileOrNetworkName = fileOrNetworkName.replace('/', '_');
+            // the data source has the base name of the export, so that its files are named as in the temporary directory
+            MemDataSource dataSource = new MemDataSource(finalFileOrNetworkName, null);
+            networkConversionObserver.observePhase(NetworkConversionObserver.PHASE_WRITE, format, () -> {
+                network.write(format, exportProperties, dataSource);
+                ConversionEvents.setBytes(() -> getMemDataSourceSize(dataSource));
+            });
+
+            Set<String> fileNames = dataSource.listNames(".*");
+            if (fileNames.isEmpty()) {
+                throw new IOException("No files were created during export");
             }
+            boolean isFormatIIDM = format.contains("IIDM");
+            String zipName = isFormatIIDM ? finalFileOrNetworkName + "." + format.toLowerCase() : finalFileOrNetworkName;
+            List<ArchiveEntry> zipEntries = new ArrayList<>();
+            for (String name : fileNames) {
+                zipEntries.add(ArchiveEntry.ofContent(name, dataSource.getData(name)));
+            }
+            InMemoryArchive archive = networkConversionObserver.observePhase(NetworkConversionObserver.PHASE_ZIP, format, () -> {
+                InMemoryArchive inMemoryArchive = archiveWriter.write(zipName, zipEntries, archiveOptions);
+                ConversionEvents.setBytes(() -> inMemoryArchive.content().length);
+                return inMemoryArchive;
+            });
+            return new ExportNetworkInfos(archive.fileName(), null, networkSize, archive.content());
+        } catch (Exception e) {
+            throw NetworkConversionException.failedToStreamNetworkToFile(e);
+        }
+    }
+
+    // only used for the flight recorder events, an unreadable size is reported as 0
+    private static long getMemDataSourceSize(MemDataSource dataSource) {
+        try {
+            long size = 0;
+            for (String name : dataSource.listNames(".*")) {
+                size += dataSource.getData(name).length;
+            }
+            return size;
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    // only used for the flight recorder events, an unreadable size is reported as 0
+    private static long getFileSize(Path filePath) {
+        try {
+            return Files.size(filePath);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static long getDirectorySize(Path directory) {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.mapToLong(NetworkConversionService::getFileSize).sum();
+        } catch (IOException e) {
+            return 0;
         }
-        return zipFile;
     }
 
     private void cleanUpTempDir(Path tempDirPath) {
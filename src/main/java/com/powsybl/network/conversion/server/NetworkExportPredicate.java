@@ -0,0 +1,63 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.network.conversion.server;
+
+import com.powsybl.iidm.network.Substation;
+import com.powsybl.iidm.network.VoltageLevel;
+import com.powsybl.iidm.reducer.NetworkPredicate;
+import com.powsybl.network.conversion.server.dto.NetworkExportFilter;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Selects the voltage levels of a partial export, a substation being kept when one of its voltage levels is.
+ */
+class NetworkExportPredicate implements NetworkPredicate {
+
+    private final NetworkExportFilter filter;
+
+    // the ids are looked up for each voltage level of the network
+    private final Set<String> voltageLevelIds;
+
+    private final Set<String> substationIds;
+
+    NetworkExportPredicate(NetworkExportFilter filter) {
+        this.filter = Objects.requireNonNull(filter);
+        voltageLevelIds = toSet(filter.getVoltageLevelIds());
+        substationIds = toSet(filter.getSubstationIds());
+    }
+
+    private static Set<String> toSet(Collection<String> ids) {
+        return ids != null ? new HashSet<>(ids) : Set.of();
+    }
+
+    @Override
+    public boolean test(Substation substation) {
+        return substation.getVoltageLevelStream().anyMatch(this::test);
+    }
+
+    @Override
+    public boolean test(VoltageLevel voltageLevel) {
+        return isSelected(voltageLevel) && isInNominalVoltageRange(voltageLevel.getNominalV());
+    }
+
+    private boolean isSelected(VoltageLevel voltageLevel) {
+        if (!filter.hasIds()) {
+            return true;
+        }
+        return voltageLevelIds.contains(voltageLevel.getId())
+            || !substationIds.isEmpty() && voltageLevel.getSubstation().map(substation -> substationIds.contains(substation.getId())).orElse(false);
+    }
+
+    private boolean isInNominalVoltageRange(double nominalVoltage) {
+        return (filter.getMinNominalVoltage() == null || nominalVoltage >= filter.getMinNominalVoltage())
+            && (filter.getMaxNominalVoltage() == null || nominalVoltage <= filter.getMaxNominalVoltage());
+    }
+}
@@ -0,0 +1,122 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.network.conversion.server;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.powsybl.iidm.network.Identifiable;
+import com.powsybl.iidm.network.IdentifiableType;
+import com.powsybl.iidm.network.Network;
+import com.powsybl.network.conversion.server.dto.EquipmentDelta;
+import com.powsybl.network.conversion.server.dto.NetworkVariantDelta;
+import com.powsybl.network.store.iidm.impl.AbstractIdentifiableImpl;
+
+import java.util.*;
+
+/**
+ * Compares the equipments of two variants of a network, on the attributes stored in the network store, like
+ * {@link NetworkConversionService#diffEquipmentInfos} does on the indexed equipment infos.
+ * The equipments are compared one by one in the order of their ids, only the deltas being kept. The identifiables
+ * not coming from the network store have no attributes, so that they are never found modified.
+ */
+final class NetworkVariantDiff {
+
+    // topology computations cached in the voltage levels, not attributes of the network
+    private static final Set<String> IGNORED_ATTRIBUTES = Set.of(
+            "calculatedBusesValid",
+            "calculatedBusesForBusView",
+            "calculatedBusesForBusBreakerView",
+            "nodeToCalculatedBusForBusView",
+            "nodeToCalculatedBusForBusBreakerView",
+            "busToCalculatedBusForBusView",
+            "busToCalculatedBusForBusBreakerView");
+
+    private NetworkVariantDiff() {
+    }
+
+    /**
+     * @param referenceNetwork the network with the reference variant as working variant
+     * @param network the network with the compared variant as working variant
+     */
+    static NetworkVariantDelta diff(UUID networkUuid, String referenceVariantId, Network referenceNetwork, String variantId, Network network,
+                                    Set<IdentifiableType> types, ObjectMapper objectMapper) {
+        List<EquipmentDelta> created = new ArrayList<>();
+        List<EquipmentDelta> modified = new ArrayList<>();
+        List<EquipmentDelta> removed = new ArrayList<>();
+        Iterator<Identifiable<?>> referenceEquipments = getSortedEquipments(referenceNetwork, types);
+        Iterator<Identifiable<?>> equipments = getSortedEquipments(network, types);
+        Identifiable<?> referenceEquipment = next(referenceEquipments);
+        Identifiable<?> equipment = next(equipments);
+        while (referenceEquipment != null || equipment != null) {
+            int order;
+            if (referenceEquipment == null) {
+                order = 1;
+            } else if (equipment == null) {
+                order = -1;
+            } else {
+                order = referenceEquipment.getId().compareTo(equipment.getId());
+            }
+            if (order < 0) {
+                removed.add(new EquipmentDelta(referenceEquipment.getId(), referenceEquipment.getType(), null));
+                referenceEquipment = next(referenceEquipments);
+            } else if (order > 0) {
+                created.add(new EquipmentDelta(equipment.getId(), equipment.getType(), getAttributes(equipment, objectMapper)));
+                equipment = next(equipments);
+            } else {
+                ObjectNode changedAttributes = diffAttributes(getAttributes(referenceEquipment, objectMapper), getAttributes(equipment, objectMapper));
+                if (!changedAttributes.isEmpty()) {
+                    modified.add(new EquipmentDelta(equipment.getId(), equipment.getType(), changedAttributes));
+                }
+                referenceEquipment = next(referenceEquipments);
+                equipment = next(equipments);
+            }
+        }
+        return new NetworkVariantDelta(networkUuid, referenceVariantId, variantId, created, modified, removed);
+    }
+
+    private static Iterator<Identifiable<?>> getSortedEquipments(Network network, Set<IdentifiableType> types) {
+        List<Identifiable<?>> equipments = new ArrayList<>();
+        types.forEach(type -> network.getIdentifiableStream(type).forEach(equipments::add));
+        equipments.sort(Comparator.comparing(Identifiable::getId));
+        return equipments.iterator();
+    }
+
+    private static Identifiable<?> next(Iterator<Identifiable<?>> equipments) {
+        return equipments.hasNext() ? equipments.next() : null;
+    }
+
+    /**
+     * @return the attributes of an equipment stored in the network store, empty for the other identifiables
+     */
+    private static ObjectNode getAttributes(Identifiable<?> equipment, ObjectMapper objectMapper) {
+        if (!(equipment instanceof AbstractIdentifiableImpl<?, ?> storedEquipment)) {
+            return objectMapper.createObjectNode();
+        }
+        ObjectNode attributes = objectMapper.valueToTree(storedEquipment.getResource().getAttributes());
+        attributes.remove(IGNORED_ATTRIBUTES);
+        return attributes;
+    }
+
+    /**
+     * @return the attributes whose value changed, with their new value (null for the removed attributes)
+     */
+    private static ObjectNode diffAttributes(ObjectNode referenceAttributes, ObjectNode attributes) {
+        ObjectNode changedAttributes = attributes.objectNode();
+        attributes.properties().forEach(attribute -> {
+            if (!Objects.equals(referenceAttributes.get(attribute.getKey()), attribute.getValue())) {
+                changedAttributes.set(attribute.getKey(), attribute.getValue());
+            }
+        });
+        referenceAttributes.fieldNames().forEachRemaining(name -> {
+            if (!attributes.has(name)) {
+                changedAttributes.set(name, NullNode.getInstance());
+            }
+        });
+        return changedAttributes;
+    }
+}
@@ -15,13 +15,16 @@ import com.powsybl.network.conversion.server.dto.NetworkInfos;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.stream.function.StreamBridge;
 import org.springframework.integration.support.MessageBuilder;
 import org.springframework.messaging.Message;
 import org.springframework.stereotype.Service;
 
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 @Service
 public class NotificationService {
@@ -44,16 +47,40 @@ public class NotificationService {
     public static final String HEADER_EXPORT_UUID = "exportUuid";
     public static final String HEADER_ERROR = "error";
     public static final String HEADER_S3_KEY = "s3Key";
+    public static final String HEADER_DOWNLOAD_URL = "downloadUrl";
     public static final String HEADER_EXPORT_CONTENT_TYPE = "exportContentType";
+    // epoch milliseconds at which a start message was emitted, to measure its age when consumed
+    public static final String HEADER_EMISSION_TIME = "emissionTime";
+    // multi-format exports : json list of the formats to export, and of their results in the finished message
+    public static final String HEADER_EXPORT_FORMATS = "exportFormats";
+    public static final String HEADER_EXPORT_RESULTS = "exportResults";
+    public static final String HEADER_VARIANT_IDS = "variantIds";
+    public static final String HEADER_COMBINED_ARCHIVE = "combinedArchive";
+    // partial exports : json of the exported area
+    public static final String HEADER_EXPORT_FILTER = "exportFilter";
+    // delta exports : the variant the exported variant is compared to
+    public static final String HEADER_REFERENCE_VARIANT_ID = "referenceVariantId";
+    // resources used by a job, the CPU time in milliseconds and the allocated heap in bytes
+    public static final String HEADER_CPU_TIME = "cpuTime";
+    public static final String HEADER_ALLOCATED_BYTES = "allocatedBytes";
 
     @Autowired
     private StreamBridge networkConversionPublisher;
 
+    // imports of these formats are sent to the large imports queue, so that they don't delay the other imports
+    @Value("${large-import-formats:}")
+    private Set<String> largeImportFormats;
+
     private void sendCaseImportStartMessage(Message<UUID> message) {
         MESSAGE_OUTPUT_LOGGER.debug("Sending import start message : {}", message);
         networkConversionPublisher.send("publishCaseImportStart-out-0", message);
     }
 
+    private void sendLargeCaseImportStartMessage(Message<UUID> message) {
+        MESSAGE_OUTPUT_LOGGER.debug("Sending large import start message : {}", message);
+        networkConversionPublisher.send("publishLargeCaseImportStart-out-0", message);
+    }
+
     private void sendCaseImportSucceededMessage(Message<String> message) {
         MESSAGE_OUTPUT_LOGGER.debug("Sending import succeeded message : {}", message);
         networkConversionPublisher.send("publishCaseImportSucceeded-out-0", message);
@@ -79,17 +106,33 @@ public class NotificationService {
         networkConversionPublisher.send("publishCaseExportFinished-out-0", message);
     }
 
-    public void emitCaseImportStart(UUID caseUuid, String variantId, UUID reportUuid, String caseFormat, Map<String, Object> importParameters, String receiver) {
-        sendCaseImportStartMessage(MessageBuilder.withPayload(caseUuid)
+    /**
+     * @param userId the user requesting the import, the pending imports being dispatched fairly across users
+     */
+    public void emitCaseImportStart(UUID caseUuid, String variantId, UUID reportUuid, String caseFormat, Map<String, Object> importParameters, String receiver,
+                                    String userId) {
+        Message<UUID> message = MessageBuilder.withPayload(caseUuid)
                 .setHeader(HEADER_VARIANT_ID, variantId)
                 .setHeader(HEADER_REPORT_UUID, reportUuid != null ? reportUuid.toString() : null)
                 .setHeader(HEADER_IMPORT_PARAMETERS, importParameters)
                 .setHeader(HEADER_RECEIVER, receiver)
+                .setHeader(HEADER_USER_ID, userId)
                 .setHeader(HEADER_CASE_FORMAT, caseFormat)
-                .build());
+                .setHeader(HEADER_EMISSION_TIME, System.currentTimeMillis())
+                .build();
+        if (isLargeImport(caseFormat)) {
+            sendLargeCaseImportStartMessage(message);
+        } else {
+            sendCaseImportStartMessage(message);
+        }
     }
 
-    public void emitCaseImportSucceeded(NetworkInfos networkInfos, String caseNameStr, String caseFormatStr, String receiver, Map<String, Object> importParameters) {
+    boolean isLargeImport(String caseFormat) {
+        return caseFormat != null && largeImportFormats.contains(caseFormat);
+    }
+
+    public void emitCaseImportSucceeded(NetworkInfos networkInfos, String caseNameStr, String caseFormatStr, String receiver, Map<String, Object> importParameters,
+                                        JobResourceUsage jobResourceUsage) {
         sendCaseImportSucceededMessage(MessageBuilder.withPayload("")
                 .setHeader(HEADER_NETWORK_ID, networkInfos.getNetworkId())
                 .setHeader(HEADER_NETWORK_UUID, networkInfos.getNetworkUuid().toString())
@@ -97,37 +140,99 @@ public class NotificationService {
                 .setHeader(HEADER_CASE_NAME, caseNameStr)
                 .setHeader(HEADER_RECEIVER, receiver)
                 .setHeader(HEADER_IMPORT_PARAMETERS, importParameters)
+                .setHeader(HEADER_CPU_TIME, TimeUnit.NANOSECONDS.toMillis(jobResourceUsage.getCpuTimeNanos()))
+                .setHeader(HEADER_ALLOCATED_BYTES, jobResourceUsage.getAllocatedBytes())
                 .build());
     }
 
-    public void emitNetworkExportFinished(UUID exportUuid, String receiver, String exportInfos, String error, String s3Key, String exportContentType) {
+    /**
+     * Outcome of a network export, sent in the export finished notification
+     * @param error the error of the export, null if it succeeded
+     * @param s3Key the S3 key of the exported file, null if it failed or for a multi-format export
+     * @param downloadUrl the pre-signed URL to download the exported file directly from S3, null if not sent
+     * @param contentType the content type of the exported file (of the combined archive for combined exports)
+     * @param exportResults the json list of the results of a multi-format export, null for a single format export
+     */
+    public record NetworkExportOutcome(String error, String s3Key, String downloadUrl, String contentType, String exportResults) {
+
+        public static NetworkExportOutcome success(String s3Key, String downloadUrl, String contentType) {
+            return new NetworkExportOutcome(null, s3Key, downloadUrl, contentType, null);
+        }
+
+        public static NetworkExportOutcome failure(String error, String contentType) {
+            return new NetworkExportOutcome(error, null, null, contentType, null);
+        }
+
+        public static NetworkExportOutcome multiFormat(String error, String contentType, String exportResults) {
+            return new NetworkExportOutcome(error, null, null, contentType, exportResults);
+        }
+    }
+
+    public void emitNetworkExportFinished(UUID exportUuid, String receiver, String exportInfos, NetworkExportOutcome outcome, JobResourceUsage jobResourceUsage) {
         sendNetworkExportFinishedMessage(MessageBuilder.withPayload("")
                 .setHeader(HEADER_RECEIVER, receiver)
                 .setHeader(HEADER_EXPORT_INFOS, exportInfos)
-                .setHeader(HEADER_S3_KEY, s3Key)
+                .setHeader(HEADER_S3_KEY, outcome.s3Key())
+                .setHeader(HEADER_DOWNLOAD_URL, outcome.downloadUrl())
                 .setHeader(HEADER_EXPORT_UUID, exportUuid != null ? exportUuid.toString() : null)
-                .setHeader(HEADER_ERROR, error)
-                .setHeader(HEADER_EXPORT_CONTENT_TYPE, exportContentType)
+                .setHeader(HEADER_ERROR, outcome.error())
+                .setHeader(HEADER_EXPORT_CONTENT_TYPE, outcome.contentType())
+                .setHeader(HEADER_EXPORT_RESULTS, outcome.exportResults())
+                .setHeader(HEADER_CPU_TIME, TimeUnit.NANOSECONDS.toMillis(jobResourceUsage.getCpuTimeNanos()))
+                .setHeader(HEADER_ALLOCATED_BYTES, jobResourceUsage.getAllocatedBytes())
                 .build());
     }
 
-    public void emitCaseExportFinished(UUID exportUuid, String userId, String error) {
+    public void emitCaseExportFinished(UUID exportUuid, String userId, String error, JobResourceUsage jobResourceUsage) {
         sendCaseExportFinishedMessage(MessageBuilder.withPayload("")
                 .setHeader(HEADER_USER_ID, userId)
                 .setHeader(HEADER_EXPORT_UUID, exportUuid != null ? exportUuid.toString() : null)
                 .setHeader(HEADER_ERROR, error)
+                .setHeader(HEADER_CPU_TIME, TimeUnit.NANOSECONDS.toMillis(jobResourceUsage.getCpuTimeNanos()))
+                .setHeader(HEADER_ALLOCATED_BYTES, jobResourceUsage.getAllocatedBytes())
                 .build());
     }
 
     public void emitNetworkExportStart(UUID networkUuid, String variantId, ExportInfos exportInfos) {
+        emitNetworkExportStart(networkUuid, variantId, exportInfos, null, null, false, null);
+    }
+
+    /**
+     * @param exportFormats the json list of the formats of a multi-format export, null for a single format export
+     * @param variantIds the json list of the variants of a multi-variant export, null to export only the given variant
+     * @param combinedArchive true to gather all the exported files of a multi-format export in a single archive
+     * @param exportFilter the json of the area of a partial export, null to export the whole network
+     */
+    public void emitNetworkExportStart(UUID networkUuid, String variantId, ExportInfos exportInfos, String exportFormats, String variantIds, boolean combinedArchive,
+                                       String exportFilter) {
         sendNetworkExportStartMessage(MessageBuilder.withPayload(networkUuid)
                 .setHeader(HEADER_VARIANT_ID, variantId)
                 .setHeader(HEADER_FILE_NAME, exportInfos.getFilename())
                 .setHeader(HEADER_FORMAT, exportInfos.getFormat())
                 .setHeader(HEADER_RECEIVER, exportInfos.getReceiver())
+                .setHeader(HEADER_USER_ID, exportInfos.getUserId())
                 .setHeader(HEADER_EXPORT_INFOS, exportInfos.getExtraData())
                 .setHeader(HEADER_EXPORT_UUID, exportInfos.getExportUuid() != null ? exportInfos.getExportUuid().toString() : null)
                 .setHeader(HEADER_EXPORT_PARAMETERS, exportInfos.getFormatParameters())
+                .setHeader(HEADER_EXPORT_FORMATS, exportFormats)
+                .setHeader(HEADER_VARIANT_IDS, variantIds)
+                .setHeader(HEADER_COMBINED_ARCHIVE, combinedArchive)
+                .setHeader(HEADER_EXPORT_FILTER, exportFilter)
+                .setHeader(HEADER_EMISSION_TIME, System.currentTimeMillis())
+                .build());
+    }
+
+    public void emitNetworkDeltaExportStart(UUID networkUuid, String referenceVariantId, String variantId, ExportInfos exportInfos) {
+        sendNetworkExportStartMessage(MessageBuilder.withPayload(networkUuid)
+                .setHeader(HEADER_VARIANT_ID, variantId)
+                .setHeader(HEADER_REFERENCE_VARIANT_ID, referenceVariantId)
+                .setHeader(HEADER_FILE_NAME, exportInfos.getFilename())
+                .setHeader(HEADER_FORMAT, exportInfos.getFormat())
+                .setHeader(HEADER_RECEIVER, exportInfos.getReceiver())
+                .setHeader(HEADER_USER_ID, exportInfos.getUserId())
+                .setHeader(HEADER_EXPORT_INFOS, exportInfos.getExtraData())
+                .setHeader(HEADER_EXPORT_UUID, exportInfos.getExportUuid() != null ? exportInfos.getExportUuid().toString() : null)
+                .setHeader(HEADER_EMISSION_TIME, System.currentTimeMillis())
                 .build());
     }
 
@@ -138,6 +243,7 @@ public class NotificationService {
                 .setHeader(HEADER_USER_ID, userId)
                 .setHeader(HEADER_EXPORT_UUID, exportUuid != null ? exportUuid.toString() : null)
                 .setHeader(HEADER_EXPORT_PARAMETERS, formatParameters)
+                .setHeader(HEADER_EMISSION_TIME, System.currentTimeMillis())
                 .build());
     }
 }
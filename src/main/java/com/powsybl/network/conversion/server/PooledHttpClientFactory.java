@@ -0,0 +1,137 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.network.conversion.server;
+
+import jakarta.annotation.PreDestroy;
+import lombok.NonNull;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.io.ConnectionEndpoint;
+import org.apache.hc.client5.http.io.LeaseRequest;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Creates the HTTP clients used to call the other services.
+ * Each client has its own pool of keep-alive connections, so that the many small requests of an import
+ * don't open a new connection each, and a slow service can't starve the connections to the other ones.
+ * Compressed responses are transparently decompressed by the client.
+ */
+@Service
+public class PooledHttpClientFactory {
+
+    private final int maxConnections;
+
+    private final int maxConnectionsPerRoute;
+
+    private final Duration connectTimeout;
+
+    private final Duration readTimeout;
+
+    private final Duration connectionRequestTimeout;
+
+    private final Duration keepAlive;
+
+    private final NetworkConversionObserver networkConversionObserver;
+
+    private final List<CloseableHttpClient> httpClients = new CopyOnWriteArrayList<>();
+
+    public PooledHttpClientFactory(@Value("${http-client.max-connections:100}") int maxConnections,
+                                   @Value("${http-client.max-connections-per-route:20}") int maxConnectionsPerRoute,
+                                   @Value("${http-client.connect-timeout:5s}") Duration connectTimeout,
+                                   @Value("${http-client.read-timeout:5m}") Duration readTimeout,
+                                   @Value("${http-client.connection-request-timeout:1m}") Duration connectionRequestTimeout,
+                                   @Value("${http-client.keep-alive:30s}") Duration keepAlive,
+                                   @NonNull NetworkConversionObserver networkConversionObserver) {
+        this.maxConnections = maxConnections;
+        this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+        this.connectTimeout = connectTimeout;
+        this.readTimeout = readTimeout;
+        this.connectionRequestTimeout = connectionRequestTimeout;
+        this.keepAlive = keepAlive;
+        this.networkConversionObserver = networkConversionObserver;
+    }
+
+    /**
+     * Create a request factory backed by a new connection pool, whose metrics are tagged with the given client name
+     */
+    public ClientHttpRequestFactory createRequestFactory(String clientName) {
+        PoolingHttpClientConnectionManager connectionManager = new ObservedConnectionManager(clientName);
+        connectionManager.setMaxTotal(maxConnections);
+        connectionManager.setDefaultMaxPerRoute(maxConnectionsPerRoute);
+        connectionManager.setDefaultConnectionConfig(ConnectionConfig.custom()
+            .setConnectTimeout(Timeout.of(connectTimeout))
+            .setSocketTimeout(Timeout.of(readTimeout))
+            .build());
+        networkConversionObserver.createHttpClientPoolMetrics(connectionManager, clientName);
+
+        CloseableHttpClient httpClient = HttpClients.custom()
+            .setConnectionManager(connectionManager)
+            .setDefaultRequestConfig(RequestConfig.custom()
+                .setConnectionRequestTimeout(Timeout.of(connectionRequestTimeout))
+                .build())
+            .setKeepAliveStrategy((response, context) -> TimeValue.of(keepAlive))
+            .evictExpiredConnections()
+            .evictIdleConnections(TimeValue.of(keepAlive))
+            .build();
+        httpClients.add(httpClient);
+        return new HttpComponentsClientHttpRequestFactory(httpClient);
+    }
+
+    @PreDestroy
+    private void preDestroy() {
+        httpClients.forEach(httpClient -> httpClient.close(CloseMode.GRACEFUL));
+    }
+
+    /**
+     * Connection manager recording the time spent waiting for a connection of the pool
+     */
+    private final class ObservedConnectionManager extends PoolingHttpClientConnectionManager {
+
+        private final String clientName;
+
+        private ObservedConnectionManager(String clientName) {
+            this.clientName = clientName;
+        }
+
+        @Override
+        public LeaseRequest lease(String id, HttpRoute route, Timeout requestTimeout, Object state) {
+            long startTime = System.nanoTime();
+            LeaseRequest leaseRequest = super.lease(id, route, requestTimeout, state);
+            return new LeaseRequest() {
+                @Override
+                public ConnectionEndpoint get(Timeout timeout) throws InterruptedException, ExecutionException, TimeoutException {
+                    try {
+                        return leaseRequest.get(timeout);
+                    } finally {
+                        networkConversionObserver.recordHttpClientLease(clientName, System.nanoTime() - startTime);
+                    }
+                }
+
+                @Override
+                public boolean cancel() {
+                    return leaseRequest.cancel();
+                }
+            };
+        }
+    }
+}
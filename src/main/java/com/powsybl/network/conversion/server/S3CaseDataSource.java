@@ -0,0 +1,537 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.network.conversion.server;
+
+import com.powsybl.commons.datasource.DataSourceUtil;
+import com.powsybl.commons.datasource.ReadOnlyDataSource;
+import com.powsybl.network.conversion.server.jfr.ConversionEvents;
+import com.powsybl.network.conversion.server.jfr.ConversionPhaseEvent;
+import software.amazon.awssdk.core.ResponseBytes;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Data source of a case stored in the S3 bucket of the service, read without going through the case server.
+ * The files of a zip case are read with ranged GETs: one for the end of the archive and its central directory
+ * (two when the central directory does not fit in the end of the archive), then one per file read by the importer.
+ * Gzipped and plain case files are read with a single GET.
+ * The bytes read are accounted to the job creating the data source, and each GET is recorded as a download phase, tagged
+ * with the format of the case being read, from the request to the close of its stream.
+ */
+public class S3CaseDataSource implements ReadOnlyDataSource {
+
+    private static final String ZIP_EXTENSION = ".zip";
+
+    private static final String GZIP_EXTENSION = ".gz";
+
+    // compressions the importers can't read from a plain stream
+    private static final List<String> UNSUPPORTED_EXTENSIONS = List.of(".bz2", ".xz", ".zst", ".tar");
+
+    private static final int END_OF_CENTRAL_DIRECTORY_SIGNATURE = 0x06054b50;
+
+    private static final int ZIP64_END_OF_CENTRAL_DIRECTORY_LOCATOR_SIGNATURE = 0x07064b50;
+
+    private static final int ZIP64_END_OF_CENTRAL_DIRECTORY_SIGNATURE = 0x06064b50;
+
+    private static final int CENTRAL_DIRECTORY_HEADER_SIGNATURE = 0x02014b50;
+
+    private static final int LOCAL_FILE_HEADER_SIGNATURE = 0x04034b50;
+
+    private static final int END_OF_CENTRAL_DIRECTORY_SIZE = 22;
+
+    private static final int ZIP64_END_OF_CENTRAL_DIRECTORY_SIZE = 56;
+
+    private static final int ZIP64_LOCATOR_SIZE = 20;
+
+    private static final int LOCAL_FILE_HEADER_SIZE = 30;
+
+    // the end of central directory record is followed by a comment of at most 65535 bytes
+    private static final int MAX_END_OF_ARCHIVE_SIZE = END_OF_CENTRAL_DIRECTORY_SIZE + 0xffff;
+
+    private static final int ZIP64_EXTRA_FIELD_ID = 0x0001;
+
+    private record ZipEntryInfos(String name, int method, long compressedSize, long localHeaderOffset, long endOffset) {
+    }
+
+    private final S3Client s3Client;
+
+    private final String bucketName;
+
+    private final String key;
+
+    private final String fileName;
+
+    private final String baseName;
+
+    private final NetworkConversionObserver networkConversionObserver;
+
+    private final JobResourceUsage jobResourceUsage = JobResourceUsage.current();
+
+    private Map<String, ZipEntryInfos> zipEntries;
+
+    public S3CaseDataSource(S3Client s3Client, String bucketName, String key, NetworkConversionObserver networkConversionObserver) {
+        this.s3Client = Objects.requireNonNull(s3Client);
+        this.bucketName = Objects.requireNonNull(bucketName);
+        this.key = Objects.requireNonNull(key);
+        this.networkConversionObserver = Objects.requireNonNull(networkConversionObserver);
+        String keyFileName = key.substring(key.lastIndexOf('/') + 1);
+        this.fileName = isGzip(key) ? keyFileName.substring(0, keyFileName.length() - GZIP_EXTENSION.length()) : keyFileName;
+        this.baseName = DataSourceUtil.getBaseName(keyFileName);
+    }
+
+    /**
+     * @return true if the case file of this S3 key can be read by this data source
+     */
+    public static boolean isSupported(String key) {
+        if (key == null || key.isEmpty() || key.endsWith("/")) {
+            return false;
+        }
+        String lowerCaseKey = key.toLowerCase(Locale.ROOT);
+        return UNSUPPORTED_EXTENSIONS.stream().noneMatch(lowerCaseKey::endsWith);
+    }
+
+    private static boolean isZip(String key) {
+        return key.toLowerCase(Locale.ROOT).endsWith(ZIP_EXTENSION);
+    }
+
+    private static boolean isGzip(String key) {
+        return key.toLowerCase(Locale.ROOT).endsWith(GZIP_EXTENSION);
+    }
+
+    @Override
+    public String getBaseName() {
+        return baseName;
+    }
+
+    @Override
+    public boolean exists(String suffix, String ext) throws IOException {
+        return exists(DataSourceUtil.getFileName(baseName, suffix, ext));
+    }
+
+    @Override
+    public boolean exists(String fileName) throws IOException {
+        return getFileNames().contains(fileName);
+    }
+
+    @Override
+    public InputStream newInputStream(String suffix, String ext) throws IOException {
+        return newInputStream(DataSourceUtil.getFileName(baseName, suffix, ext));
+    }
+
+    @Override
+    public InputStream newInputStream(String fileName) throws IOException {
+        if (!isZip(key)) {
+            if (!this.fileName.equals(fileName)) {
+                throw new IOException("File " + fileName + " not found in case " + key);
+            }
+            InputStream is = getObject(null);
+            return isGzip(key) ? new GZIPInputStream(is) : is;
+        }
+        ZipEntryInfos entry = getZipEntries().get(fileName);
+        if (entry == null) {
+            throw new IOException("File " + fileName + " not found in case " + key);
+        }
+        return newZipEntryInputStream(entry);
+    }
+
+    @Override
+    public Set<String> listNames(String regex) throws IOException {
+        Pattern pattern = Pattern.compile(regex);
+        return getFileNames().stream().filter(name -> pattern.matcher(name).matches()).collect(Collectors.toSet());
+    }
+
+    private Set<String> getFileNames() throws IOException {
+        return isZip(key) ? getZipEntries().keySet() : Set.of(fileName);
+    }
+
+    private synchronized Map<String, ZipEntryInfos> getZipEntries() throws IOException {
+        if (zipEntries == null) {
+            zipEntries = readCentralDirectory();
+        }
+        return zipEntries;
+    }
+
+    /**
+     * Read the central directory of the zip, from the end of the archive fetched with a suffix range
+     */
+    private Map<String, ZipEntryInfos> readCentralDirectory() throws IOException {
+        ResponseBytes<GetObjectResponse> tailResponse = getObjectBytes("bytes=-" + MAX_END_OF_ARCHIVE_SIZE);
+        byte[] tail = tailResponse.asByteArray();
+        long archiveSize = getArchiveSize(tailResponse.response(), tail.length);
+        long tailOffset = archiveSize - tail.length;
+        ByteBuffer tailBuffer = ByteBuffer.wrap(tail).order(ByteOrder.LITTLE_ENDIAN);
+
+        int eocdPosition = -1;
+        for (int position = tail.length - END_OF_CENTRAL_DIRECTORY_SIZE; position >= 0; position--) {
+            if (tailBuffer.getInt(position) == END_OF_CENTRAL_DIRECTORY_SIGNATURE) {
+                eocdPosition = position;
+                break;
+            }
+        }
+        if (eocdPosition < 0) {
+            throw new IOException("Case " + key + " is not a zip archive");
+        }
+        long entryCount = Short.toUnsignedLong(tailBuffer.getShort(eocdPosition + 10));
+        long centralDirectorySize = Integer.toUnsignedLong(tailBuffer.getInt(eocdPosition + 12));
+        long centralDirectoryOffset = Integer.toUnsignedLong(tailBuffer.getInt(eocdPosition + 16));
+        int locatorPosition = eocdPosition - ZIP64_LOCATOR_SIZE;
+        if (locatorPosition >= 0 && tailBuffer.getInt(locatorPosition) == ZIP64_END_OF_CENTRAL_DIRECTORY_LOCATOR_SIGNATURE) {
+            ByteBuffer zip64Eocd = getRange(tailBuffer, tailOffset, tailBuffer.getLong(locatorPosition + 8), ZIP64_END_OF_CENTRAL_DIRECTORY_SIZE);
+            if (zip64Eocd.getInt(0) != ZIP64_END_OF_CENTRAL_DIRECTORY_SIGNATURE) {
+                throw new IOException("Invalid zip64 end of central directory in case " + key);
+            }
+            entryCount = zip64Eocd.getLong(32);
+            centralDirectorySize = zip64Eocd.getLong(40);
+            centralDirectoryOffset = zip64Eocd.getLong(48);
+        }
+
+        ByteBuffer centralDirectory = getRange(tailBuffer, tailOffset, centralDirectoryOffset, Math.toIntExact(centralDirectorySize));
+        List<ZipEntryInfos> entries = new ArrayList<>();
+        int position = 0;
+        for (long i = 0; i < entryCount; i++) {
+            if (centralDirectory.getInt(position) != CENTRAL_DIRECTORY_HEADER_SIGNATURE) {
+                throw new IOException("Invalid central directory in case " + key);
+            }
+            int flags = Short.toUnsignedInt(centralDirectory.getShort(position + 8));
+            int method = Short.toUnsignedInt(centralDirectory.getShort(position + 10));
+            long compressedSize = Integer.toUnsignedLong(centralDirectory.getInt(position + 20));
+            long uncompressedSize = Integer.toUnsignedLong(centralDirectory.getInt(position + 24));
+            int nameLength = Short.toUnsignedInt(centralDirectory.getShort(position + 28));
+            int extraLength = Short.toUnsignedInt(centralDirectory.getShort(position + 30));
+            int commentLength = Short.toUnsignedInt(centralDirectory.getShort(position + 32));
+            long localHeaderOffset = Integer.toUnsignedLong(centralDirectory.getInt(position + 42));
+            byte[] nameBytes = new byte[nameLength];
+            centralDirectory.get(position + 46, nameBytes);
+            String name = new String(nameBytes, StandardCharsets.UTF_8);
+
+            // the sizes and offset larger than 4GB are in the zip64 extra field, in this order
+            int extraPosition = position + 46 + nameLength;
+            int extraEnd = extraPosition + extraLength;
+            while (extraPosition + 4 <= extraEnd) {
+                int extraId = Short.toUnsignedInt(centralDirectory.getShort(extraPosition));
+                int extraSize = Short.toUnsignedInt(centralDirectory.getShort(extraPosition + 2));
+                if (extraId == ZIP64_EXTRA_FIELD_ID) {
+                    int valuePosition = extraPosition + 4;
+                    if (uncompressedSize == 0xffffffffL) {
+                        valuePosition += 8;
+                    }
+                    if (compressedSize == 0xffffffffL) {
+                        compressedSize = centralDirectory.getLong(valuePosition);
+                        valuePosition += 8;
+                    }
+                    if (localHeaderOffset == 0xffffffffL) {
+                        localHeaderOffset = centralDirectory.getLong(valuePosition);
+                    }
+                }
+                extraPosition += 4 + extraSize;
+            }
+
+            if ((flags & 1) != 0) {
+                throw new IOException("Encrypted file " + name + " in case " + key);
+            }
+            if (!name.endsWith("/")) {
+                entries.add(new ZipEntryInfos(name, method, compressedSize, localHeaderOffset, -1));
+            }
+            position += 46 + nameLength + extraLength + commentLength;
+        }
+
+        // the data of an entry ends at the latest where the next entry, or the central directory, begins
+        List<Long> offsets = new ArrayList<>(entries.stream().map(ZipEntryInfos::localHeaderOffset).sorted().toList());
+        offsets.add(centralDirectoryOffset);
+        Map<String, ZipEntryInfos> entriesByName = new LinkedHashMap<>();
+        for (ZipEntryInfos entry : entries) {
+            int nextIndex = Collections.binarySearch(offsets, entry.localHeaderOffset()) + 1;
+            while (offsets.get(nextIndex) <= entry.localHeaderOffset()) {
+                nextIndex++;
+            }
+            entriesByName.put(entry.name(), new ZipEntryInfos(entry.name(), entry.method(), entry.compressedSize(), entry.localHeaderOffset(), offsets.get(nextIndex)));
+        }
+        return Collections.unmodifiableMap(entriesByName);
+    }
+
+    private static long getArchiveSize(GetObjectResponse response, int tailLength) {
+        // "bytes start-end/size", missing when the whole object is returned
+        String contentRange = response.contentRange();
+        if (contentRange != null && contentRange.contains("/")) {
+            return Long.parseLong(contentRange.substring(contentRange.lastIndexOf('/') + 1));
+        }
+        return tailLength;
+    }
+
+    /**
+     * @return the bytes at the offset in the archive, taken from the end of the archive when they are in it
+     */
+    private ByteBuffer getRange(ByteBuffer tailBuffer, long tailOffset, long offset, int length) throws IOException {
+        if (offset >= tailOffset && offset + length <= tailOffset + tailBuffer.capacity()) {
+            return tailBuffer.slice(Math.toIntExact(offset - tailOffset), length).order(ByteOrder.LITTLE_ENDIAN);
+        }
+        byte[] bytes = getObjectBytes("bytes=" + offset + "-" + (offset + length - 1)).asByteArray();
+        if (bytes.length != length) {
+            throw new IOException("Truncated range of case " + key);
+        }
+        return ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private InputStream newZipEntryInputStream(ZipEntryInfos entry) throws IOException {
+        if (entry.method() != 0 && entry.method() != 8) {
+            throw new IOException("Unsupported compression method " + entry.method() + " of file " + entry.name() + " in case " + key);
+        }
+        InputStream is = getObject("bytes=" + entry.localHeaderOffset() + "-" + (entry.endOffset() - 1));
+        try {
+            ByteBuffer localHeader = ByteBuffer.wrap(is.readNBytes(LOCAL_FILE_HEADER_SIZE)).order(ByteOrder.LITTLE_ENDIAN);
+            if (localHeader.capacity() < LOCAL_FILE_HEADER_SIZE || localHeader.getInt(0) != LOCAL_FILE_HEADER_SIGNATURE) {
+                throw new IOException("Invalid local header of file " + entry.name() + " in case " + key);
+            }
+            // the local extra field can differ from the central one
+            is.skipNBytes((long) Short.toUnsignedInt(localHeader.getShort(26)) + Short.toUnsignedInt(localHeader.getShort(28)));
+        } catch (IOException e) {
+            is.close();
+            throw e;
+        }
+        InputStream data = new BoundedInputStream(is, entry.compressedSize());
+        if (entry.method() == 0) {
+            return data;
+        }
+        Inflater inflater = new Inflater(true);
+        return new InflaterInputStream(data, inflater, 64 * 1024) {
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    inflater.end();
+                }
+            }
+        };
+    }
+
+    private ResponseBytes<GetObjectResponse> getObjectBytes(String range) throws IOException {
+        Download download = new Download();
+        try {
+            ResponseBytes<GetObjectResponse> response = s3Client.getObjectAsBytes(GetObjectRequest.builder().bucket(bucketName).key(key).range(range).build());
+            download.addBytes(response.asByteArray().length);
+            download.finish();
+            return response;
+        } catch (SdkException e) {
+            download.fail();
+            throw new IOException("Error occurred while reading case " + key + " from S3: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * @param range the range to get, null for the whole object
+     */
+    private InputStream getObject(String range) throws IOException {
+        Download download = new Download();
+        ResponseInputStream<GetObjectResponse> response;
+        try {
+            response = s3Client.getObject(GetObjectRequest.builder().bucket(bucketName).key(key).range(range).build());
+        } catch (SdkException e) {
+            download.fail();
+            throw new IOException("Error occurred while reading case " + key + " from S3: " + e.getMessage(), e);
+        }
+        download.pause();
+        Long contentLength = response.response().contentLength();
+        // the stream is read while the case is imported, the time spent in the importer between two reads is not counted
+        return new FilterInputStream(response) {
+
+            private long position;
+
+            private boolean ended;
+
+            @Override
+            public int read() throws IOException {
+                download.resume();
+                try {
+                    int read = super.read();
+                    if (read >= 0) {
+                        addRead(1);
+                    } else {
+                        ended = true;
+                    }
+                    return read;
+                } catch (IOException e) {
+                    download.failed = true;
+                    throw e;
+                } finally {
+                    download.pause();
+                }
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                download.resume();
+                try {
+                    int read = super.read(b, off, len);
+                    if (read > 0) {
+                        addRead(read);
+                    } else if (read < 0) {
+                        ended = true;
+                    }
+                    return read;
+                } catch (IOException e) {
+                    download.failed = true;
+                    throw e;
+                } finally {
+                    download.pause();
+                }
+            }
+
+            @Override
+            public long skip(long n) throws IOException {
+                download.resume();
+                try {
+                    long skipped = super.skip(n);
+                    addRead(skipped);
+                    return skipped;
+                } catch (IOException e) {
+                    download.failed = true;
+                    throw e;
+                } finally {
+                    download.pause();
+                }
+            }
+
+            private void addRead(long bytes) {
+                position += bytes;
+                download.addBytes(bytes);
+            }
+
+            @Override
+            public void close() throws IOException {
+                try {
+                    // a connection with bytes left unread would otherwise be drained up to the end of the range, and a
+                    // fully read one is returned to the pool
+                    if (!ended && (contentLength == null || position < contentLength)) {
+                        response.abort();
+                    }
+                    super.close();
+                } finally {
+                    download.record();
+                }
+            }
+        };
+    }
+
+    /**
+     * Download phase of a GET: the time to get the response and to read its body, and the bytes read
+     */
+    private final class Download {
+
+        private final String caseFormat = CaseDownloadInterceptor.getCaseFormat();
+
+        // the flight recorder event spans the whole download, from the request to the close of the body
+        private final ConversionPhaseEvent event = ConversionEvents.createPhase(NetworkConversionObserver.PHASE_DOWNLOAD, caseFormat);
+
+        private long startTime = System.nanoTime();
+
+        private long durationNanos;
+
+        private boolean failed;
+
+        private boolean recorded;
+
+        private void pause() {
+            durationNanos += System.nanoTime() - startTime;
+        }
+
+        private void resume() {
+            startTime = System.nanoTime();
+        }
+
+        private void addBytes(long bytes) {
+            ConversionEvents.addBytes(event, bytes);
+            if (jobResourceUsage != null) {
+                jobResourceUsage.addDownloadedBytes(bytes);
+            }
+        }
+
+        private void fail() {
+            failed = true;
+            finish();
+        }
+
+        private void finish() {
+            pause();
+            record();
+        }
+
+        // a stream can be closed several times
+        private void record() {
+            if (!recorded) {
+                recorded = true;
+                networkConversionObserver.recordPhase(NetworkConversionObserver.PHASE_DOWNLOAD, caseFormat, !failed, durationNanos);
+                ConversionEvents.commit(event, !failed);
+            }
+        }
+    }
+
+    /**
+     * Stream of the compressed data of a zip entry, ending before the data descriptor or the next entry
+     */
+    private static final class BoundedInputStream extends FilterInputStream {
+
+        private long remaining;
+
+        private BoundedInputStream(InputStream in, long length) {
+            super(in);
+            this.remaining = length;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int read = super.read();
+            if (read >= 0) {
+                remaining--;
+            }
+            return read;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int read = super.read(b, off, (int) Math.min(len, remaining));
+            if (read > 0) {
+                remaining -= read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(Math.min(n, remaining));
+            remaining -= skipped;
+            return skipped;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return (int) Math.min(super.available(), remaining);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.network.conversion.server;
+
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.beans.factory.support.BeanDefinitionRegistryPostProcessor;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.cloud.function.context.FunctionRegistration;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.env.PropertyResolver;
+import org.springframework.messaging.Message;
+
+import java.lang.reflect.Type;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import static com.powsybl.network.conversion.server.config.ConsumerBindingsEnvironmentPostProcessor.CONSUMER_NAMES;
+import static com.powsybl.network.conversion.server.config.ConsumerBindingsEnvironmentPostProcessor.getConsumersCount;
+import static com.powsybl.network.conversion.server.config.ConsumerBindingsEnvironmentPostProcessor.getFunctionName;
+
+/**
+ * Registers consumers consumeXxx1 ... consumeXxxN for each start queue, N being the number of concurrent imports/exports of the queue,
+ * so that a pod pulls exactly as many messages as it can process.
+ * Bindings of these consumers are generated by {@link com.powsybl.network.conversion.server.config.ConsumerBindingsEnvironmentPostProcessor}.
+ */
+class StartConsumersRegistrar implements BeanDefinitionRegistryPostProcessor, BeanFactoryAware {
+
+    private static final Type CONSUMER_TYPE = ResolvableType.forClassWithGenerics(Consumer.class,
+        ResolvableType.forClassWithGenerics(Message.class, UUID.class)).getType();
+
+    private final PropertyResolver propertyResolver;
+
+    private final Map<String, Function<NetworkConversionService, Consumer<Message<UUID>>>> consumerFactories;
+
+    private BeanFactory beanFactory;
+
+    StartConsumersRegistrar(PropertyResolver propertyResolver, Map<String, Function<NetworkConversionService, Consumer<Message<UUID>>>> consumerFactories) {
+        // a consumer without bindings would silently never receive messages, and bindings without consumer fail the binding
+        if (!consumerFactories.keySet().equals(new HashSet<>(CONSUMER_NAMES))) {
+            throw new IllegalStateException("Start consumers " + consumerFactories.keySet() + " don't match the consumers with bindings " + CONSUMER_NAMES);
+        }
+        this.propertyResolver = propertyResolver;
+        this.consumerFactories = consumerFactories;
+    }
+
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) {
+        this.beanFactory = beanFactory;
+    }
+
+    @Override
+    public void postProcessBeanDefinitionRegistry(BeanDefinitionRegistry registry) {
+        consumerFactories.forEach((consumerName, consumerFactory) -> {
+            int consumersCount = getConsumersCount(propertyResolver, consumerName);
+            for (int index = 1; index <= consumersCount; index++) {
+                String functionName = getFunctionName(consumerName, index);
+                registry.registerBeanDefinition(functionName, new RootBeanDefinition(FunctionRegistration.class, () ->
+                    new FunctionRegistration<>(consumerFactory.apply(beanFactory.getBean(NetworkConversionService.class)), functionName)
+                        .type(CONSUMER_TYPE)));
+            }
+        });
+    }
+
+    @Override
+    public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) {
+        // nothing to do, all consumers are registered as bean definitions
+    }
+}
@@ -0,0 +1,60 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.network.conversion.server.archive;
+
+import lombok.Getter;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.zip.Deflater;
+
+/**
+ * The archives the exported files can be gathered in, with the compression levels they accept.
+ */
+@Getter
+public enum ArchiveCodec {
+    ZIP(".zip", "application/zip", Deflater.NO_COMPRESSION, Deflater.BEST_COMPRESSION, Deflater.DEFAULT_COMPRESSION),
+    ZIP_STORED(".zip", "application/zip", 0, 0, 0),
+    TAR(".tar", "application/x-tar", 0, 0, 0),
+    TAR_GZ(".tar.gz", "application/gzip", Deflater.BEST_SPEED, Deflater.BEST_COMPRESSION, 6),
+    TAR_ZST(".tar.zst", "application/zstd", 1, 22, 3);
+
+    private final String extension;
+
+    private final String contentType;
+
+    private final int minLevel;
+
+    private final int maxLevel;
+
+    private final int defaultLevel;
+
+    ArchiveCodec(String extension, String contentType, int minLevel, int maxLevel, int defaultLevel) {
+        this.extension = extension;
+        this.contentType = contentType;
+        this.minLevel = minLevel;
+        this.maxLevel = maxLevel;
+        this.defaultLevel = defaultLevel;
+    }
+
+    public boolean isZip() {
+        return this == ZIP || this == ZIP_STORED;
+    }
+
+    /**
+     * @return the content type of an archive given its file name, the zip one if the extension is unknown
+     */
+    public static String getContentType(String fileName) {
+        // the longest extensions first, so that .tar.gz is not taken for .tar
+        return Arrays.stream(values())
+                .sorted(Comparator.comparingInt((ArchiveCodec codec) -> codec.getExtension().length()).reversed())
+                .filter(codec -> fileName.endsWith(codec.getExtension()))
+                .findFirst()
+                .orElse(ZIP)
+                .getContentType();
+    }
+}
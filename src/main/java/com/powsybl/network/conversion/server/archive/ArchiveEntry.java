@@ -0,0 +1,44 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.network.conversion.server.archive;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Objects;
+
+/**
+ * A file to archive, read from the disk or from memory.
+ *
+ * @param name the name of the file in the archive
+ * @param file the file on the disk, null for an in-memory file
+ * @param content the content of an in-memory file, null for a file on the disk
+ */
+public record ArchiveEntry(String name, Path file, byte[] content) {
+
+    public static ArchiveEntry ofFile(String name, Path file) {
+        return new ArchiveEntry(Objects.requireNonNull(name), Objects.requireNonNull(file), null);
+    }
+
+    public static ArchiveEntry ofContent(String name, byte[] content) {
+        return new ArchiveEntry(Objects.requireNonNull(name), null, Objects.requireNonNull(content));
+    }
+
+    public boolean isInMemory() {
+        return content != null;
+    }
+
+    public long size() throws IOException {
+        return content != null ? content.length : Files.size(file);
+    }
+
+    public InputStream newInputStream() throws IOException {
+        return content != null ? new ByteArrayInputStream(content) : Files.newInputStream(file);
+    }
+}
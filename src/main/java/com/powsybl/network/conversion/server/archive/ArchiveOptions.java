@@ -0,0 +1,55 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.network.conversion.server.archive;
+
+import com.powsybl.network.conversion.server.NetworkConversionException;
+
+import java.util.Map;
+
+/**
+ * Archive of an export, given with the format parameters of the export.
+ *
+ * @param codec the archive codec
+ * @param level the compression level, in the range of the codec
+ */
+public record ArchiveOptions(ArchiveCodec codec, int level) {
+
+    public static final String CODEC_PARAMETER = "archive.codec";
+
+    public static final String LEVEL_PARAMETER = "archive.level";
+
+    public static final ArchiveOptions DEFAULT = new ArchiveOptions(ArchiveCodec.ZIP, ArchiveCodec.ZIP.getDefaultLevel());
+
+    public static boolean isArchiveParameter(String name) {
+        return CODEC_PARAMETER.equals(name) || LEVEL_PARAMETER.equals(name);
+    }
+
+    /**
+     * @return the archive options of the format parameters, the default ones for the missing parameters
+     */
+    public static ArchiveOptions fromFormatParameters(Map<String, Object> formatParameters) {
+        if (formatParameters == null) {
+            return DEFAULT;
+        }
+        Object codecValue = formatParameters.get(CODEC_PARAMETER);
+        Object levelValue = formatParameters.get(LEVEL_PARAMETER);
+        if (codecValue == null && levelValue == null) {
+            return DEFAULT;
+        }
+        try {
+            ArchiveCodec codec = codecValue != null ? ArchiveCodec.valueOf(codecValue.toString()) : ArchiveCodec.ZIP;
+            int level = levelValue != null ? Integer.parseInt(levelValue.toString()) : codec.getDefaultLevel();
+            if (level != codec.getDefaultLevel() && (level < codec.getMinLevel() || level > codec.getMaxLevel())) {
+                throw NetworkConversionException.createInvalidArchiveOptions(String.format("The level of %s archives must be between %d and %d",
+                    codec, codec.getMinLevel(), codec.getMaxLevel()));
+            }
+            return new ArchiveOptions(codec, level);
+        } catch (IllegalArgumentException e) {
+            throw NetworkConversionException.createInvalidArchiveOptions(String.format("Invalid archive codec %s or level %s", codecValue, levelValue));
+        }
+    }
+}
@@ -0,0 +1,319 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.network.conversion.server.archive;
+
+import jakarta.annotation.PreDestroy;
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
+import org.apache.commons.compress.archivers.zip.Zip64Mode;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.apache.commons.compress.compressors.zstandard.ZstdCompressorOutputStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes the exported files in an archive with the codec and level of the export. The files larger than a block are
+ * compressed by blocks in parallel, on a pool shared by all the exports, the blocks being compressed or waiting to be
+ * written being bounded for all the exports together. The files already compressed (zip, gzip,
+ * zstd, ...) are stored as is in zip archives. Small archives can be written in memory, from in-memory files.
+ */
+@Service
+public class ArchiveWriter {
+
+    // magic numbers of zip, gzip, zstd, xz, bzip2, jpeg and png files
+    private static final byte[][] COMPRESSED_FILE_SIGNATURES = {
+        {0x50, 0x4b, 0x03, 0x04},
+        {(byte) 0x1f, (byte) 0x8b},
+        {0x28, (byte) 0xb5, 0x2f, (byte) 0xfd},
+        {(byte) 0xfd, 0x37, 0x7a, 0x58},
+        {0x42, 0x5a, 0x68},
+        {(byte) 0xff, (byte) 0xd8, (byte) 0xff},
+        {(byte) 0x89, 0x50, 0x4e, 0x47}
+    };
+
+    private final int blockSize;
+
+    // shared by the exports, so that the blocks in memory do not grow with the concurrent exports
+    private final Semaphore blockPermits;
+
+    private final ExecutorService compressionExecutorService;
+
+    public ArchiveWriter(@Value("${export-archive.block-size:4MB}") DataSize blockSize,
+                         @Value("${export-archive.compression-threads:0}") int compressionThreads) {
+        int threads = compressionThreads > 0 ? compressionThreads : Runtime.getRuntime().availableProcessors();
+        this.blockSize = Math.toIntExact(blockSize.toBytes());
+        this.blockPermits = new Semaphore(2 * threads);
+        this.compressionExecutorService = Executors.newFixedThreadPool(threads);
+    }
+
+    int getAvailableBlockPermits() {
+        return blockPermits.availablePermits();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        compressionExecutorService.shutdownNow();
+    }
+
+    /**
+     * @param directory the directory of the archive
+     * @param baseName the name of the archive without the extension of the codec
+     * @param entries the files to archive, by their name in the archive
+     * @return the archive file
+     */
+    public Path write(Path directory, String baseName, Map<String, Path> entries, ArchiveOptions options) throws IOException {
+        return write(directory, baseName, entries.entrySet().stream().map(entry -> ArchiveEntry.ofFile(entry.getKey(), entry.getValue())).toList(), options);
+    }
+
+    /**
+     * @param directory the directory of the archive
+     * @param baseName the name of the archive without the extension of the codec
+     * @return the archive file
+     */
+    public Path write(Path directory, String baseName, List<ArchiveEntry> entries, ArchiveOptions options) throws IOException {
+        ArchiveCodec codec = getCodec(entries, options);
+        Path archive = directory.resolve(baseName + codec.getExtension());
+        if (codec.isZip()) {
+            try (ZipArchiveOutputStream zos = new ZipArchiveOutputStream(archive)) {
+                writeZip(zos, entries, getZipLevel(codec, options));
+            }
+        } else {
+            // opened on its own, to be closed even if the compressor setup fails
+            try (OutputStream out = Files.newOutputStream(archive)) {
+                writeTar(out, entries, codec, options.level());
+            }
+        }
+        return archive;
+    }
+
+    /**
+     * Write the archive in memory, for the small exports
+     * @param baseName the name of the archive without the extension of the codec
+     */
+    public InMemoryArchive write(String baseName, List<ArchiveEntry> entries, ArchiveOptions options) throws IOException {
+        ArchiveCodec codec = getCodec(entries, options);
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        if (codec.isZip()) {
+            try (ZipArchiveOutputStream zos = new ZipArchiveOutputStream(bos)) {
+                writeZip(zos, entries, getZipLevel(codec, options));
+            }
+        } else {
+            writeTar(bos, entries, codec, options.level());
+        }
+        return new InMemoryArchive(baseName + codec.getExtension(), bos.toByteArray());
+    }
+
+    private static ArchiveCodec getCodec(List<ArchiveEntry> entries, ArchiveOptions options) throws IOException {
+        // compressing tarballs of already compressed files would only cost CPU time
+        if (!options.codec().isZip() && options.codec() != ArchiveCodec.TAR && allCompressed(entries)) {
+            return ArchiveCodec.TAR;
+        }
+        return options.codec();
+    }
+
+    private static int getZipLevel(ArchiveCodec codec, ArchiveOptions options) {
+        return codec == ArchiveCodec.ZIP_STORED ? Deflater.NO_COMPRESSION : options.level();
+    }
+
+    private void writeZip(ZipArchiveOutputStream zos, List<ArchiveEntry> entries, int level) throws IOException {
+        zos.setUseZip64(Zip64Mode.AsNeeded);
+        zos.setLevel(level);
+        for (ArchiveEntry entry : entries) {
+            long size = entry.size();
+            if (level == Deflater.NO_COMPRESSION || isCompressed(entry)) {
+                ZipArchiveEntry zipEntry = new ZipArchiveEntry(entry.name());
+                zipEntry.setMethod(ZipArchiveEntry.STORED);
+                if (entry.isInMemory()) {
+                    // the stored entries of a zip written to a stream need their size and CRC up front
+                    CRC32 crc = new CRC32();
+                    crc.update(entry.content());
+                    zipEntry.setSize(size);
+                    zipEntry.setCrc(crc.getValue());
+                }
+                copyEntry(zos, zipEntry, entry);
+            } else if (entry.isInMemory() || size <= blockSize) {
+                ZipArchiveEntry zipEntry = new ZipArchiveEntry(entry.name());
+                zipEntry.setMethod(ZipArchiveEntry.DEFLATED);
+                copyEntry(zos, zipEntry, entry);
+            } else {
+                writeParallelDeflatedEntry(zos, entry.name(), entry.file(), size, level);
+            }
+        }
+    }
+
+    private static void copyEntry(ZipArchiveOutputStream zos, ZipArchiveEntry zipEntry, ArchiveEntry entry) throws IOException {
+        zos.putArchiveEntry(zipEntry);
+        try (InputStream is = entry.newInputStream()) {
+            is.transferTo(zos);
+        }
+        zos.closeArchiveEntry();
+    }
+
+    /**
+     * Deflate a large file by blocks in parallel in a temporary file, and add it as a raw entry to the zip.
+     * The deflated file is written then read once more: a raw zip entry needs its compressed size and CRC before its
+     * content, which are only known once the whole file is deflated. This extra disk I/O, of the compressed size only,
+     * is the cost of the parallel deflate.
+     */
+    private void writeParallelDeflatedEntry(ZipArchiveOutputStream zos, String name, Path file, long size, int level) throws IOException {
+        Path deflatedFile = Files.createTempFile(file.getParent(), "deflated_", ".tmp");
+        try {
+            CRC32 crc = new CRC32();
+            try (InputStream is = Files.newInputStream(file);
+                 OutputStream out = Files.newOutputStream(deflatedFile);
+                 ParallelCompressorOutputStream os = new ParallelCompressorOutputStream(out, new DeflateBlockCompressor(level),
+                     compressionExecutorService, blockSize, blockPermits)) {
+                byte[] buffer = new byte[64 * 1024];
+                int read;
+                while ((read = is.read(buffer)) != -1) {
+                    crc.update(buffer, 0, read);
+                    os.write(buffer, 0, read);
+                }
+            }
+            ZipArchiveEntry zipEntry = new ZipArchiveEntry(name);
+            zipEntry.setMethod(ZipArchiveEntry.DEFLATED);
+            zipEntry.setSize(size);
+            zipEntry.setCompressedSize(Files.size(deflatedFile));
+            zipEntry.setCrc(crc.getValue());
+            try (InputStream rawStream = Files.newInputStream(deflatedFile)) {
+                zos.addRawArchiveEntry(zipEntry, rawStream);
+            }
+        } finally {
+            Files.deleteIfExists(deflatedFile);
+        }
+    }
+
+    private void writeTar(OutputStream out, List<ArchiveEntry> entries, ArchiveCodec codec, int level) throws IOException {
+        OutputStream os = out;
+        if (codec == ArchiveCodec.TAR_GZ) {
+            os = new ParallelCompressorOutputStream(out, (data, length) -> gzip(data, length, level), compressionExecutorService, blockSize, blockPermits);
+        } else if (codec == ArchiveCodec.TAR_ZST) {
+            os = new ParallelCompressorOutputStream(out, (data, length) -> zstd(data, length, level), compressionExecutorService, blockSize, blockPermits);
+        }
+        try (TarArchiveOutputStream tos = new TarArchiveOutputStream(os)) {
+            tos.setLongFileMode(TarArchiveOutputStream.LONGFILE_POSIX);
+            tos.setBigNumberMode(TarArchiveOutputStream.BIGNUMBER_POSIX);
+            for (ArchiveEntry entry : entries) {
+                TarArchiveEntry tarEntry = new TarArchiveEntry(entry.name());
+                tarEntry.setSize(entry.size());
+                tarEntry.setModTime(entry.isInMemory() ? FileTime.from(Instant.now()) : Files.getLastModifiedTime(entry.file()));
+                tos.putArchiveEntry(tarEntry);
+                try (InputStream is = entry.newInputStream()) {
+                    is.transferTo(tos);
+                }
+                tos.closeArchiveEntry();
+            }
+        }
+    }
+
+    /**
+     * @return a gzip member, gzip members being concatenable
+     */
+    private static byte[] gzip(byte[] data, int length, int level) throws IOException {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream(length / 4);
+        try (GZIPOutputStream gos = new GZIPOutputStream(bos) {
+            {
+                def.setLevel(level);
+            }
+        }) {
+            gos.write(data, 0, length);
+        }
+        return bos.toByteArray();
+    }
+
+    /**
+     * @return a zstd frame, zstd frames being concatenable
+     */
+    private static byte[] zstd(byte[] data, int length, int level) throws IOException {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream(length / 4);
+        try (ZstdCompressorOutputStream zos = new ZstdCompressorOutputStream(bos, level)) {
+            zos.write(data, 0, length);
+        }
+        return bos.toByteArray();
+    }
+
+    /**
+     * Raw deflate blocks ended by a sync flush, so that they can be concatenated, the stream being ended by an empty
+     * final block
+     */
+    private record DeflateBlockCompressor(int level) implements ParallelCompressorOutputStream.BlockCompressor {
+
+        @Override
+        public byte[] compress(byte[] data, int length) {
+            return deflate(data, length, Deflater.SYNC_FLUSH);
+        }
+
+        @Override
+        public byte[] trailer() {
+            return deflate(new byte[0], 0, Deflater.FINISH);
+        }
+
+        private byte[] deflate(byte[] data, int length, int flush) {
+            Deflater deflater = new Deflater(level, true);
+            try {
+                deflater.setInput(data, 0, length);
+                if (flush == Deflater.FINISH) {
+                    deflater.finish();
+                }
+                ByteArrayOutputStream bos = new ByteArrayOutputStream(length / 4 + 16);
+                byte[] buffer = new byte[64 * 1024];
+                int deflated;
+                // with a sync flush, the input is fully consumed when the output buffer is not filled
+                do {
+                    deflated = deflater.deflate(buffer, 0, buffer.length, flush);
+                    bos.write(buffer, 0, deflated);
+                } while (deflated == buffer.length || flush == Deflater.FINISH && !deflater.finished());
+                return bos.toByteArray();
+            } finally {
+                deflater.end();
+            }
+        }
+    }
+
+    private static boolean allCompressed(List<ArchiveEntry> entries) throws IOException {
+        for (ArchiveEntry entry : entries) {
+            if (!isCompressed(entry)) {
+                return false;
+            }
+        }
+        return !entries.isEmpty();
+    }
+
+    static boolean isCompressed(ArchiveEntry entry) throws IOException {
+        byte[] header = new byte[4];
+        int read;
+        try (InputStream is = entry.newInputStream()) {
+            read = is.readNBytes(header, 0, header.length);
+        }
+        for (byte[] signature : COMPRESSED_FILE_SIGNATURES) {
+            if (read >= signature.length && Arrays.equals(header, 0, signature.length, signature, 0, signature.length)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
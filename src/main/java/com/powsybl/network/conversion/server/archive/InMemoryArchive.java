@@ -0,0 +1,16 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.network.conversion.server.archive;
+
+/**
+ * An archive written in memory.
+ *
+ * @param fileName the name of the archive, with the extension of its codec
+ * @param content the content of the archive
+ */
+public record InMemoryArchive(String fileName, byte[] content) {
+}
@@ -0,0 +1,187 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.network.conversion.server.archive;
+
+import com.powsybl.network.conversion.server.JobResourceUsage;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Output stream compressing its content by blocks on an executor, the compressed blocks being written in order to the
+ * underlying stream. The compressed blocks must be concatenable: gzip members, zstd frames or raw deflate blocks ended
+ * by a sync flush. A block holds a permit of the semaphore shared by the streams, from its submission until it is
+ * written, to bound the memory used by all the exports. When there is no permit left, a stream writes its own pending
+ * blocks before waiting for a permit, so that the streams holding permits always release them.
+ * The compression is accounted to the job creating the stream.
+ */
+final class ParallelCompressorOutputStream extends OutputStream {
+
+    interface BlockCompressor {
+
+        byte[] compress(byte[] data, int length) throws IOException;
+
+        /**
+         * @return the bytes to write after the last block
+         */
+        default byte[] trailer() throws IOException {
+            return new byte[0];
+        }
+    }
+
+    private final OutputStream out;
+
+    private final BlockCompressor compressor;
+
+    private final Executor executor;
+
+    private final int blockSize;
+
+    private final Semaphore blockPermits;
+
+    private final JobResourceUsage jobResourceUsage = JobResourceUsage.current();
+
+    private final Deque<CompletableFuture<byte[]>> pendingBlocks = new ArrayDeque<>();
+
+    private byte[] block;
+
+    private int blockLength;
+
+    private boolean finished;
+
+    ParallelCompressorOutputStream(OutputStream out, BlockCompressor compressor, Executor executor, int blockSize, Semaphore blockPermits) {
+        this.out = Objects.requireNonNull(out);
+        this.compressor = Objects.requireNonNull(compressor);
+        this.executor = Objects.requireNonNull(executor);
+        this.blockSize = blockSize;
+        this.blockPermits = Objects.requireNonNull(blockPermits);
+        this.block = new byte[blockSize];
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        block[blockLength++] = (byte) b;
+        if (blockLength == blockSize) {
+            submitBlock();
+        }
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, b.length);
+        int offset = off;
+        int remaining = len;
+        while (remaining > 0) {
+            int length = Math.min(remaining, blockSize - blockLength);
+            System.arraycopy(b, offset, block, blockLength, length);
+            blockLength += length;
+            offset += length;
+            remaining -= length;
+            if (blockLength == blockSize) {
+                submitBlock();
+            }
+        }
+    }
+
+    private void submitBlock() throws IOException {
+        acquireBlockPermit();
+        byte[] data = block;
+        int length = blockLength;
+        pendingBlocks.add(CompletableFuture.supplyAsync(() -> compressBlock(data, length), executor));
+        block = new byte[blockSize];
+        blockLength = 0;
+    }
+
+    private void acquireBlockPermit() throws IOException {
+        while (!blockPermits.tryAcquire()) {
+            if (pendingBlocks.isEmpty()) {
+                try {
+                    blockPermits.acquire();
+                    return;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException(e);
+                }
+            }
+            writeFirstPendingBlock();
+        }
+    }
+
+    private byte[] compressBlock(byte[] data, int length) {
+        try {
+            return jobResourceUsage != null
+                ? jobResourceUsage.measure(() -> compressor.compress(data, length))
+                : compressor.compress(data, length);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeFirstPendingBlock() throws IOException {
+        byte[] compressedBlock;
+        try {
+            compressedBlock = pendingBlocks.removeFirst().join();
+        } catch (CompletionException e) {
+            discardPendingBlocks();
+            if (e.getCause() instanceof UncheckedIOException ioException) {
+                throw ioException.getCause();
+            }
+            throw new IOException(e.getCause());
+        } finally {
+            blockPermits.release();
+        }
+        out.write(compressedBlock);
+    }
+
+    private void discardPendingBlocks() {
+        pendingBlocks.forEach(pendingBlock -> pendingBlock.cancel(false));
+        blockPermits.release(pendingBlocks.size());
+        pendingBlocks.clear();
+    }
+
+    /**
+     * Compress the remaining content and write it, without closing the underlying stream
+     */
+    public void finish() throws IOException {
+        if (finished) {
+            return;
+        }
+        finished = true;
+        if (blockLength > 0) {
+            submitBlock();
+        }
+        while (!pendingBlocks.isEmpty()) {
+            writeFirstPendingBlock();
+        }
+        out.write(compressor.trailer());
+        block = null;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        // a partial block is not compressed on flush, not to degrade the compression
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try (out) {
+            finish();
+        } finally {
+            // the blocks not written on a failure
+            discardPendingBlocks();
+        }
+    }
+}
@@ -0,0 +1,163 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.network.conversion.server.archive;
+
+import com.powsybl.commons.datasource.DataSource;
+import com.powsybl.commons.datasource.DataSourceUtil;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+
+import java.io.Closeable;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.LinkedHashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Write-only data source writing the files of an export as the deflated entries of a zip archive, streamed to the
+ * output stream as the exporter writes them. As the stream is not seekable, the sizes of the entries are written in
+ * data descriptors, and the files must be written one after the other.
+ */
+public final class StreamingZipDataSource implements DataSource, Closeable {
+
+    private final String baseName;
+
+    private final CountingOutputStream out;
+
+    private final ZipArchiveOutputStream zipOutputStream;
+
+    private final Set<String> fileNames = new LinkedHashSet<>();
+
+    private boolean entryOpen;
+
+    /**
+     * @param level the deflate level of the entries
+     */
+    public StreamingZipDataSource(OutputStream out, String baseName, int level) {
+        this.baseName = Objects.requireNonNull(baseName);
+        this.out = new CountingOutputStream(Objects.requireNonNull(out));
+        this.zipOutputStream = new ZipArchiveOutputStream(this.out);
+        zipOutputStream.setMethod(ZipArchiveOutputStream.DEFLATED);
+        zipOutputStream.setLevel(level);
+    }
+
+    /**
+     * @return the number of bytes of the archive written so far
+     */
+    public long getArchiveSize() {
+        return out.count;
+    }
+
+    @Override
+    public OutputStream newOutputStream(String suffix, String ext, boolean append) throws IOException {
+        return newOutputStream(DataSourceUtil.getFileName(baseName, suffix, ext), append);
+    }
+
+    @Override
+    public OutputStream newOutputStream(String fileName, boolean append) throws IOException {
+        if (append || fileNames.contains(fileName)) {
+            throw new IOException("File " + fileName + " can't be written again to a streamed archive");
+        }
+        if (entryOpen) {
+            throw new IOException("File " + fileName + " can't be written to a streamed archive while another file is being written");
+        }
+        zipOutputStream.putArchiveEntry(new ZipArchiveEntry(fileName));
+        fileNames.add(fileName);
+        entryOpen = true;
+        return new FilterOutputStream(zipOutputStream) {
+            private boolean closed;
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                zipOutputStream.write(b, off, len);
+            }
+
+            @Override
+            public void close() throws IOException {
+                // the archive stays open for the next files
+                if (!closed) {
+                    closed = true;
+                    zipOutputStream.closeArchiveEntry();
+                    entryOpen = false;
+                }
+            }
+        };
+    }
+
+    @Override
+    public String getBaseName() {
+        return baseName;
+    }
+
+    @Override
+    public boolean exists(String suffix, String ext) {
+        return exists(DataSourceUtil.getFileName(baseName, suffix, ext));
+    }
+
+    @Override
+    public boolean exists(String fileName) {
+        return fileNames.contains(fileName);
+    }
+
+    @Override
+    public InputStream newInputStream(String suffix, String ext) throws IOException {
+        return newInputStream(DataSourceUtil.getFileName(baseName, suffix, ext));
+    }
+
+    @Override
+    public InputStream newInputStream(String fileName) throws IOException {
+        throw new IOException("File " + fileName + " of a streamed archive can't be read");
+    }
+
+    @Override
+    public Set<String> listNames(String regex) {
+        Pattern pattern = Pattern.compile(regex);
+        return fileNames.stream().filter(name -> pattern.matcher(name).matches()).collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    /**
+     * Write the central directory of the archive, without closing the underlying stream
+     */
+    public void finish() throws IOException {
+        if (entryOpen) {
+            throw new IOException("A file of the streamed archive is still being written");
+        }
+        zipOutputStream.finish();
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        zipOutputStream.close();
+    }
+
+    private static final class CountingOutputStream extends FilterOutputStream {
+
+        private long count;
+
+        private CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
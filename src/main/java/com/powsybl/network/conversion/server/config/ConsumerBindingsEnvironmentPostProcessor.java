@@ -0,0 +1,107 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.network.conversion.server.config;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.EnumerablePropertySource;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.PropertyResolver;
+import org.springframework.core.env.PropertySource;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Generates the start consumers bindings from the number of concurrent imports/exports a pod can run
+ * (max-concurrent-large-import for the large imports queue).
+ * <p>
+ * For each start queue, the bindings of the first consumer (consumeXxx1-in-0) declared in the configuration are used as a
+ * template and copied to the consumers consumeXxx2-in-0 ... consumeXxxN-in-0, and spring.cloud.function.definition is
+ * filled with all consumer names. Generated properties have the lowest precedence, so any explicit configuration wins.
+ */
+public class ConsumerBindingsEnvironmentPostProcessor implements EnvironmentPostProcessor {
+
+    public static final String CONSUMERS_COUNT_PROPERTY = "max-concurrent-import-export";
+
+    public static final String LARGE_IMPORT_CONSUMERS_COUNT_PROPERTY = "max-concurrent-large-import";
+
+    public static final String CASE_IMPORT_START_CONSUMER = "consumeCaseImportStart";
+
+    public static final String NETWORK_EXPORT_START_CONSUMER = "consumeNetworkExportStart";
+
+    public static final String CASE_EXPORT_START_CONSUMER = "consumeCaseExportStart";
+
+    public static final String LARGE_CASE_IMPORT_START_CONSUMER = "consumeLargeCaseImportStart";
+
+    // the consumers registered by StartConsumersRegistrar, which must be the same
+    public static final List<String> CONSUMER_NAMES = List.of(CASE_IMPORT_START_CONSUMER, NETWORK_EXPORT_START_CONSUMER, CASE_EXPORT_START_CONSUMER, LARGE_CASE_IMPORT_START_CONSUMER);
+
+    // consumers whose count is not max-concurrent-import-export
+    private static final Map<String, String> CONSUMERS_COUNT_PROPERTIES = Map.of(LARGE_CASE_IMPORT_START_CONSUMER, LARGE_IMPORT_CONSUMERS_COUNT_PROPERTY);
+
+    static final String PROPERTY_SOURCE_NAME = "consumerBindings";
+
+    private static final String FUNCTION_DEFINITION_PROPERTY = "spring.cloud.function.definition";
+
+    private static final List<String> BINDINGS_PROPERTY_PREFIXES = List.of("spring.cloud.stream.bindings.", "spring.cloud.stream.rabbit.bindings.");
+
+    public static String getFunctionName(String consumerName, int index) {
+        return consumerName + index;
+    }
+
+    public static int getConsumersCount(PropertyResolver propertyResolver, String consumerName) {
+        return propertyResolver.getProperty(CONSUMERS_COUNT_PROPERTIES.getOrDefault(consumerName, CONSUMERS_COUNT_PROPERTY), Integer.class, 0);
+    }
+
+    private static String getBindingName(String functionName) {
+        return functionName + "-in-0";
+    }
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        List<String> functionNames = new ArrayList<>();
+        for (String consumerName : CONSUMER_NAMES) {
+            String templateBindingName = getBindingName(getFunctionName(consumerName, 1));
+            int consumersCount = getConsumersCount(environment, consumerName);
+            for (int index = 1; index <= consumersCount; index++) {
+                String functionName = getFunctionName(consumerName, index);
+                functionNames.add(functionName);
+                if (index > 1) {
+                    copyBindingProperties(environment, templateBindingName, getBindingName(functionName), properties);
+                }
+            }
+        }
+        if (functionNames.isEmpty()) {
+            return;
+        }
+        properties.put(FUNCTION_DEFINITION_PROPERTY, String.join(";", functionNames));
+        environment.getPropertySources().addLast(new MapPropertySource(PROPERTY_SOURCE_NAME, properties));
+    }
+
+    private static void copyBindingProperties(ConfigurableEnvironment environment, String fromBindingName, String toBindingName, Map<String, Object> properties) {
+        // property sources are ordered by precedence, so the first value found for a name is the effective one
+        for (PropertySource<?> propertySource : environment.getPropertySources()) {
+            if (!(propertySource instanceof EnumerablePropertySource<?> enumerablePropertySource)) {
+                continue;
+            }
+            for (String prefix : BINDINGS_PROPERTY_PREFIXES) {
+                String fromPrefix = prefix + fromBindingName + ".";
+                for (String name : enumerablePropertySource.getPropertyNames()) {
+                    if (name.startsWith(fromPrefix)) {
+                        properties.putIfAbsent(prefix + toBindingName + "." + name.substring(fromPrefix.length()),
+                            enumerablePropertySource.getProperty(name));
+                    }
+                }
+            }
+        }
+    }
+}
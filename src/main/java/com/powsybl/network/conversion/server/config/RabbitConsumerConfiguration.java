@@ -33,7 +33,7 @@ public class RabbitConsumerConfiguration {
      */
     @Bean
     public ListenerContainerCustomizer<MessageListenerContainer> customizer(BindingServiceProperties bindingServiceProperties) {
-        List<String> loadBalancedGroups = List.of("importGroup", "exportNetworkGroup", "exportCaseGroup");
+        List<String> loadBalancedGroups = List.of("importGroup", "importLargeGroup", "exportNetworkGroup", "exportCaseGroup");
         Map<String, AtomicInteger> groupIndexes = new ConcurrentHashMap<>();
         /*
          * Using AtomicInteger as in org/springframework/cloud/stream/binder/rabbit/RabbitMessageChannelBinder.java
@@ -33,5 +33,12 @@ public class CaseInfos {
     protected String name;
     @NonNull
     protected String format;
+    /**
+     * Key of the case file in the S3 bucket of the service, null if the case is only readable through the case server
+     */
+    protected String s3Key;
 
+    public CaseInfos(UUID uuid, String name, String format) {
+        this(uuid, name, format, null);
+    }
 }
@@ -0,0 +1,28 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.network.conversion.server.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.powsybl.iidm.network.IdentifiableType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Schema(description = "Change of an equipment between two variants")
+public class EquipmentDelta {
+
+    private String id;
+
+    private IdentifiableType type;
+
+    // all the attributes of a created equipment, the changed attributes (null when removed) of a modified equipment, null for a removed equipment
+    private JsonNode attributes;
+}
@@ -0,0 +1,39 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.network.conversion.server.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Schema(description = "Result of a format and variant of a multi-format export")
+public class ExportFormatResult {
+
+    private String format;
+
+    // the variant of the export, null for the initial variant of a single variant export
+    private String variantId;
+
+    // the S3 key of the exported file (of the combined archive for combined exports), null if the export failed
+    private String s3Key;
+
+    // the pre-signed URL to download the exported file directly from S3, null if not sent
+    private String downloadUrl;
+
+    // the content type of the exported file (of the combined archive for combined exports), null if the export failed
+    private String contentType;
+
+    private String error;
+
+    public ExportFormatResult(String format, String variantId, String s3Key, String error) {
+        this(format, variantId, s3Key, null, null, error);
+    }
+}
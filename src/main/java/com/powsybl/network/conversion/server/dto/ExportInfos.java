@@ -30,4 +30,11 @@ public class ExportInfos {
     private Map<String, Object> formatParameters;
 
     private String extraData;
+
+    // the user requesting the export, sharing the pending exports fairly across users
+    private String userId;
+
+    public ExportInfos(String filename, UUID exportUuid, String format, String receiver, Map<String, Object> formatParameters, String extraData) {
+        this(filename, exportUuid, format, receiver, formatParameters, extraData, null);
+    }
 }
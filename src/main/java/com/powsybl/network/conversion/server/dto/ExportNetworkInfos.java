@@ -27,4 +27,17 @@ public class ExportNetworkInfos {
 
     private long numberBuses;
 
+    /**
+     * The exported archive of a network exported in memory, the temporary file path being null
+     */
+    private byte[] content;
+
+    public ExportNetworkInfos(String networkName, Path tempFilePath, long numberBuses) {
+        this(networkName, tempFilePath, numberBuses, null);
+    }
+
+    public boolean isInMemory() {
+        return content != null;
+    }
+
 }
@@ -0,0 +1,41 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.network.conversion.server.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Schema(description = "Area of a partial export : the voltage levels of the given substations or voltage levels, in the nominal voltage range")
+public class NetworkExportFilter {
+
+    // no filter on the substations and voltage levels when both are null or empty
+    private List<String> substationIds;
+
+    private List<String> voltageLevelIds;
+
+    private Double minNominalVoltage;
+
+    private Double maxNominalVoltage;
+
+    @JsonIgnore
+    public boolean hasIds() {
+        return substationIds != null && !substationIds.isEmpty() || voltageLevelIds != null && !voltageLevelIds.isEmpty();
+    }
+
+    @JsonIgnore
+    public boolean isEmpty() {
+        return !hasIds() && minNominalVoltage == null && maxNominalVoltage == null;
+    }
+}
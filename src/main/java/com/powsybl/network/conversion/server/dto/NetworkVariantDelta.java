@@ -0,0 +1,34 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.network.conversion.server.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Schema(description = "Equipments created, modified and removed in a variant compared to a reference variant")
+public class NetworkVariantDelta {
+
+    private UUID networkUuid;
+
+    private String referenceVariantId;
+
+    private String variantId;
+
+    private List<EquipmentDelta> created;
+
+    private List<EquipmentDelta> modified;
+
+    private List<EquipmentDelta> removed;
+}
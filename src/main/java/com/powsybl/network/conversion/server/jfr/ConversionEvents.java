@@ -0,0 +1,142 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.network.conversion.server.jfr;
+
+import io.micrometer.context.ContextRegistry;
+import io.micrometer.observation.Observation;
+
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.LongSupplier;
+
+/**
+ * Creates the {@link ConversionPhaseEvent} flight recorder events.
+ * The case and network of the running job are bound to the job thread and propagated to its subtasks with the context
+ * of the executors, so that every phase event carries them. The details of a phase (bytes, equipments) are added to
+ * the phase event running on the current thread, and only computed when the event is recorded.
+ */
+public final class ConversionEvents {
+
+    private static final String JOB_CONTEXT_KEY = "network-conversion-job";
+
+    private static final ThreadLocal<JobIds> CURRENT_JOB = new ThreadLocal<>();
+
+    private static final ThreadLocal<ConversionPhaseEvent> CURRENT_PHASE = new ThreadLocal<>();
+
+    static {
+        ContextRegistry.getInstance().registerThreadLocalAccessor(JOB_CONTEXT_KEY, CURRENT_JOB::get, CURRENT_JOB::set, CURRENT_JOB::remove);
+    }
+
+    private record JobIds(UUID caseUuid, UUID networkUuid) {
+    }
+
+    private ConversionEvents() {
+    }
+
+    /**
+     * Run a job (or a part of a job once its network is known), its phase events carrying the given case and network
+     * @param caseUuid the case UUID, null if not known or not related to a case
+     * @param networkUuid the network UUID, null if not known yet or not related to a network
+     */
+    public static <T, E extends Throwable> T inJob(UUID caseUuid, UUID networkUuid, Observation.CheckedCallable<T, E> callable) throws E {
+        JobIds previous = CURRENT_JOB.get();
+        CURRENT_JOB.set(new JobIds(caseUuid, networkUuid));
+        try {
+            return callable.call();
+        } finally {
+            if (previous != null) {
+                CURRENT_JOB.set(previous);
+            } else {
+                CURRENT_JOB.remove();
+            }
+        }
+    }
+
+    public static <E extends Throwable> void inJob(UUID caseUuid, UUID networkUuid, Observation.CheckedRunnable<E> runnable) throws E {
+        inJob(caseUuid, networkUuid, () -> {
+            runnable.run();
+            return null;
+        });
+    }
+
+    /**
+     * Run the remaining part of the current job once its network is known
+     */
+    public static <T, E extends Throwable> T inNetwork(UUID networkUuid, Observation.CheckedCallable<T, E> callable) throws E {
+        JobIds jobIds = CURRENT_JOB.get();
+        return inJob(jobIds != null ? jobIds.caseUuid() : null, networkUuid, callable);
+    }
+
+    public static ConversionPhaseEvent beginPhase(String phase, String format) {
+        ConversionPhaseEvent event = createPhase(phase, format);
+        event.previous = CURRENT_PHASE.get();
+        CURRENT_PHASE.set(event);
+        return event;
+    }
+
+    public static void endPhase(ConversionPhaseEvent event, boolean success) {
+        if (event.previous != null) {
+            CURRENT_PHASE.set(event.previous);
+        } else {
+            CURRENT_PHASE.remove();
+        }
+        commit(event, success);
+    }
+
+    /**
+     * Create a phase event not bound to the current thread, for the phases which do not run in a single call
+     * (e.g. downloads consumed by the importers), to be committed with {@link #commit}
+     */
+    public static ConversionPhaseEvent createPhase(String phase, String format) {
+        ConversionPhaseEvent event = new ConversionPhaseEvent();
+        if (event.isEnabled()) {
+            event.phase = phase;
+            event.format = format;
+            JobIds jobIds = CURRENT_JOB.get();
+            if (jobIds != null) {
+                event.caseUuid = Objects.toString(jobIds.caseUuid(), null);
+                event.networkUuid = Objects.toString(jobIds.networkUuid(), null);
+            }
+            event.begin();
+        }
+        return event;
+    }
+
+    public static void commit(ConversionPhaseEvent event, boolean success) {
+        // the phase is not set when the recording was started after the creation of the event
+        if (event.phase != null && event.shouldCommit()) {
+            event.success = success;
+            event.commit();
+        }
+    }
+
+    public static void addBytes(ConversionPhaseEvent event, long bytes) {
+        if (event.phase != null) {
+            event.bytes += bytes;
+        }
+    }
+
+    /**
+     * Set the number of bytes processed by the current phase, computed only if the phase is recorded
+     */
+    public static void setBytes(LongSupplier bytes) {
+        ConversionPhaseEvent event = CURRENT_PHASE.get();
+        if (event != null && event.isEnabled()) {
+            event.bytes = bytes.getAsLong();
+        }
+    }
+
+    /**
+     * Set the number of equipments processed by the current phase, computed only if the phase is recorded
+     */
+    public static void setEquipments(LongSupplier equipments) {
+        ConversionPhaseEvent event = CURRENT_PHASE.get();
+        if (event != null && event.isEnabled()) {
+            event.equipments = equipments.getAsLong();
+        }
+    }
+}
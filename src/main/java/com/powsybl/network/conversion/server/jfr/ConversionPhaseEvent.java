@@ -0,0 +1,54 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.network.conversion.server.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event of an import/export phase (case download, importer run, flush, indexing, report upload,
+ * network reduction, exporter write, zip, S3 upload or download), created by {@link ConversionEvents}.
+ */
+@Name(ConversionPhaseEvent.NAME)
+@Label("Conversion Phase")
+@Description("A phase of a network import or export")
+@Category({"PowSyBl", "Network Conversion"})
+@StackTrace(false)
+public class ConversionPhaseEvent extends jdk.jfr.Event {
+
+    public static final String NAME = "com.powsybl.network.conversion.Phase";
+
+    @Label("Phase")
+    String phase;
+
+    @Label("Format")
+    String format;
+
+    @Label("Case UUID")
+    String caseUuid;
+
+    @Label("Network UUID")
+    String networkUuid;
+
+    @Label("Bytes")
+    @DataAmount
+    long bytes;
+
+    @Label("Equipments")
+    @Description("The number of equipments imported or indexed")
+    long equipments;
+
+    @Label("Success")
+    boolean success;
+
+    // the phase running on the same thread before this one, restored when this one ends
+    transient ConversionPhaseEvent previous;
+}
@@ -0,0 +1,143 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.network.conversion.server.jfr;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Runs time-boxed flight recordings of the pod, with the low overhead "default" JDK settings and the
+ * {@link ConversionPhaseEvent} events, stored on the local disk or on S3 when they end.
+ * A single recording runs at a time, its file being named with its start time and a random suffix, so that the
+ * recordings of the pods sharing the S3 folder never overwrite each other.
+ */
+@Service
+public class FlightRecordingService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FlightRecordingService.class);
+
+    private static final DateTimeFormatter FILE_NAME_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss").withZone(ZoneOffset.UTC);
+
+    public enum Storage {
+        LOCAL,
+        S3
+    }
+
+    private final S3Client s3Client;
+
+    private final String bucketName;
+
+    private final String recordingRootPath;
+
+    private final Path directory;
+
+    private final Duration maxDuration;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+
+    private final AtomicReference<Recording> activeRecording = new AtomicReference<>();
+
+    public FlightRecordingService(S3Client s3Client,
+                                  @Value("${spring.cloud.aws.bucket:ws-bucket}") String bucketName,
+                                  @Value("${powsybl-ws.s3.subpath.prefix:}${flight-recording.s3-subpath:flight_recordings}") String recordingRootPath,
+                                  @Value("${flight-recording.directory:/tmp}") String directory,
+                                  @Value("${flight-recording.max-duration:30m}") Duration maxDuration) {
+        this.s3Client = s3Client;
+        this.bucketName = bucketName;
+        this.recordingRootPath = recordingRootPath;
+        this.directory = Path.of(directory);
+        this.maxDuration = maxDuration;
+    }
+
+    @PreDestroy
+    private void preDestroy() {
+        scheduler.shutdownNow();
+        Recording recording = activeRecording.getAndSet(null);
+        if (recording != null) {
+            recording.close();
+        }
+    }
+
+    /**
+     * Start a recording, stored when it ends
+     * @return the path of the recording file (local storage) or its S3 key
+     * @throws ResponseStatusException with status 409 if a recording is already running
+     */
+    public String startRecording(Duration duration, Storage storage) {
+        if (duration.isNegative() || duration.isZero() || duration.compareTo(maxDuration) > 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "The recording duration must be positive and at most " + maxDuration);
+        }
+        String fileName = "network-conversion-" + FILE_NAME_FORMATTER.format(Instant.now()) + "-" + UUID.randomUUID() + ".jfr";
+        Path recordingFile = directory.resolve(fileName);
+        String s3Key = recordingRootPath + "/" + fileName;
+        Recording recording = createRecording(fileName);
+        if (!activeRecording.compareAndSet(null, recording)) {
+            recording.close();
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "A flight recording is already running");
+        }
+        recording.start();
+        scheduler.schedule(() -> storeRecording(recording, recordingFile, storage == Storage.S3 ? s3Key : null), duration.toMillis(), TimeUnit.MILLISECONDS);
+        LOGGER.info("Flight recording {} started for {}", fileName, duration);
+        return storage == Storage.S3 ? s3Key : recordingFile.toString();
+    }
+
+    private static Recording createRecording(String name) {
+        Recording recording;
+        try {
+            recording = new Recording(Configuration.getConfiguration("default"));
+        } catch (IOException | ParseException e) {
+            throw new IllegalStateException("Failed to load the default flight recorder configuration", e);
+        }
+        recording.setName(name);
+        recording.enable(ConversionPhaseEvent.class);
+        return recording;
+    }
+
+    private void storeRecording(Recording recording, Path recordingFile, String s3Key) {
+        try (recording) {
+            recording.stop();
+            recording.dump(recordingFile);
+            if (s3Key != null) {
+                try {
+                    s3Client.putObject(PutObjectRequest.builder().bucket(bucketName).key(s3Key).build(), RequestBody.fromFile(recordingFile));
+                } finally {
+                    Files.deleteIfExists(recordingFile);
+                }
+            }
+            LOGGER.info("Flight recording {} stored to {}", recording.getName(), s3Key != null ? s3Key : recordingFile);
+        } catch (IOException | SdkException e) {
+            LOGGER.error("Failed to store flight recording " + recording.getName(), e);
+        } finally {
+            activeRecording.compareAndSet(recording, null);
+        }
+    }
+}
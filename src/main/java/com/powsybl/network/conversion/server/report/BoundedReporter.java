@@ -0,0 +1,168 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ * SPDX-License-Identifier: MPL-2.0
+ */
+package com.powsybl.network.conversion.server.report;
+
+import com.powsybl.commons.report.ReportNode;
+import com.powsybl.commons.report.ReportNodeAdder;
+import com.powsybl.commons.report.TypedValue;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounds the memory used by a report, whatever the number of messages the importer produces:
+ * report nodes below a severity threshold are dropped, and only the first report nodes of each message key are kept
+ * as examples, the others being only counted. A summary of the suppressed report nodes can then be added to the report.
+ * <p>
+ * The bound applies to all the report nodes added under a report node returned by {@link #wrap(ReportNode)}.
+ */
+public final class BoundedReporter {
+
+    // severities from the lowest to the highest
+    private static final List<String> SEVERITIES = List.of("TRACE", "DEBUG", "INFO", "WARN", "ERROR");
+
+    private final int maxNodesPerKey;
+
+    private final int minSeverityLevel;
+
+    private final Map<String, KeyCounts> countsByKey = new ConcurrentHashMap<>();
+
+    private final AtomicLong suppressedCount = new AtomicLong();
+
+    private static final class KeyCounts {
+        private final AtomicLong total = new AtomicLong();
+        private final AtomicLong kept = new AtomicLong();
+    }
+
+    /**
+     * @param maxNodesPerKey the maximum number of report nodes kept for each message key, 0 meaning no limit
+     * @param minSeverity the severity below which report nodes are dropped
+     */
+    public BoundedReporter(int maxNodesPerKey, String minSeverity) {
+        this.maxNodesPerKey = maxNodesPerKey > 0 ? maxNodesPerKey : Integer.MAX_VALUE;
+        this.minSeverityLevel = getSeverityLevel(minSeverity);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the severity is unknown
+     */
+    public static int getSeverityLevel(String severity) {
+        int severityLevel = SEVERITIES.indexOf(Objects.requireNonNull(severity));
+        if (severityLevel < 0) {
+            throw new IllegalArgumentException("Unknown report severity " + severity + ", expected one of " + SEVERITIES);
+        }
+        return severityLevel;
+    }
+
+    public static boolean isBounding(int maxNodesPerKey, String minSeverity) {
+        return maxNodesPerKey > 0 || getSeverityLevel(minSeverity) > 0;
+    }
+
+    public ReportNode wrap(ReportNode reportNode) {
+        return (ReportNode) Proxy.newProxyInstance(ReportNode.class.getClassLoader(), new Class<?>[] {ReportNode.class},
+            new ReportNodeHandler(reportNode));
+    }
+
+    public long getSuppressedCount() {
+        return suppressedCount.get();
+    }
+
+    /**
+     * Add to the given report node a summary of the suppressed report nodes of each message key
+     */
+    public void addSummary(ReportNode reportNode) {
+        countsByKey.forEach((messageKey, counts) -> {
+            long total = counts.total.get();
+            long suppressed = total - counts.kept.get();
+            if (suppressed > 0) {
+                reportNode.newReportNode()
+                    .withMessageTemplate("network.conversion.server.suppressedReports")
+                    .withUntypedValue("messageKey", messageKey)
+                    .withUntypedValue("suppressedCount", String.valueOf(suppressed))
+                    .withUntypedValue("count", String.valueOf(total))
+                    .add();
+            }
+        });
+    }
+
+    private boolean keep(String messageKey, String severity) {
+        KeyCounts counts = countsByKey.computeIfAbsent(String.valueOf(messageKey), k -> new KeyCounts());
+        counts.total.incrementAndGet();
+        // report nodes without a known severity (sections...) are never dropped because of their severity
+        boolean kept = (severity == null || SEVERITIES.indexOf(severity) < 0 || SEVERITIES.indexOf(severity) >= minSeverityLevel)
+            && counts.kept.getAndUpdate(k -> k < maxNodesPerKey ? k + 1 : k) < maxNodesPerKey;
+        if (!kept) {
+            suppressedCount.incrementAndGet();
+        }
+        return kept;
+    }
+
+    private static Object invoke(Object delegate, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(delegate, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private final class ReportNodeHandler implements InvocationHandler {
+
+        private final ReportNode delegate;
+
+        private ReportNodeHandler(ReportNode delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = BoundedReporter.invoke(delegate, method, args);
+            if ("newReportNode".equals(method.getName()) && result instanceof ReportNodeAdder adder) {
+                return Proxy.newProxyInstance(ReportNodeAdder.class.getClassLoader(), new Class<?>[] {ReportNodeAdder.class},
+                    new ReportNodeAdderHandler(adder));
+            }
+            return result;
+        }
+    }
+
+    private final class ReportNodeAdderHandler implements InvocationHandler {
+
+        private final ReportNodeAdder delegate;
+
+        private String messageKey;
+
+        private String severity;
+
+        private ReportNodeAdderHandler(ReportNodeAdder delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "withMessageTemplate" -> messageKey = (String) args[0];
+                case "withSeverity" -> severity = args[0] instanceof TypedValue typedValue ? String.valueOf(typedValue.getValue()) : String.valueOf(args[0]);
+                case "add" -> {
+                    return keep(messageKey, severity) ? wrap(delegate.add()) : ReportNode.NO_OP;
+                }
+                default -> {
+                    // other adder methods are only forwarded
+                }
+            }
+            Object result = BoundedReporter.invoke(delegate, method, args);
+            // keep chaining on the proxy
+            return result == delegate ? proxy : result;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.network.conversion.server;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CaseDownloadInterceptorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final CaseDownloadInterceptor interceptor = new CaseDownloadInterceptor(new NetworkConversionObserver(ObservationRegistry.NOOP, meterRegistry));
+
+    private void get(String uri) throws IOException {
+        try (ClientHttpResponse response = interceptor.intercept(new MockClientHttpRequest(HttpMethod.GET, URI.create(uri)), new byte[0],
+            (request, body) -> new MockClientHttpResponse("case content".getBytes(), HttpStatus.OK));
+             InputStream responseBody = response.getBody()) {
+            responseBody.transferTo(OutputStream.nullOutputStream());
+        }
+    }
+
+    @Test
+    void shouldRecordOnlyTheCaseFileDownloadsWithTheCaseFormat() throws IOException {
+        CaseDownloadInterceptor.withCaseFormat("CGMES", () -> {
+            get("http://case-server/v1/cases/47b85a5c-44ec-4afc-9f7e-29e63368e83d/infos");
+            get("http://case-server/v1/cases/47b85a5c-44ec-4afc-9f7e-29e63368e83d/datasource/baseName");
+            get("http://case-server/v1/cases/47b85a5c-44ec-4afc-9f7e-29e63368e83d/datasource/exists?fileName=case_EQ.xml");
+            get("http://case-server/v1/cases/47b85a5c-44ec-4afc-9f7e-29e63368e83d/datasource/list?regex=.*");
+            get("http://case-server/v1/cases/47b85a5c-44ec-4afc-9f7e-29e63368e83d/datasource?fileName=case_EQ.xml");
+            return null;
+        });
+
+        assertEquals(1, meterRegistry.find("app.conversion.phase").tag("phase", NetworkConversionObserver.PHASE_DOWNLOAD).timers().size());
+        assertEquals(1, meterRegistry.get("app.conversion.phase").tag("phase", NetworkConversionObserver.PHASE_DOWNLOAD)
+            .tag("format", "CGMES").tag("outcome", "success").timer().count());
+    }
+}
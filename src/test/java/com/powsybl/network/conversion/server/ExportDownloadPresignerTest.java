@@ -0,0 +1,47 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.network.conversion.server;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class ExportDownloadPresignerTest {
+
+    @Test
+    void shouldSignDownloadUrlForPublicEndpointWithPathStyleAccess() {
+        try (S3Presigner publicPresigner = ExportDownloadPresigner.createPublicEndpointPresigner(URI.create("http://localhost:9000"),
+            StaticCredentialsProvider.create(AwsBasicCredentials.create("accessKey", "secretKey")), Region.US_EAST_1)) {
+            // the S3 client presigner is not used when a public endpoint is set
+            ExportDownloadPresigner presigner = new ExportDownloadPresigner(mock(S3Presigner.class), publicPresigner);
+            String exportUuid = UUID.randomUUID().toString();
+
+            URI url = URI.create(presigner.presignDownloadUrl("ws-bucket", "exports/" + exportUuid + "/network.zip", Duration.ofMinutes(5)));
+
+            assertEquals("http", url.getScheme());
+            assertEquals("localhost", url.getHost());
+            assertEquals(9000, url.getPort());
+            assertEquals("/ws-bucket/exports/" + exportUuid + "/network.zip", url.getPath());
+            String query = url.getQuery();
+            assertTrue(query.contains("X-Amz-Algorithm=AWS4-HMAC-SHA256"));
+            assertTrue(query.contains("X-Amz-Credential=accessKey/"));
+            assertTrue(query.contains("/us-east-1/s3/aws4_request"));
+            assertTrue(query.contains("X-Amz-Expires=300"));
+            assertTrue(query.contains("X-Amz-Signature="));
+            assertTrue(query.contains("response-content-disposition=attachment; filename=\"network.zip\""));
+        }
+    }
+}
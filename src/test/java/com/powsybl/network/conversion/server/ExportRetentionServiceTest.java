@@ -0,0 +1,184 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.network.conversion.server;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsResponse;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
+import software.amazon.awssdk.services.s3.model.ObjectIdentifier;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectResponse;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ExportRetentionServiceTest {
+
+    private static final String BUCKET = "ws-bucket";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final NetworkConversionObserver observer = new NetworkConversionObserver(ObservationRegistry.NOOP, meterRegistry);
+
+    private final List<S3Object> objects = new ArrayList<>();
+
+    private final List<List<String>> deletedBatches = new ArrayList<>();
+
+    private S3Client s3Client;
+
+    @BeforeEach
+    void setUp() {
+        s3Client = mock(S3Client.class);
+        // the listing is returned one object per page
+        when(s3Client.listObjectsV2(any(ListObjectsV2Request.class))).thenAnswer(invocation -> {
+            ListObjectsV2Request request = invocation.getArgument(0);
+            List<S3Object> listedObjects = objects.stream().filter(object -> object.key().startsWith(request.prefix())).toList();
+            int index = request.continuationToken() != null ? Integer.parseInt(request.continuationToken()) : 0;
+            boolean truncated = index + 1 < listedObjects.size();
+            return ListObjectsV2Response.builder()
+                .contents(listedObjects.isEmpty() ? List.of() : List.of(listedObjects.get(index)))
+                .isTruncated(truncated)
+                .nextContinuationToken(truncated ? String.valueOf(index + 1) : null)
+                .build();
+        });
+        when(s3Client.putObject(any(PutObjectRequest.class), any(RequestBody.class))).thenAnswer(invocation -> {
+            PutObjectRequest request = invocation.getArgument(0);
+            boolean exists = objects.stream().anyMatch(object -> object.key().equals(request.key()));
+            if (exists && "*".equals(request.ifNoneMatch())) {
+                throw S3Exception.builder().statusCode(412).message("At least one of the pre-conditions you specified did not hold").build();
+            }
+            objects.removeIf(object -> object.key().equals(request.key()));
+            addObject(request.key(), 0, Instant.now());
+            return PutObjectResponse.builder().build();
+        });
+        when(s3Client.deleteObjects(any(DeleteObjectsRequest.class))).thenAnswer(invocation -> {
+            DeleteObjectsRequest request = invocation.getArgument(0);
+            List<String> keys = request.delete().objects().stream().map(ObjectIdentifier::key).toList();
+            deletedBatches.add(keys);
+            objects.removeIf(object -> keys.contains(object.key()));
+            return DeleteObjectsResponse.builder().build();
+        });
+    }
+
+    private void addObject(String key, long size, Instant lastModified) {
+        objects.add(S3Object.builder().key(key).size(size).lastModified(lastModified).build());
+    }
+
+    private ExportRetentionService createService(Duration ttl, DataSize maxTotalSize, int deleteBatchSize) {
+        return new ExportRetentionService(s3Client, observer, BUCKET, "exports", ttl, maxTotalSize, Duration.ofHours(1), deleteBatchSize);
+    }
+
+    private double evicted(String reason) {
+        return meterRegistry.get("app.conversion.export.storage.evicted").tag("reason", reason).counter().count();
+    }
+
+    @Test
+    void shouldEvictExpiredExports() {
+        Instant now = Instant.now();
+        addObject("exports/old/network.zip", 100, now.minus(Duration.ofDays(2)));
+        addObject("exports/old/", 0, now.minus(Duration.ofDays(2)));
+        addObject("exports/new/network.xiidm", 50, now.minus(Duration.ofHours(1)));
+        addObject("exports/other/", 0, now);
+        // an old export downloaded recently, and the marker of an export deleted since its last download
+        addObject("exports/accessed/network.zip", 20, now.minus(Duration.ofDays(2)));
+        addObject("exports-retention/access/accessed", 0, now.minus(Duration.ofHours(2)));
+        addObject("exports-retention/access/deleted", 0, now.minus(Duration.ofDays(3)));
+        ExportRetentionService service = createService(Duration.ofDays(1), DataSize.ofBytes(0), 1000);
+        assertTrue(service.isEnabled());
+
+        service.sweep();
+        assertEquals(List.of(List.of("exports-retention/access/deleted"), List.of("exports/old/network.zip")), deletedBatches);
+        assertEquals(1, evicted(NetworkConversionObserver.EVICTION_REASON_AGE));
+        assertEquals(2, meterRegistry.get("app.conversion.export.storage.exports").gauge().value());
+        assertEquals(70, meterRegistry.get("app.conversion.export.storage.size").gauge().value());
+
+        // the downloads find the tracked files without listing
+        assertEquals(Optional.of("exports/new/network.xiidm"), service.findExportKey("exports/new/network"));
+        assertEquals(Optional.empty(), service.findExportKey("exports/old/network"));
+        assertEquals(Optional.empty(), service.findExportKey("exports/new/other"));
+
+        // an export deleted elsewhere is forgotten
+        service.forgetExport("exports/new/network.xiidm");
+        assertEquals(Optional.empty(), service.findExportKey("exports/new/network"));
+    }
+
+    @Test
+    void shouldEvictOldestExportsAboveQuota() {
+        Instant now = Instant.now();
+        addObject("exports/e1/network.zip", 100, now.minus(Duration.ofHours(3)));
+        addObject("exports/e2/network_EQ.xml", 60, now.minus(Duration.ofHours(2)));
+        addObject("exports/e2/network_TP.xml", 40, now.minus(Duration.ofHours(2)));
+        ExportRetentionService service = createService(Duration.ZERO, DataSize.ofBytes(200), 1);
+        service.sweep();
+        assertTrue(deletedBatches.isEmpty());
+
+        // e1 is the oldest export, but its download makes e2 the least recently accessed one
+        assertTrue(service.findExportKey("exports/e1/network").isPresent());
+        service.recordAccess("exports/e1/network.zip");
+        addObject("exports/e3/network.zip", 100, now.minus(Duration.ofHours(1)));
+        addObject("exports/e4/network.zip", 10, now);
+        service.recordExport("exports/e4/network.zip", 10);
+        service.sweep();
+
+        assertEquals(3, deletedBatches.size());
+        assertEquals(List.of("exports/e2/network_EQ.xml", "exports/e2/network_TP.xml", "exports/e3/network.zip"),
+            deletedBatches.stream().flatMap(List::stream).sorted().toList());
+        assertEquals(2, evicted(NetworkConversionObserver.EVICTION_REASON_QUOTA));
+        assertEquals(200, meterRegistry.get("app.conversion.export.storage.evicted.size")
+            .tag("reason", NetworkConversionObserver.EVICTION_REASON_QUOTA).counter().count());
+        assertTrue(service.findExportKey("exports/e1/network").isPresent());
+        assertTrue(service.findExportKey("exports/e2/network").isEmpty());
+        assertTrue(service.findExportKey("exports/e3/network").isEmpty());
+        assertTrue(service.findExportKey("exports/e4/network").isPresent());
+    }
+
+    @Test
+    void shouldNotTrackExportsWhenDisabled() {
+        ExportRetentionService service = createService(Duration.ZERO, DataSize.ofBytes(0), 1000);
+        assertFalse(service.isEnabled());
+        service.recordExport("exports/e1/network.zip", 100);
+        service.recordAccess("exports/e1/network.zip");
+        assertEquals(Optional.empty(), service.findExportKey("exports/e1/network"));
+        verify(s3Client, never()).putObject(any(PutObjectRequest.class), any(RequestBody.class));
+    }
+
+    @Test
+    void shouldSweepFromASinglePod() {
+        Instant now = Instant.now();
+        addObject("exports/old/network.zip", 100, now.minus(Duration.ofDays(2)));
+        addObject("exports-retention/sweep/1", 0, now.minus(Duration.ofDays(2)));
+        ExportRetentionService service = createService(Duration.ofDays(1), DataSize.ofBytes(0), 1000);
+        ExportRetentionService otherService = createService(Duration.ofDays(1), DataSize.ofBytes(0), 1000);
+
+        // the first pod takes the lock of the interval, deleting the locks of the previous ones
+        assertTrue(service.sweepIfElected());
+        assertEquals(List.of(List.of("exports-retention/sweep/1"), List.of("exports/old/network.zip")), deletedBatches);
+        assertFalse(otherService.sweepIfElected());
+        assertEquals(2, deletedBatches.size());
+        assertEquals(1, objects.stream().filter(object -> object.key().startsWith("exports-retention/sweep/")).count());
+    }
+}
@@ -0,0 +1,120 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.network.conversion.server;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FairShareTaskQueueTest {
+
+    private final List<String> executed = new ArrayList<>();
+
+    private Runnable task(String name) {
+        return () -> executed.add(name);
+    }
+
+    private void pollAll(FairShareTaskQueue queue) {
+        Runnable task;
+        while ((task = queue.poll()) != null) {
+            task.run();
+        }
+    }
+
+    @Test
+    void shouldDispatchInRoundRobinAcrossTenants() {
+        FairShareTaskQueue queue = new FairShareTaskQueue(Map.of());
+        queue.addTask("user1", task("user1-1"));
+        queue.addTask("user1", task("user1-2"));
+        queue.addTask("user1", task("user1-3"));
+        queue.addTask("user2", task("user2-1"));
+        queue.addTask("user3", task("user3-1"));
+        queue.addTask("user2", task("user2-2"));
+
+        assertEquals(3, queue.size("user1"));
+        assertEquals(0, queue.size("unknown"));
+
+        pollAll(queue);
+
+        assertEquals(List.of("user1-1", "user2-1", "user3-1", "user1-2", "user2-2", "user1-3"), executed);
+        assertEquals(0, queue.size("user1"));
+    }
+
+    @Test
+    void shouldServeTenantsAccordingToTheirWeight() {
+        FairShareTaskQueue queue = new FairShareTaskQueue(Map.of("user1", 2));
+        queue.addTask("user1", task("user1-1"));
+        queue.addTask("user1", task("user1-2"));
+        queue.addTask("user1", task("user1-3"));
+        queue.addTask("user2", task("user2-1"));
+        queue.addTask("user2", task("user2-2"));
+
+        pollAll(queue);
+
+        assertEquals(List.of("user1-1", "user1-2", "user2-1", "user1-3", "user2-2"), executed);
+    }
+
+    @Test
+    void shouldDispatchPriorityTasksFirst() {
+        FairShareTaskQueue queue = new FairShareTaskQueue(Map.of());
+        queue.addTask("user1", task("user1-1"));
+        queue.addPriorityTask(task("interactive-1"));
+        queue.addTask("user2", task("user2-1"));
+        queue.addPriorityTask(task("interactive-2"));
+
+        assertEquals(2, queue.prioritySize());
+
+        pollAll(queue);
+
+        assertEquals(List.of("interactive-1", "interactive-2", "user1-1", "user2-1"), executed);
+        assertNull(queue.poll());
+    }
+
+    @Test
+    void shouldRemovePendingTasks() {
+        FairShareTaskQueue queue = new FairShareTaskQueue(Map.of("user1", 2));
+        Runnable removedTask = task("user2-1");
+        queue.addTask("user1", task("user1-1"));
+        queue.addTask("user2", removedTask);
+        queue.addTask("user3", task("user3-1"));
+        assertEquals(3, queue.size());
+
+        assertTrue(queue.remove(removedTask));
+        assertFalse(queue.remove(removedTask));
+        assertEquals(2, queue.size());
+
+        pollAll(queue);
+
+        assertEquals(List.of("user1-1", "user3-1"), executed);
+    }
+
+    @Test
+    void shouldBoundTenantsToUsersAndConfiguredTags() {
+        FairShareTaskQueue queue = new FairShareTaskQueue(Map.of("user1", 2));
+        assertEquals("user1", FairShareTaskQueue.getTenant("user1", "study1"));
+        assertEquals("study1", FairShareTaskQueue.getTenant(null, "study1"));
+
+        assertEquals("user1", queue.getTenantTag("user1"));
+        assertEquals(FairShareTaskQueue.INTERACTIVE_TENANT, queue.getTenantTag(FairShareTaskQueue.INTERACTIVE_TENANT));
+        assertEquals(FairShareTaskQueue.OTHER_TENANTS_TAG, queue.getTenantTag("user2"));
+        assertEquals(Set.of("user1", FairShareTaskQueue.INTERACTIVE_TENANT, FairShareTaskQueue.OTHER_TENANTS_TAG), queue.getTenantTags());
+
+        // the pending tasks are counted by tenant tag, the priority tasks being interactive
+        queue.addTask("user1", task("user1-1"));
+        queue.addTask("user2", task("user2-1"));
+        queue.addTask("user3", task("user3-1"));
+        queue.addPriorityTask(task("interactive-1"));
+        assertEquals(1, queue.sizeByTenantTag("user1"));
+        assertEquals(2, queue.sizeByTenantTag(FairShareTaskQueue.OTHER_TENANTS_TAG));
+        assertEquals(1, queue.sizeByTenantTag(FairShareTaskQueue.INTERACTIVE_TENANT));
+    }
+}
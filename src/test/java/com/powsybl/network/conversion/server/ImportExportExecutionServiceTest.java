@@ -15,7 +15,12 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 
 import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -57,7 +62,7 @@ class ImportExportExecutionServiceTest {
             }
         });
 
-        ImportExportExecutionService service = new ImportExportExecutionService(1,
+        ImportExportExecutionService service = new ImportExportExecutionService(1, 1, Map.of(), true,
             new NetworkConversionObserver(ObservationRegistry.create(), new SimpleMeterRegistry()));
 
         Field executorField = ImportExportExecutionService.class.getDeclaredField("executorService");
@@ -70,4 +75,62 @@ class ImportExportExecutionServiceTest {
         assertEquals("expected-context", executorService.submit(threadLocal::get).get());
 
     }
+
+    @Test
+    void supplyAsyncAccountsJobResourceUsage() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ImportExportExecutionService service = new ImportExportExecutionService(1, 1, Map.of(), true,
+            new NetworkConversionObserver(ObservationRegistry.create(), meterRegistry));
+
+        assertEquals(1024, service.supplyAsync("tenant", NetworkConversionObserver.JOB_TYPE_EXPORT, "XIIDM", () -> new byte[1024].length).join());
+        assertEquals(1, meterRegistry.get("app.conversion.job.allocated").tag("job", "export").tag("format", "XIIDM").summary().count());
+        assertTrue(meterRegistry.get("app.conversion.job.allocated").tag("job", "export").tag("format", "XIIDM").summary().totalAmount() >= 1024);
+
+        // a job accounted by its submitter is recorded by the submitter only
+        JobResourceUsage jobResourceUsage = new JobResourceUsage();
+        jobResourceUsage.measure(() -> service.supplyAsync("tenant", NetworkConversionObserver.JOB_TYPE_IMPORT, "CGMES", () -> new byte[1024 * 1024].length).join());
+        assertTrue(jobResourceUsage.getAllocatedBytes() >= 1024 * 1024);
+        assertNull(meterRegistry.find("app.conversion.job.allocated").tag("job", "import").summary());
+        assertNull(JobResourceUsage.current());
+    }
+
+    @Test
+    void supplyInteractiveLargeImportAsyncRunsOnLargeImportLane() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ImportExportExecutionService service = new ImportExportExecutionService(1, 1, Map.of(), true,
+            new NetworkConversionObserver(ObservationRegistry.create(), meterRegistry));
+
+        assertEquals(1, service.supplyInteractiveLargeImportAsync(NetworkConversionObserver.JOB_TYPE_IMPORT, "CGMES", () -> 1).join());
+        assertEquals(1, meterRegistry.get("app.conversion.tasks.queue.wait")
+            .tag("lane", NetworkConversionObserver.TASK_LANE_TAG_VALUE_LARGE_IMPORT)
+            .tag("tenant", FairShareTaskQueue.INTERACTIVE_TENANT)
+            .timer().count());
+        assertTrue(meterRegistry.find("app.conversion.tasks.queue.wait").tag("lane", NetworkConversionObserver.TASK_LANE_TAG_VALUE_DEFAULT).timers().isEmpty());
+    }
+
+    @Test
+    void supplyAsyncFailsWhenShutDown() throws Exception {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ImportExportExecutionService service = new ImportExportExecutionService(1, 1, Map.of("user1", 2), true,
+            new NetworkConversionObserver(ObservationRegistry.create(), meterRegistry));
+
+        assertEquals(1, service.supplyAsync("user1", NetworkConversionObserver.JOB_TYPE_EXPORT, "XIIDM", () -> 1).join());
+        assertEquals(1, service.supplyAsync("user2", NetworkConversionObserver.JOB_TYPE_EXPORT, "XIIDM", () -> 1).join());
+        // a single queue size gauge per lane, and the unknown tenants gathered in a single tag
+        assertEquals(0, meterRegistry.get("app.conversion.tasks.queue.size").tag("lane", NetworkConversionObserver.TASK_LANE_TAG_VALUE_DEFAULT).gauge().value());
+        assertEquals(1, meterRegistry.get("app.conversion.tasks.queue.wait").tag("tenant", "user1").timer().count());
+        assertEquals(1, meterRegistry.get("app.conversion.tasks.queue.wait").tag("tenant", "other").timer().count());
+        // a queue depth gauge per lane and tenant tag
+        assertEquals(0, meterRegistry.get("app.conversion.tasks.queue.depth")
+            .tag("lane", NetworkConversionObserver.TASK_LANE_TAG_VALUE_DEFAULT).tag("tenant", "user1").gauge().value());
+        assertEquals(3, meterRegistry.find("app.conversion.tasks.queue.depth").tag("lane", NetworkConversionObserver.TASK_LANE_TAG_VALUE_LARGE_IMPORT).gauges().size());
+
+        Method preDestroy = ImportExportExecutionService.class.getDeclaredMethod("preDestroy");
+        preDestroy.setAccessible(true);
+        preDestroy.invoke(service);
+
+        CompletableFuture<Integer> future = service.supplyAsync("user1", NetworkConversionObserver.JOB_TYPE_EXPORT, "XIIDM", () -> 1);
+        CompletionException exception = assertThrows(CompletionException.class, future::join);
+        assertInstanceOf(RejectedExecutionException.class, exception.getCause());
+    }
 }
@@ -0,0 +1,515 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.network.conversion.server;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.powsybl.commons.datasource.ReadOnlyDataSource;
+import com.powsybl.commons.report.ReportNode;
+import com.powsybl.iidm.network.Network;
+import com.powsybl.iidm.serde.NetworkSerDe;
+import com.powsybl.network.conversion.server.dto.ExportInfos;
+import com.powsybl.network.store.client.NetworkStoreService;
+import com.powsybl.network.store.client.PreloadingStrategy;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.core5.io.CloseMode;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.cloud.stream.binder.test.OutputDestination;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.messaging.Message;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+
+/**
+ * Throughput harness driving concurrent import, network export and case conversion jobs through the real consumers.
+ * The case server, the report server and S3 are local HTTP stand-ins, called through real HTTP clients: the S3 client
+ * is the one of the application, and the case and report server clients are built either with the connection pools of
+ * {@link PooledHttpClientFactory} or without connection reuse, each run of the harness measuring one of them.
+ * The network store is still a Mockito stand-in answering with synthetic networks of configurable size, the imports
+ * downloading the case through the case data source before building it. Elasticsearch is the embedded one of the other tests.
+ * <p>
+ * Not run by the default build, run it with:
+ * <pre>
+ * mvn test -Dtest=ImportExportLoadTest -Dloadtest=true [-Dloadtest.jobs=20] [-Dloadtest.substations=1000]
+ *     [-Dloadtest.concurrency=4] [-Dloadtest.remote-latency-ms=0] [-Dloadtest.output=target/loadtest-result.json]
+ * </pre>
+ * The throughput, the latency percentiles of each job type and of each import/export phase, the heap peak, the GC time
+ * and the connections opened to each stand-in are written as json in the output file, for the unpooled and pooled clients.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.MOCK, properties = {
+    "max-concurrent-import-export=${loadtest.concurrency:4}",
+    "management.metrics.distribution.percentiles.app.conversion=0.5,0.95,0.99"
+})
+@ContextConfigurationWithTestChannel
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+class ImportExportLoadTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ImportExportLoadTest.class);
+
+    private static final String CASE_NAME = "synthetic";
+    private static final String FORMAT = "XIIDM";
+    private static final String UNPOOLED = "unpooled";
+    private static final String POOLED = "pooled";
+    private static final List<String> PHASE_METER_NAMES = List.of(
+        "app.conversion.import.total",
+        "app.conversion.import.processing",
+        "app.conversion.export.total",
+        "app.conversion.export.processing",
+        "app.conversion.tasks.queue.wait");
+
+    private static final int JOB_COUNT = Integer.getInteger("loadtest.jobs", 20);
+    private static final int SUBSTATION_COUNT = Integer.getInteger("loadtest.substations", 1000);
+    private static final long REMOTE_LATENCY_MS = Long.getLong("loadtest.remote-latency-ms", 0);
+    private static final Path OUTPUT_FILE = Path.of(System.getProperty("loadtest.output", "target/loadtest-result.json"));
+
+    private static final Map<String, Object> RESULTS = new LinkedHashMap<>();
+
+    private static byte[] caseContent;
+
+    private static StandInServer caseServer;
+
+    private static StandInServer reportServer;
+
+    private static StandInServer s3Server;
+
+    @MockitoBean
+    private NetworkStoreService networkStoreClient;
+
+    @Autowired
+    private NetworkConversionService networkConversionService;
+
+    @Autowired
+    private NetworkConversionObserver networkConversionObserver;
+
+    @Autowired
+    private PooledHttpClientFactory pooledHttpClientFactory;
+
+    @Autowired
+    private RestTemplateBuilder restTemplateBuilder;
+
+    @Autowired
+    private OutputDestination output;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ObjectMapper mapper;
+
+    private final List<CloseableHttpClient> unpooledHttpClients = new ArrayList<>();
+
+    @DynamicPropertySource
+    static void remoteServices(DynamicPropertyRegistry registry) {
+        startStandIns();
+        registry.add("spring.cloud.aws.endpoint", s3Server::getUri);
+        registry.add("spring.cloud.aws.region.static", () -> "us-east-1");
+        registry.add("spring.cloud.aws.credentials.access-key", () -> "loadtest");
+        registry.add("spring.cloud.aws.credentials.secret-key", () -> "loadtest");
+        registry.add("spring.cloud.aws.s3.path-style-access-enabled", () -> "true");
+        registry.add("spring.cloud.aws.s3.checksum-validation-enabled", () -> "false");
+        registry.add("spring.cloud.aws.s3.chunked-encoding-enabled", () -> "false");
+    }
+
+    private static synchronized void startStandIns() {
+        if (caseServer != null) {
+            return;
+        }
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        NetworkSerDe.write(SyntheticNetworks.create(SUBSTATION_COUNT), os);
+        caseContent = os.toByteArray();
+        caseServer = new StandInServer(ImportExportLoadTest::answerCaseServer);
+        reportServer = new StandInServer(ImportExportLoadTest::answerReportServer);
+        s3Server = new StandInServer(ImportExportLoadTest::answerS3);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        caseServer.stop();
+        reportServer.stop();
+        s3Server.stop();
+    }
+
+    @BeforeEach
+    void setUp() {
+        mockNetworkStore();
+    }
+
+    /**
+     * Case server stand-in serving the synthetic case as the only file of every case data source
+     */
+    private static void answerCaseServer(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        String query = Objects.requireNonNullElse(exchange.getRequestURI().getQuery(), "");
+        if (path.endsWith("/infos")) {
+            UUID caseUuid = UUID.fromString(path.split("/")[3]);
+            sendJson(exchange, "{\"uuid\":\"" + caseUuid + "\",\"name\":\"" + CASE_NAME + "\",\"format\":\"" + FORMAT + "\"}");
+        } else if (path.endsWith("/datasource/baseName")) {
+            send(exchange, "text/plain", CASE_NAME.getBytes(StandardCharsets.UTF_8));
+        } else if (path.endsWith("/datasource/exists")) {
+            sendJson(exchange, String.valueOf(query.contains("xiidm")));
+        } else if (path.endsWith("/datasource/list")) {
+            sendJson(exchange, "[]");
+        } else if (path.endsWith("/datasource")) {
+            send(exchange, "application/octet-stream", caseContent);
+        } else {
+            exchange.sendResponseHeaders(404, -1);
+        }
+    }
+
+    /**
+     * Report server stand-in : reports are read and discarded
+     */
+    private static void answerReportServer(HttpExchange exchange) throws IOException {
+        exchange.getRequestBody().transferTo(OutputStream.nullOutputStream());
+        exchange.sendResponseHeaders(200, -1);
+    }
+
+    /**
+     * S3 stand-in, with path-style access : uploaded objects are read and discarded, there is no other object
+     */
+    private static void answerS3(HttpExchange exchange) throws IOException {
+        exchange.getRequestBody().transferTo(OutputStream.nullOutputStream());
+        if ("PUT".equals(exchange.getRequestMethod())) {
+            exchange.getResponseHeaders().set("ETag", "\"" + UUID.randomUUID() + "\"");
+            exchange.sendResponseHeaders(200, -1);
+        } else {
+            exchange.sendResponseHeaders(404, -1);
+        }
+    }
+
+    private static void sendJson(HttpExchange exchange, String json) throws IOException {
+        send(exchange, "application/json", json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void send(HttpExchange exchange, String contentType, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(body);
+        }
+    }
+
+    private static void simulateRemoteLatency() throws InterruptedException {
+        if (REMOTE_LATENCY_MS > 0) {
+            Thread.sleep(REMOTE_LATENCY_MS);
+        }
+    }
+
+    /**
+     * Network store stand-in : imports download the case through the data source then build a synthetic network,
+     * and loaded networks are synthetic ones
+     */
+    private void mockNetworkStore() {
+        given(networkStoreClient.importNetwork(any(ReadOnlyDataSource.class), any(ReportNode.class), any(Properties.class), anyBoolean()))
+            .willAnswer(invocation -> importSyntheticNetwork(invocation.getArgument(0), invocation.getArgument(1)));
+        given(networkStoreClient.importNetwork(any(ReadOnlyDataSource.class), any(ReportNode.class), anyBoolean()))
+            .willAnswer(invocation -> importSyntheticNetwork(invocation.getArgument(0), invocation.getArgument(1)));
+        given(networkStoreClient.getNetworkUuid(any(Network.class))).willAnswer(invocation -> UUID.randomUUID());
+        given(networkStoreClient.getNetwork(any(UUID.class), any(PreloadingStrategy.class))).willAnswer(invocation -> {
+            simulateRemoteLatency();
+            return SyntheticNetworks.create(SUBSTATION_COUNT);
+        });
+        willAnswer(invocation -> {
+            simulateRemoteLatency();
+            return null;
+        }).given(networkStoreClient).flush(any(Network.class));
+    }
+
+    private static Network importSyntheticNetwork(ReadOnlyDataSource dataSource, ReportNode reportNode) throws IOException {
+        if (dataSource.exists(null, "xiidm")) {
+            try (InputStream is = dataSource.newInputStream(null, "xiidm")) {
+                is.transferTo(OutputStream.nullOutputStream());
+            }
+        }
+        Network network = SyntheticNetworks.create(SUBSTATION_COUNT);
+        // an import report of one node per substation
+        network.getSubstations().forEach(substation -> reportNode.newReportNode()
+            .withMessageTemplate("network.conversion.server.subReporterId")
+            .withUntypedValue("subReporterId", substation.getId())
+            .add());
+        return network;
+    }
+
+    /**
+     * Client of a stand-in, built as the ones of the service, with a connection pool or without connection reuse
+     */
+    private RestTemplate createRestTemplate(String httpClient, String clientName, StandInServer server) {
+        ClientHttpRequestFactory requestFactory;
+        if (POOLED.equals(httpClient)) {
+            requestFactory = pooledHttpClientFactory.createRequestFactory(clientName);
+        } else {
+            CloseableHttpClient unpooledHttpClient = HttpClients.custom()
+                .setConnectionReuseStrategy((request, response, context) -> false)
+                .build();
+            unpooledHttpClients.add(unpooledHttpClient);
+            requestFactory = new HttpComponentsClientHttpRequestFactory(unpooledHttpClient);
+        }
+        RestTemplateBuilder builder = restTemplateBuilder.requestFactory(() -> requestFactory);
+        if (server == caseServer) {
+            builder = builder.additionalInterceptors(new CaseDownloadInterceptor(networkConversionObserver));
+        }
+        RestTemplate restTemplate = builder.build();
+        restTemplate.setUriTemplateHandler(new DefaultUriBuilderFactory(server.getUri()));
+        return restTemplate;
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {UNPOOLED, POOLED})
+    void runImportExportLoad(String httpClient) throws Exception {
+        networkConversionService.setCaseServerRest(createRestTemplate(httpClient, "loadtest-case-server", caseServer));
+        networkConversionService.setReportServerRest(createRestTemplate(httpClient, "loadtest-report-server", reportServer));
+        List.of(caseServer, reportServer, s3Server).forEach(StandInServer::reset);
+        PHASE_METER_NAMES.forEach(meterName -> meterRegistry.find(meterName).timers().forEach(meterRegistry::remove));
+
+        List<MemoryPoolMXBean> heapPools = ManagementFactory.getMemoryPoolMXBeans().stream()
+            .filter(pool -> pool.getType() == MemoryType.HEAP)
+            .toList();
+        heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+        long gcTimeBefore = getGcTimeMs();
+        long gcCountBefore = getGcCount();
+
+        // one client thread per job, the jobs being run synchronously by the test binder on the emitting thread
+        Map<String, List<Long>> latenciesByJobType = new TreeMap<>();
+        Map<String, Integer> failuresByJobType = new TreeMap<>();
+        long start = System.nanoTime();
+        ExecutorService clients = Executors.newFixedThreadPool(3 * JOB_COUNT);
+        try {
+            Map<String, List<Future<Long>>> futuresByJobType = Map.of(
+                "import", submitJobs(clients, () -> networkConversionService.importCaseAsynchronously(
+                    UUID.randomUUID(), null, UUID.randomUUID(), FORMAT, new HashMap<>(), "loadtest", "loadtest")),
+                "export", submitJobs(clients, () -> networkConversionService.exportNetworkAsynchronously(
+                    UUID.randomUUID(), null, new ExportInfos(CASE_NAME, UUID.randomUUID(), FORMAT, "loadtest", Map.of(), null))),
+                "convert", submitJobs(clients, () -> networkConversionService.exportCaseAsynchronously(
+                    UUID.randomUUID(), CASE_NAME, FORMAT, "loadtest", UUID.randomUUID(), Map.of())));
+            for (Map.Entry<String, List<Future<Long>>> entry : futuresByJobType.entrySet()) {
+                List<Long> latencies = new ArrayList<>();
+                int failures = 0;
+                for (Future<Long> future : entry.getValue()) {
+                    try {
+                        latencies.add(future.get());
+                    } catch (Exception e) {
+                        LOGGER.error("{} job failed", entry.getKey(), e);
+                        failures++;
+                    }
+                }
+                latenciesByJobType.put(entry.getKey(), latencies);
+                failuresByJobType.put(entry.getKey(), failures);
+            }
+        } finally {
+            clients.shutdownNow();
+            unpooledHttpClients.forEach(unpooledHttpClient -> unpooledHttpClient.close(CloseMode.GRACEFUL));
+            unpooledHttpClients.clear();
+        }
+        long durationNanos = System.nanoTime() - start;
+        // export failures are only notified
+        failuresByJobType.merge("export", countFailureNotifications("network.export.finished"), Integer::sum);
+        failuresByJobType.merge("convert", countFailureNotifications("case.export.finished"), Integer::sum);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("httpClient", httpClient);
+        result.put("jobsPerType", JOB_COUNT);
+        result.put("substations", SUBSTATION_COUNT);
+        result.put("maxConcurrentImportExport", Integer.getInteger("loadtest.concurrency", 4));
+        result.put("remoteLatencyMs", REMOTE_LATENCY_MS);
+        result.put("durationSeconds", durationNanos / 1e9);
+        result.put("throughputJobsPerSecond", 3 * JOB_COUNT / (durationNanos / 1e9));
+        result.put("failures", failuresByJobType);
+        Map<String, Object> jobs = new LinkedHashMap<>();
+        latenciesByJobType.forEach((jobType, latencies) -> jobs.put(jobType, toLatencyStats(latencies)));
+        result.put("jobLatenciesMs", jobs);
+        result.put("phases", getPhaseStats());
+        result.put("remoteCalls", Map.of(
+            "case-server", caseServer.getStats(),
+            "report-server", reportServer.getStats(),
+            "s3", s3Server.getStats()));
+        result.put("heapPeakBytes", heapPools.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum());
+        result.put("gcTimeMs", getGcTimeMs() - gcTimeBefore);
+        result.put("gcCount", getGcCount() - gcCountBefore);
+
+        // the results of the runs are written together, for the comparison of the clients
+        RESULTS.put(httpClient, result);
+        OUTPUT_FILE.toAbsolutePath().getParent().toFile().mkdirs();
+        mapper.writerWithDefaultPrettyPrinter().writeValue(OUTPUT_FILE.toFile(), RESULTS);
+        LOGGER.info("Load test result written in {} : {}", OUTPUT_FILE.toAbsolutePath(), mapper.writeValueAsString(result));
+
+        assertEquals(Map.of("convert", 0, "export", 0, "import", 0), failuresByJobType);
+    }
+
+    private List<Future<Long>> submitJobs(ExecutorService clients, Runnable job) {
+        List<Future<Long>> futures = new ArrayList<>();
+        for (int i = 0; i < JOB_COUNT; i++) {
+            futures.add(clients.submit(() -> {
+                long startTime = System.nanoTime();
+                job.run();
+                return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+            }));
+        }
+        return futures;
+    }
+
+    private int countFailureNotifications(String destination) {
+        int failures = 0;
+        Message<byte[]> message;
+        while ((message = output.receive(100, destination)) != null) {
+            if (message.getHeaders().get(NotificationService.HEADER_ERROR) != null) {
+                failures++;
+            }
+        }
+        return failures;
+    }
+
+    private static Map<String, Object> toLatencyStats(List<Long> latencies) {
+        List<Long> sorted = latencies.stream().sorted().toList();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("count", sorted.size());
+        if (!sorted.isEmpty()) {
+            stats.put("p50", percentile(sorted, 0.5));
+            stats.put("p95", percentile(sorted, 0.95));
+            stats.put("p99", percentile(sorted, 0.99));
+            stats.put("max", sorted.get(sorted.size() - 1));
+        }
+        return stats;
+    }
+
+    private static long percentile(List<Long> sorted, double percentile) {
+        return sorted.get((int) Math.ceil(percentile * sorted.size()) - 1);
+    }
+
+    private List<Map<String, Object>> getPhaseStats() {
+        List<Map<String, Object>> phases = new ArrayList<>();
+        for (String meterName : PHASE_METER_NAMES) {
+            for (Timer timer : meterRegistry.find(meterName).timers()) {
+                Map<String, Object> phase = new LinkedHashMap<>();
+                phase.put("name", meterName);
+                Map<String, String> tags = new TreeMap<>();
+                for (Tag tag : timer.getId().getTags()) {
+                    tags.put(tag.getKey(), tag.getValue());
+                }
+                phase.put("tags", tags);
+                phase.put("count", timer.count());
+                phase.put("meanMs", timer.mean(TimeUnit.MILLISECONDS));
+                phase.put("maxMs", timer.max(TimeUnit.MILLISECONDS));
+                for (ValueAtPercentile percentile : timer.takeSnapshot().percentileValues()) {
+                    phase.put("p" + Math.round(percentile.percentile() * 100), percentile.value(TimeUnit.MILLISECONDS));
+                }
+                phases.add(phase);
+            }
+        }
+        return phases;
+    }
+
+    private static long getGcTimeMs() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream().mapToLong(GarbageCollectorMXBean::getCollectionTime).sum();
+    }
+
+    private static long getGcCount() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream().mapToLong(GarbageCollectorMXBean::getCollectionCount).sum();
+    }
+
+    /**
+     * Local HTTP server standing in for a remote service, counting the requests and the connections they are sent on
+     */
+    private static final class StandInServer {
+
+        private final HttpServer server;
+
+        private final ExecutorService executor = Executors.newCachedThreadPool();
+
+        private final Set<InetSocketAddress> connections = ConcurrentHashMap.newKeySet();
+
+        private final AtomicLong requests = new AtomicLong();
+
+        private StandInServer(HttpHandler handler) {
+            try {
+                server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            server.createContext("/", exchange -> {
+                // a connection is identified by the client port
+                connections.add(exchange.getRemoteAddress());
+                requests.incrementAndGet();
+                try {
+                    simulateRemoteLatency();
+                    handler.handle(exchange);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    exchange.sendResponseHeaders(503, -1);
+                } finally {
+                    exchange.close();
+                }
+            });
+            server.setExecutor(executor);
+            server.start();
+        }
+
+        private String getUri() {
+            return "http://localhost:" + server.getAddress().getPort();
+        }
+
+        private Map<String, Long> getStats() {
+            return Map.of("requests", requests.get(), "connectionsOpened", (long) connections.size());
+        }
+
+        private void reset() {
+            connections.clear();
+            requests.set(0);
+        }
+
+        private void stop() {
+            server.stop(0);
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.network.conversion.server;
+
+import com.powsybl.iidm.network.IdentifiableType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NetworkConversionObserverTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final NetworkConversionObserver observer = new NetworkConversionObserver(ObservationRegistry.NOOP, meterRegistry);
+
+    private long phaseCount(String phase, String format, String outcome) {
+        return meterRegistry.get("app.conversion.phase")
+            .tag("phase", phase)
+            .tag("format", format)
+            .tag("outcome", outcome)
+            .timer()
+            .count();
+    }
+
+    @Test
+    void shouldRecordPhasesWithOutcome() {
+        assertEquals("result", observer.observePhase(NetworkConversionObserver.PHASE_IMPORT, "XIIDM", () -> "result"));
+        observer.observePhase(NetworkConversionObserver.PHASE_FLUSH, "XIIDM", () -> { });
+        assertThrows(IOException.class, () -> observer.observePhase(NetworkConversionObserver.PHASE_UPLOAD, "XIIDM", () -> {
+            throw new IOException("upload failed");
+        }));
+        observer.observePhase(NetworkConversionObserver.PHASE_REINDEX, null, () -> { });
+
+        assertEquals(1, phaseCount(NetworkConversionObserver.PHASE_IMPORT, "XIIDM", "success"));
+        assertEquals(1, phaseCount(NetworkConversionObserver.PHASE_FLUSH, "XIIDM", "success"));
+        assertEquals(1, phaseCount(NetworkConversionObserver.PHASE_UPLOAD, "XIIDM", "error"));
+        assertEquals(1, phaseCount(NetworkConversionObserver.PHASE_REINDEX, "none", "success"));
+    }
+
+    @Test
+    void shouldRecordTaskWaitAndMessageAge() {
+        observer.recordTaskQueueWait(NetworkConversionObserver.TASK_LANE_TAG_VALUE_DEFAULT, NetworkConversionObserver.JOB_TYPE_EXPORT, "CGMES", "user1", 1_000_000);
+        observer.recordMessageAge(NetworkConversionObserver.JOB_TYPE_IMPORT, null, System.currentTimeMillis() - 50);
+        // messages emitted without emission time are ignored
+        observer.recordMessageAge(NetworkConversionObserver.JOB_TYPE_IMPORT, null, null);
+
+        assertEquals(1, meterRegistry.get("app.conversion.tasks.queue.wait")
+            .tag("lane", NetworkConversionObserver.TASK_LANE_TAG_VALUE_DEFAULT)
+            .tag("job", "export")
+            .tag("format", "CGMES")
+            .tag("tenant", "user1")
+            .timer()
+            .count());
+        assertEquals(1, meterRegistry.get("app.conversion.messages.age")
+            .tag("job", "import")
+            .tag("format", "none")
+            .timer()
+            .count());
+    }
+
+    @Test
+    void shouldRecordImportedNetworkShape() {
+        observer.recordImportedNetworkShape("CGMES", Map.of(IdentifiableType.LINE, 10L, IdentifiableType.SWITCH, 25L, IdentifiableType.BUS, 7L), 2, 4096);
+
+        assertEquals(10, meterRegistry.get("app.conversion.import.equipments").tag("format", "CGMES").tag("type", "LINE").summary().totalAmount());
+        assertEquals(25, meterRegistry.get("app.conversion.import.equipments").tag("format", "CGMES").tag("type", "SWITCH").summary().totalAmount());
+        assertEquals(2, meterRegistry.get("app.conversion.import.variants").tag("format", "CGMES").summary().totalAmount());
+        assertEquals(4096, meterRegistry.get("app.conversion.import.case.bytes").tag("format", "CGMES").summary().totalAmount());
+        // the bus count of the shape is the number of imported buses, the bus topology being computed once
+        assertEquals(7, meterRegistry.get("app.conversion.import.buses").tag("format", "CGMES").summary().totalAmount());
+    }
+}
@@ -7,6 +7,8 @@
  */
 package com.powsybl.network.conversion.server;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.jimfs.Configuration;
 import com.google.common.jimfs.Feature;
@@ -22,9 +24,17 @@ import com.powsybl.commons.datasource.ResourceSet;
 import com.powsybl.commons.report.ReportNode;
 import com.powsybl.iidm.network.*;
 import com.powsybl.iidm.serde.XMLImporter;
+import com.powsybl.network.conversion.server.archive.ArchiveCodec;
+import com.powsybl.network.conversion.server.archive.ArchiveOptions;
 import com.powsybl.network.conversion.server.dto.BoundaryInfos;
 import com.powsybl.network.conversion.server.dto.CaseInfos;
+import com.powsybl.network.conversion.server.dto.EquipmentDelta;
 import com.powsybl.network.conversion.server.dto.EquipmentInfos;
+import com.powsybl.network.conversion.server.dto.ExportFormatInfos;
+import com.powsybl.network.conversion.server.dto.ExportFormatResult;
+import com.powsybl.network.conversion.server.dto.ExportNetworkInfos;
+import com.powsybl.network.conversion.server.dto.NetworkExportFilter;
+import com.powsybl.network.conversion.server.dto.NetworkVariantDelta;
 import com.powsybl.network.conversion.server.dto.TombstonedEquipmentInfos;
 import com.powsybl.network.store.client.NetworkStoreService;
 import com.powsybl.network.store.client.PreloadingStrategy;
@@ -46,33 +56,45 @@ import org.springframework.core.io.InputStreamResource;
 import org.springframework.core.io.Resource;
 import org.springframework.http.*;
 import org.springframework.messaging.Message;
+import org.springframework.mock.http.client.MockClientHttpRequest;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.web.client.RequestCallback;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 import software.amazon.awssdk.core.ResponseInputStream;
 import software.amazon.awssdk.http.AbortableInputStream;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.model.*;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
+import software.amazon.awssdk.services.s3.presigner.model.PresignedGetObjectRequest;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.FileSystem;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 
 import static com.powsybl.network.conversion.server.NetworkConversionConstants.TMP_DIR;
 import static com.powsybl.network.conversion.server.NetworkConversionService.TYPES_FOR_INDEXING;
+import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsString;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -135,6 +157,9 @@ class NetworkConversionTest {
     @MockitoBean
     private S3Client s3Client;
 
+    @MockitoBean
+    private S3Presigner s3Presigner;
+
     @BeforeEach
     void setup() throws IOException {
         fileSystem = Jimfs.newFileSystem(provideJimfsUnixConfigurationWithPosixFileAttributes());
@@ -168,8 +193,6 @@ class NetworkConversionTest {
             given(networkStoreClient.getNetworkUuid(network)).willReturn(randomUuid);
 
             UUID reportUuid = UUID.fromString("11111111-f351-4c2e-a383-2ad08dd5f8fb");
-            given(reportServerRest.exchange(eq("/v1/reports/" + reportUuid), eq(HttpMethod.PUT), any(HttpEntity.class), eq(ReportNode.class)))
-                .willReturn(new ResponseEntity<>(HttpStatus.OK));
 
             String caseUuid = UUID.randomUUID().toString();
             given(caseServerRest.exchange(eq("/v1/cases/{caseUuid}/datasource/baseName"),
@@ -328,6 +351,87 @@ class NetworkConversionTest {
             assertNotNull(errorMessage6);
             assertTrue(errorMessage6.contains("Export failed"));
 
+            // multi-format export, the failure of a format not failing the others
+            UUID exportNetworkUuid7 = UUID.randomUUID();
+            mvc.perform(post("/v1/networks/{networkUuid}/export", exportNetworkUuid7)
+                            .param("variantId", "second_variant_id")
+                            .param("receiver", receiver)
+                            .contentType(MediaType.APPLICATION_JSON_VALUE)
+                            .content("[{\"format\":\"XIIDM\",\"formatParameters\":{\"iidm.export.xml.indent\":\"false\"}},{\"format\":\"JPEG\"}]"))
+                    .andExpect(status().isOk())
+                    .andReturn();
+
+            Message<byte[]> startMessage7 = output.receive(1000, NETWORK_EXPORT_START);
+            assertNotNull(startMessage7);
+            assertNotNull(startMessage7.getHeaders().get(NotificationService.HEADER_EXPORT_FORMATS));
+
+            Message<byte[]> finishedMessage7 = output.receive(1000, NETWORK_EXPORT_FINISHED);
+            assertNotNull(finishedMessage7);
+            assertTrue(((String) finishedMessage7.getHeaders().get(NotificationService.HEADER_ERROR)).endsWith("in formats [JPEG]"));
+            List<ExportFormatResult> exportResults7 = mapper.readValue((String) finishedMessage7.getHeaders().get(NotificationService.HEADER_EXPORT_RESULTS), new TypeReference<>() { });
+            assertEquals(2, exportResults7.size());
+            assertEquals("XIIDM", exportResults7.get(0).getFormat());
+            assertTrue(exportResults7.get(0).getS3Key().contains("/XIIDM/"));
+            assertEquals("application/zip", exportResults7.get(0).getContentType());
+            assertNull(exportResults7.get(0).getError());
+            assertEquals("JPEG", exportResults7.get(1).getFormat());
+            assertNull(exportResults7.get(1).getS3Key());
+            assertNull(exportResults7.get(1).getContentType());
+            assertNotNull(exportResults7.get(1).getError());
+            // the network is loaded once for all the formats, and the types of the exports are given per format
+            verify(networkStoreClient, times(1)).getNetwork(exportNetworkUuid7, PreloadingStrategy.ALL_COLLECTIONS_NEEDED_FOR_BUS_VIEW);
+            assertNull(finishedMessage7.getHeaders().get(NotificationService.HEADER_EXPORT_CONTENT_TYPE));
+
+            // multi-variant export, an unknown variant failing only its own exports
+            UUID exportNetworkUuid8 = UUID.randomUUID();
+            mvc.perform(post("/v1/networks/{networkUuid}/export", exportNetworkUuid8)
+                            .param("variantIds", "first_variant_id", "unknown_variant_id")
+                            .param("receiver", receiver)
+                            .contentType(MediaType.APPLICATION_JSON_VALUE)
+                            .content("[{\"format\":\"XIIDM\"}]"))
+                    .andExpect(status().isOk())
+                    .andReturn();
+
+            Message<byte[]> startMessage8 = output.receive(1000, NETWORK_EXPORT_START);
+            assertNotNull(startMessage8);
+            assertNotNull(startMessage8.getHeaders().get(NotificationService.HEADER_VARIANT_IDS));
+
+            Message<byte[]> finishedMessage8 = output.receive(1000, NETWORK_EXPORT_FINISHED);
+            assertNotNull(finishedMessage8);
+            assertTrue(((String) finishedMessage8.getHeaders().get(NotificationService.HEADER_ERROR)).endsWith("in formats [unknown_variant_id/XIIDM]"));
+            List<ExportFormatResult> exportResults8 = mapper.readValue((String) finishedMessage8.getHeaders().get(NotificationService.HEADER_EXPORT_RESULTS), new TypeReference<>() { });
+            assertEquals(2, exportResults8.size());
+            assertEquals("first_variant_id", exportResults8.get(0).getVariantId());
+            assertTrue(exportResults8.get(0).getS3Key().contains("/first_variant_id/XIIDM/"));
+            assertEquals("unknown_variant_id", exportResults8.get(1).getVariantId());
+            assertNull(exportResults8.get(1).getS3Key());
+            assertNotNull(exportResults8.get(1).getError());
+            verify(networkStoreClient, times(1)).getNetwork(exportNetworkUuid8, PreloadingStrategy.ALL_COLLECTIONS_NEEDED_FOR_BUS_VIEW);
+
+            // multi-variant export gathered in a single archive
+            UUID exportNetworkUuid9 = UUID.randomUUID();
+            mvc.perform(post("/v1/networks/{networkUuid}/export", exportNetworkUuid9)
+                            .param("variantIds", "first_variant_id", "second_variant_id")
+                            .param("combined", "true")
+                            .param("fileName", "combined")
+                            .param("receiver", receiver)
+                            .contentType(MediaType.APPLICATION_JSON_VALUE)
+                            .content("[{\"format\":\"XIIDM\"}]"))
+                    .andExpect(status().isOk())
+                    .andReturn();
+            assertNotNull(output.receive(1000, NETWORK_EXPORT_START));
+
+            Message<byte[]> finishedMessage9 = output.receive(1000, NETWORK_EXPORT_FINISHED);
+            assertNotNull(finishedMessage9);
+            assertNull(finishedMessage9.getHeaders().get(NotificationService.HEADER_ERROR));
+            List<ExportFormatResult> exportResults9 = mapper.readValue((String) finishedMessage9.getHeaders().get(NotificationService.HEADER_EXPORT_RESULTS), new TypeReference<>() { });
+            assertEquals(2, exportResults9.size());
+            assertTrue(exportResults9.get(0).getS3Key().endsWith("/combined.zip"));
+            assertTrue(exportResults9.stream().allMatch(result -> exportResults9.get(0).getS3Key().equals(result.getS3Key())));
+            assertTrue(exportResults9.stream().allMatch(result -> "application/zip".equals(result.getContentType())));
+            assertEquals("application/zip", finishedMessage9.getHeaders().get(NotificationService.HEADER_EXPORT_CONTENT_TYPE));
+            verify(networkStoreClient, times(1)).getNetwork(exportNetworkUuid9, PreloadingStrategy.ALL_COLLECTIONS_NEEDED_FOR_BUS_VIEW);
+
             UUID networkUuid = UUID.fromString("f3a85c9b-9594-4e55-8ec7-07ea965d24eb");
             networkConversionService.deleteAllEquipmentInfosByNetworkUuid(networkUuid);
             List<EquipmentInfos> infos = networkConversionService.getAllEquipmentInfos(networkUuid);
@@ -479,6 +583,24 @@ class NetworkConversionTest {
         assertEquals(receiver, message.getHeaders().get(NotificationService.HEADER_RECEIVER));
     }
 
+    @Test
+    void testAsyncImportRoutedBySizeClass() throws Exception {
+        String caseUuid = UUID.randomUUID().toString();
+        given(caseServerRest.getForEntity(eq("/v1/cases/" + caseUuid + "/infos"), any())).willReturn(ResponseEntity.ok(new CaseInfos(UUID.fromString(caseUuid), "testCase", "CGMES")));
+        given(networkStoreClient.importNetwork(any(ReadOnlyDataSource.class), any(ReportNode.class), any(Properties.class), any(Boolean.class)))
+            .willThrow(new NullPointerException(IMPORT_CASE_ERROR_MESSAGE));
+
+        mvc.perform(post("/v1/networks")
+                .param("caseUuid", caseUuid)
+                .param("receiver", "test receiver")
+                .param("caseFormat", "CGMES"))
+                .andExpect(status().isOk());
+
+        Message<byte[]> message = output.receive(1000, "case.import.large.start");
+        assertEquals(caseUuid, mapper.readValue(message.getPayload(), String.class));
+        assertNull(output.receive(1000, "case.import.start"));
+    }
+
     @Test
     void testCgmesCaseDataSource() throws Exception {
         UUID caseUuid = UUID.fromString("47b85a5c-44ec-4afc-9f7e-29e63368e83d");
@@ -508,6 +630,13 @@ class NetworkConversionTest {
         input = client.newInputStream("20210326T0000Z__ENTSOE_TPBD_6.xml");
         assertArrayEquals(tpbdContent.getBytes(StandardCharsets.UTF_8), org.apache.commons.io.IOUtils.toByteArray(input));
 
+        // a boundary published again under the same id with another content is not read from the cache
+        String updatedEqbdContent = "updated content of eqbd boundary";
+        CgmesCaseDataSourceClient updatedClient = new CgmesCaseDataSourceClient(caseServerRest, caseUuid,
+            List.of(new BoundaryInfos("urn:uuid:f1582c44-d9e2-4ea0-afdc-dba189ab4358", "20201121T0000Z__ENTSOE_EQBD_003.xml", updatedEqbdContent)));
+        input = updatedClient.newInputStream("20210326T0000Z__ENTSOE_EQBD_101.xml");
+        assertArrayEquals(updatedEqbdContent.getBytes(StandardCharsets.UTF_8), org.apache.commons.io.IOUtils.toByteArray(input));
+
         final CgmesCaseDataSourceClient client2 = new CgmesCaseDataSourceClient(caseServerRest, caseUuid, Collections.emptyList());
         assertThrows(PowsyblException.class, () -> client2.newInputStream("20210326T0000Z__ENTSOE_EQBD_101.xml"));
     }
@@ -543,6 +672,9 @@ class NetworkConversionTest {
 
         assertEquals("{\"networkUuid\":\"" + networkUuid + "\",\"networkId\":\"urn:uuid:d400c631-75a0-4c30-8aed-832b0d282e73\"}",
                 mvcResult.getResponse().getContentAsString());
+        // imports using boundaries are saved like the other imports
+        verify(networkStoreClient).importNetwork(any(CgmesCaseDataSourceClient.class), any(ReportNode.class), eq(false));
+        verify(networkStoreClient).flush(network);
 
         mvcResult = mvc.perform(post("/v1/networks/cgmes")
                 .param("caseUuid", caseUuid.toString())
@@ -571,8 +703,6 @@ class NetworkConversionTest {
             return network;
         });
         given(networkStoreClient.getNetworkUuid(network)).willReturn(networkUuid);
-        given(reportServerRest.exchange(eq("/v1/reports/" + reportUuid), eq(HttpMethod.PUT), any(HttpEntity.class), eq(ReportNode.class)))
-            .willReturn(new ResponseEntity<>(HttpStatus.OK));
         given(caseServerRest.exchange(eq("/v1/cases/{caseUuid}/datasource/baseName"),
             eq(HttpMethod.GET),
             any(HttpEntity.class),
@@ -590,6 +720,32 @@ class NetworkConversionTest {
 
         assertEquals("{\"networkUuid\":\"" + networkUuid + "\",\"networkId\":\"urn:uuid:d400c631-75a0-4c30-8aed-832b0d282e73\"}",
                 mvcResult.getResponse().getContentAsString());
+
+        // the report is streamed into the request body
+        ArgumentCaptor<RequestCallback> requestCallbackCaptor = ArgumentCaptor.forClass(RequestCallback.class);
+        verify(reportServerRest).execute(eq("/v1/reports/" + reportUuid), eq(HttpMethod.PUT), requestCallbackCaptor.capture(), isNull());
+        MockClientHttpRequest request = new MockClientHttpRequest();
+        requestCallbackCaptor.getValue().doWithRequest(request);
+        assertEquals(MediaType.APPLICATION_JSON, request.getHeaders().getContentType());
+        assertThat(request.getBodyAsString(), containsString("network.conversion.server.subReporterId"));
+
+        // a streaming request doesn't buffer the report, which is written to the connection when the request is sent
+        StreamingClientHttpRequest streamingRequest = new StreamingClientHttpRequest();
+        requestCallbackCaptor.getValue().doWithRequest(streamingRequest);
+        assertEquals(0, streamingRequest.getBodyAsBytes().length);
+        ByteArrayOutputStream sentBody = new ByteArrayOutputStream();
+        streamingRequest.body.writeTo(sentBody);
+        assertThat(sentBody.toString(StandardCharsets.UTF_8), containsString("network.conversion.server.subReporterId"));
+    }
+
+    private static final class StreamingClientHttpRequest extends MockClientHttpRequest implements StreamingHttpOutputMessage {
+
+        private Body body;
+
+        @Override
+        public void setBody(Body body) {
+            this.body = body;
+        }
     }
 
     @Test
@@ -608,8 +764,6 @@ class NetworkConversionTest {
         given(networkStoreClient.importNetwork(any(ReadOnlyDataSource.class), any(ReportNode.class), any(Boolean.class)))
                 .willThrow(NetworkConversionException.createFailedNetworkSaving(networkUuid, NetworkConversionException.createEquipmentTypeUnknown(NetworkImpl.class.getSimpleName())));
         given(networkStoreClient.getNetworkUuid(network)).willReturn(networkUuid);
-        given(reportServerRest.exchange(eq("/v1/reports/" + reportUuid), eq(HttpMethod.PUT), any(HttpEntity.class), eq(ReportNode.class)))
-                .willReturn(new ResponseEntity<>(HttpStatus.OK));
         given(caseServerRest.getForEntity(eq("/v1/cases/" + caseUuid + "/infos"), any())).willReturn(ResponseEntity.ok(new CaseInfos(UUID.fromString(caseUuid.toString()), "testCase", "XIIDM")));
 
         String message = assertThrows(NetworkConversionException.class, () -> networkConversionService.importCase(caseUuid, null, reportUuid, "XIIDM", EMPTY_PARAMETERS)).getMessage();
@@ -628,8 +782,6 @@ class NetworkConversionTest {
         doThrow(NetworkConversionException.createFailedNetworkSaving(networkUuid, NetworkConversionException.createEquipmentTypeUnknown(NetworkImpl.class.getSimpleName())))
                 .when(networkStoreClient).flush(network);
         given(networkStoreClient.getNetworkUuid(network)).willReturn(networkUuid);
-        given(reportServerRest.exchange(eq("/v1/reports/" + reportUuid), eq(HttpMethod.PUT), any(HttpEntity.class), eq(ReportNode.class)))
-                .willReturn(new ResponseEntity<>(HttpStatus.OK));
         given(reportServerRest.exchange(eq("/v1/reports/" + reportUuid), eq(HttpMethod.DELETE), any(HttpEntity.class), eq(Void.class)))
                 .willReturn(new ResponseEntity<>(HttpStatus.OK));
         given(caseServerRest.exchange(eq("/v1/cases/{caseUuid}/datasource/baseName"),
@@ -1123,6 +1275,274 @@ class NetworkConversionTest {
         return network;
     }
 
+    @Test
+    void testPartialExport() throws Exception {
+        ReadOnlyDataSource dataSource = new ResourceDataSource("testCase", new ResourceSet("", "testCase.xiidm"));
+        Network network = new XMLImporter().importData(dataSource, new NetworkFactoryImpl(), null);
+        UUID networkUuid = UUID.randomUUID();
+        given(networkStoreClient.getNetwork(networkUuid, PreloadingStrategy.ALL_COLLECTIONS_NEEDED_FOR_BUS_VIEW)).willReturn(network);
+
+        ExportNetworkInfos exportNetworkInfos = networkConversionService.exportNetwork(networkUuid, null, "partial", "XIIDM", null, null,
+            new NetworkExportFilter(List.of("BBE2AA"), null, null, null));
+        String exportedNetwork;
+        try (ZipInputStream zis = new ZipInputStream(Files.newInputStream(exportNetworkInfos.getTempFilePath()))) {
+            assertNotNull(zis.getNextEntry());
+            exportedNetwork = new String(zis.readAllBytes(), StandardCharsets.UTF_8);
+        } finally {
+            FileSystemUtils.deleteRecursively(exportNetworkInfos.getTempFilePath().getParent());
+        }
+        assertTrue(exportedNetwork.contains("\"BBE2AA1\""));
+        assertFalse(exportedNetwork.contains("\"NNL1AA1\""));
+        // the lines leaving the area are replaced by boundary lines
+        assertTrue(exportedNetwork.contains("\"BBE1AA1  BBE2AA1  1\""));
+        assertFalse(exportedNetwork.contains("<iidm:line id=\"BBE1AA1  BBE2AA1  1\""));
+
+        // a filter matching no voltage level
+        NetworkExportFilter emptyArea = new NetworkExportFilter(null, null, 1000., null);
+        assertThrows(NetworkConversionException.class, () -> networkConversionService.exportNetwork(networkUuid, null, "partial", "XIIDM", null, null, emptyArea));
+    }
+
+    @Test
+    void testPartialMultiVariantExport() throws Exception {
+        ReadOnlyDataSource dataSource = new ResourceDataSource("testCase", new ResourceSet("", "testCase.xiidm"));
+        Network network = new XMLImporter().importData(dataSource, new NetworkFactoryImpl(), null);
+        UUID networkUuid = UUID.randomUUID();
+        given(networkStoreClient.getNetwork(networkUuid, PreloadingStrategy.ALL_COLLECTIONS_NEEDED_FOR_BUS_VIEW)).willReturn(network);
+        network.getVariantManager().cloneVariant(VariantManagerConstants.INITIAL_VARIANT_ID, "second_variant_id");
+        network.getVariantManager().setWorkingVariant("second_variant_id");
+        network.getGenerator("BBE2AA1 _generator").setTargetP(3100);
+        network.getVariantManager().setWorkingVariant(VariantManagerConstants.INITIAL_VARIANT_ID);
+
+        List<NetworkConversionService.FormatExport> formatExports = new ArrayList<>();
+        networkConversionService.exportNetworkToFormats(networkUuid, List.of(VariantManagerConstants.INITIAL_VARIANT_ID, "second_variant_id"), "partial",
+            List.of(new ExportFormatInfos("XIIDM", Map.of())), null, new NetworkExportFilter(List.of("BBE2AA"), null, null, null), formatExports::add);
+
+        assertEquals(2, formatExports.size());
+        Map<String, String> exportedNetworks = new HashMap<>();
+        for (NetworkConversionService.FormatExport formatExport : formatExports) {
+            assertNull(formatExport.error());
+            Path exportFile = formatExport.exportNetworkInfos().getTempFilePath();
+            try (ZipInputStream zis = new ZipInputStream(Files.newInputStream(exportFile))) {
+                assertNotNull(zis.getNextEntry());
+                exportedNetworks.put(formatExport.variantId(), new String(zis.readAllBytes(), StandardCharsets.UTF_8));
+            } finally {
+                FileSystemUtils.deleteRecursively(exportFile.getParent());
+            }
+        }
+        // each variant is reduced to the area, with the lines leaving it replaced by boundary lines
+        exportedNetworks.values().forEach(exportedNetwork -> {
+            assertTrue(exportedNetwork.contains("\"BBE2AA1\""));
+            assertFalse(exportedNetwork.contains("\"NNL1AA1\""));
+            assertTrue(exportedNetwork.contains("\"BBE1AA1  BBE2AA1  1\""));
+            assertFalse(exportedNetwork.contains("<iidm:line id=\"BBE1AA1  BBE2AA1  1\""));
+        });
+        // each export has the state of its own variant
+        String initialVariantNetwork = exportedNetworks.get(VariantManagerConstants.INITIAL_VARIANT_ID);
+        assertTrue(initialVariantNetwork.contains("targetP=\"3000.0\""));
+        assertFalse(initialVariantNetwork.contains("targetP=\"3100.0\""));
+        String secondVariantNetwork = exportedNetworks.get("second_variant_id");
+        assertTrue(secondVariantNetwork.contains("targetP=\"3100.0\""));
+        assertFalse(secondVariantNetwork.contains("targetP=\"3000.0\""));
+        verify(networkStoreClient, times(1)).getNetwork(networkUuid, PreloadingStrategy.ALL_COLLECTIONS_NEEDED_FOR_BUS_VIEW);
+    }
+
+    @Test
+    void testInMemoryExport() throws Exception {
+        ReadOnlyDataSource dataSource = new ResourceDataSource("testCase", new ResourceSet("", "testCase.xiidm"));
+        Network network = new XMLImporter().importData(dataSource, new NetworkFactoryImpl(), null);
+        UUID networkUuid = UUID.randomUUID();
+        given(networkStoreClient.getNetwork(networkUuid, PreloadingStrategy.ALL_COLLECTIONS_NEEDED_FOR_BUS_VIEW)).willReturn(network);
+
+        networkConversionService.setInMemoryExportMaxBuses(1000);
+        try {
+            ExportNetworkInfos exportNetworkInfos = networkConversionService.exportNetwork(networkUuid, null, "small", "XIIDM", null);
+            assertTrue(exportNetworkInfos.isInMemory());
+            assertNull(exportNetworkInfos.getTempFilePath());
+            assertEquals("small.xiidm.zip", exportNetworkInfos.getNetworkName());
+            try (ZipInputStream zis = new ZipInputStream(new ByteArrayInputStream(exportNetworkInfos.getContent()))) {
+                assertEquals("small.xiidm", zis.getNextEntry().getName());
+                assertTrue(new String(zis.readAllBytes(), StandardCharsets.UTF_8).contains("\"BBE2AA1\""));
+            }
+            // no temporary file is written
+            try (Stream<Path> files = Files.list(fileSystem.getPath(TMP_DIR))) {
+                assertEquals(0, files.count());
+            }
+
+            // the networks larger than the threshold are still exported to a temporary file
+            networkConversionService.setInMemoryExportMaxBuses(1);
+            ExportNetworkInfos largeExportNetworkInfos = networkConversionService.exportNetwork(networkUuid, null, "large", "XIIDM", null);
+            assertFalse(largeExportNetworkInfos.isInMemory());
+            assertTrue(Files.exists(largeExportNetworkInfos.getTempFilePath()));
+            FileSystemUtils.deleteRecursively(largeExportNetworkInfos.getTempFilePath().getParent());
+        } finally {
+            networkConversionService.setInMemoryExportMaxBuses(0);
+        }
+    }
+
+    @Test
+    void testInMemoryExportFileNames() throws Exception {
+        ReadOnlyDataSource dataSource = new ResourceDataSource("testCase", new ResourceSet("", "testCase.xiidm"));
+        Network network = new XMLImporter().importData(dataSource, new NetworkFactoryImpl(), null);
+        UUID networkUuid = UUID.randomUUID();
+        given(networkStoreClient.getNetwork(networkUuid, PreloadingStrategy.ALL_COLLECTIONS_NEEDED_FOR_BUS_VIEW)).willReturn(network);
+
+        // the files of the exports in memory are named as the ones of the exports to a temporary directory
+        for (String format : List.of("XIIDM", "CGMES", "UCTE")) {
+            ExportNetworkInfos fileExport = networkConversionService.exportNetwork(networkUuid, null, "network", format, null);
+            assertFalse(fileExport.isInMemory());
+            List<String> fileEntryNames;
+            try (InputStream is = Files.newInputStream(fileExport.getTempFilePath())) {
+                fileEntryNames = getZipEntryNames(is);
+            } finally {
+                FileSystemUtils.deleteRecursively(fileExport.getTempFilePath().getParent());
+            }
+
+            networkConversionService.setInMemoryExportMaxBuses(1000);
+            try {
+                ExportNetworkInfos inMemoryExport = networkConversionService.exportNetwork(networkUuid, null, "network", format, null);
+                assertTrue(inMemoryExport.isInMemory());
+                assertEquals(fileExport.getNetworkName(), inMemoryExport.getNetworkName());
+                assertEquals(fileEntryNames, getZipEntryNames(new ByteArrayInputStream(inMemoryExport.getContent())));
+                assertTrue(fileEntryNames.stream().allMatch(name -> name.startsWith("network") && !name.startsWith("networknetwork")), format + " " + fileEntryNames);
+            } finally {
+                networkConversionService.setInMemoryExportMaxBuses(0);
+            }
+        }
+    }
+
+    private static List<String> getZipEntryNames(InputStream is) throws IOException {
+        List<String> names = new ArrayList<>();
+        try (ZipInputStream zis = new ZipInputStream(is)) {
+            ZipEntry zipEntry;
+            while ((zipEntry = zis.getNextEntry()) != null) {
+                names.add(zipEntry.getName());
+            }
+        }
+        return names.stream().sorted().toList();
+    }
+
+    @Test
+    void testStreamingExport() throws Exception {
+        ReadOnlyDataSource dataSource = new ResourceDataSource("testCase", new ResourceSet("", "testCase.xiidm"));
+        Network network = new XMLImporter().importData(dataSource, new NetworkFactoryImpl(), null);
+        UUID networkUuid = UUID.randomUUID();
+        given(networkStoreClient.getNetwork(networkUuid, PreloadingStrategy.ALL_COLLECTIONS_NEEDED_FOR_BUS_VIEW)).willReturn(network);
+
+        MvcResult mvcResult = mvc.perform(post("/v1/networks/{networkUuid}/export/{format}/stream", networkUuid, "XIIDM").param("fileName", "streamed"))
+            .andExpect(status().isOk())
+            .andReturn();
+        assertThat(mvcResult.getResponse().getHeader(HttpHeaders.CONTENT_DISPOSITION), containsString("streamed.xiidm.zip"));
+        try (ZipInputStream zis = new ZipInputStream(new ByteArrayInputStream(mvcResult.getResponse().getContentAsByteArray()))) {
+            assertEquals("streamed.xiidm", zis.getNextEntry().getName());
+            assertTrue(new String(zis.readAllBytes(), StandardCharsets.UTF_8).contains("\"BBE2AA1\""));
+            assertNull(zis.getNextEntry());
+        }
+        // no temporary file is written
+        try (Stream<Path> files = Files.list(fileSystem.getPath(TMP_DIR))) {
+            assertEquals(0, files.count());
+        }
+
+        // only zip archives can be streamed
+        String tarParameters = mapper.writeValueAsString(Map.of(ArchiveOptions.CODEC_PARAMETER, ArchiveCodec.TAR_GZ.name()));
+        mvc.perform(post("/v1/networks/{networkUuid}/export/{format}/stream", networkUuid, "XIIDM")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(tarParameters))
+            .andExpect(status().isInternalServerError());
+
+        // the networks larger than the threshold must be exported asynchronously, even for a partial export, the
+        // size being checked before the reduction
+        networkConversionService.setStreamingExportMaxBuses(1);
+        try {
+            mvc.perform(post("/v1/networks/{networkUuid}/export/{format}/stream", networkUuid, "XIIDM"))
+                .andExpect(status().isBadRequest());
+            mvc.perform(post("/v1/networks/{networkUuid}/export/{format}/stream", networkUuid, "XIIDM").param("substationIds", "BBE2AA"))
+                .andExpect(status().isBadRequest());
+        } finally {
+            networkConversionService.setStreamingExportMaxBuses(20000);
+        }
+
+        // a failing export leaves the output unfinished, rather than ending a truncated archive
+        AtomicBoolean closed = new AtomicBoolean();
+        OutputStream failingOutput = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Connection reset");
+            }
+
+            @Override
+            public void close() {
+                closed.set(true);
+            }
+        };
+        assertThrows(NetworkConversionException.class, () -> networkConversionService.exportNetworkToStream(networkUuid, null, null, "XIIDM", null, null, zipName -> failingOutput));
+        assertFalse(closed.get());
+    }
+
+    /**
+     * @return a network read from the test case, with a delta variant modified if requested
+     */
+    private static Network createDeltaNetwork(boolean modifyDeltaVariant) {
+        ReadOnlyDataSource dataSource = new ResourceDataSource("testCase", new ResourceSet("", "testCase.xiidm"));
+        Network network = new XMLImporter().importData(dataSource, new NetworkFactoryImpl(), null);
+        network.getVariantManager().cloneVariant(VariantManagerConstants.INITIAL_VARIANT_ID, "delta_variant_id");
+        if (modifyDeltaVariant) {
+            network.getVariantManager().setWorkingVariant("delta_variant_id");
+            Generator generator = network.getGenerator("BBE2AA1 _generator");
+            generator.setTargetP(3100);
+            generator.getTerminal().getVoltageLevel().newLoad().setId("DELTA_LOAD").setBus("BBE2AA1 ").setConnectableBus("BBE2AA1 ").setP0(10).setQ0(0).add();
+            network.getLoad("DDE2AA1 _load").remove();
+            network.getVariantManager().setWorkingVariant(VariantManagerConstants.INITIAL_VARIANT_ID);
+        }
+        return network;
+    }
+
+    @Test
+    void testDeltaExport() throws Exception {
+        UUID networkUuid = UUID.randomUUID();
+        // the reference and compared variants are read from two distinct networks, as from two network store caches
+        Network referenceNetwork = createDeltaNetwork(false);
+        Network network = createDeltaNetwork(true);
+        given(networkStoreClient.getNetwork(networkUuid, PreloadingStrategy.ALL_COLLECTIONS_NEEDED_FOR_BUS_VIEW)).willReturn(referenceNetwork, network);
+
+        ExportNetworkInfos exportNetworkInfos = networkConversionService.exportNetworkDelta(networkUuid, VariantManagerConstants.INITIAL_VARIANT_ID, "delta_variant_id", "delta", null);
+        NetworkVariantDelta delta;
+        try (ZipInputStream zis = new ZipInputStream(Files.newInputStream(exportNetworkInfos.getTempFilePath()))) {
+            assertEquals("delta.delta.json", zis.getNextEntry().getName());
+            delta = mapper.readValue(zis.readAllBytes(), NetworkVariantDelta.class);
+        } finally {
+            FileSystemUtils.deleteRecursively(exportNetworkInfos.getTempFilePath().getParent());
+        }
+        assertEquals(VariantManagerConstants.INITIAL_VARIANT_ID, delta.getReferenceVariantId());
+        assertEquals("delta_variant_id", delta.getVariantId());
+        assertEquals(List.of("BBE2AA1 _generator"), delta.getModified().stream().map(EquipmentDelta::getId).toList());
+        JsonNode changedAttributes = delta.getModified().get(0).getAttributes();
+        List<String> changedAttributeNames = new ArrayList<>();
+        changedAttributes.fieldNames().forEachRemaining(changedAttributeNames::add);
+        assertEquals(List.of("targetP"), changedAttributeNames);
+        assertEquals(3100, changedAttributes.get("targetP").asDouble());
+        assertEquals(List.of("DELTA_LOAD"), delta.getCreated().stream().map(EquipmentDelta::getId).toList());
+        assertEquals(IdentifiableType.LOAD, delta.getCreated().get(0).getType());
+        assertEquals(List.of("DDE2AA1 _load"), delta.getRemoved().stream().map(EquipmentDelta::getId).toList());
+        assertEquals(IdentifiableType.LOAD, delta.getRemoved().get(0).getType());
+
+        // the same variant of two networks has no delta
+        given(networkStoreClient.getNetwork(networkUuid, PreloadingStrategy.ALL_COLLECTIONS_NEEDED_FOR_BUS_VIEW)).willReturn(createDeltaNetwork(false), createDeltaNetwork(false));
+        ExportNetworkInfos emptyExportNetworkInfos = networkConversionService.exportNetworkDelta(networkUuid, VariantManagerConstants.INITIAL_VARIANT_ID, "delta_variant_id", "empty", null);
+        NetworkVariantDelta emptyDelta;
+        try (ZipInputStream zis = new ZipInputStream(Files.newInputStream(emptyExportNetworkInfos.getTempFilePath()))) {
+            assertNotNull(zis.getNextEntry());
+            emptyDelta = mapper.readValue(zis.readAllBytes(), NetworkVariantDelta.class);
+        } finally {
+            FileSystemUtils.deleteRecursively(emptyExportNetworkInfos.getTempFilePath().getParent());
+        }
+        assertTrue(emptyDelta.getCreated().isEmpty());
+        assertTrue(emptyDelta.getModified().isEmpty());
+        assertTrue(emptyDelta.getRemoved().isEmpty());
+
+        // unknown variant
+        assertThrows(NetworkConversionException.class, () -> networkConversionService.exportNetworkDelta(networkUuid, VariantManagerConstants.INITIAL_VARIANT_ID, "unknown_variant_id", null, null));
+    }
+
     @Test
     void testDownloadExportFile() throws Exception {
         String exportUuid = UUID.randomUUID().toString();
@@ -1144,6 +1564,18 @@ class NetworkConversionTest {
         byte[] downloadedContent = result.getResponse().getContentAsByteArray();
         assertArrayEquals(fileBytes, downloadedContent);
 
+        // redirect to a pre-signed URL, the file being downloaded directly from S3
+        PresignedGetObjectRequest presignedRequest = mock(PresignedGetObjectRequest.class);
+        given(presignedRequest.url()).willReturn(URI.create("http://localhost:19000/ws-bucket/" + exportUuid + "?X-Amz-Signature=signature").toURL());
+        given(s3Presigner.presignGetObject(any(GetObjectPresignRequest.class))).willReturn(presignedRequest);
+        mvc.perform(get("/v1/download-file/{exportUuid}", exportUuid).param("presigned", "true"))
+            .andExpect(status().isSeeOther())
+            .andExpect(header().string(HttpHeaders.LOCATION, "http://localhost:19000/ws-bucket/" + exportUuid + "?X-Amz-Signature=signature"));
+        ArgumentCaptor<GetObjectPresignRequest> presignRequestCaptor = ArgumentCaptor.forClass(GetObjectPresignRequest.class);
+        verify(s3Presigner).presignGetObject(presignRequestCaptor.capture());
+        assertEquals(exportUuid, presignRequestCaptor.getValue().getObjectRequest().key());
+        assertEquals(Duration.ofMinutes(5), presignRequestCaptor.getValue().signatureDuration());
+
         // exception case
         reset(s3Client);
         String failedExportUuid = UUID.randomUUID().toString();
@@ -0,0 +1,69 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.network.conversion.server;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PooledHttpClientFactoryTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private HttpServer server;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            byte[] body = "ok".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(body);
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void shouldReuseConnectionsAndRecordPoolMetrics() {
+        NetworkConversionObserver observer = new NetworkConversionObserver(ObservationRegistry.NOOP, meterRegistry);
+        PooledHttpClientFactory factory = new PooledHttpClientFactory(10, 2, Duration.ofSeconds(1), Duration.ofSeconds(5),
+            Duration.ofSeconds(5), Duration.ofSeconds(30), observer);
+        RestTemplate restTemplate = new RestTemplate(factory.createRequestFactory("case-server"));
+
+        String url = "http://localhost:" + server.getAddress().getPort() + "/test";
+        for (int i = 0; i < 3; i++) {
+            assertEquals("ok", restTemplate.getForObject(url, String.class));
+        }
+
+        assertEquals(10, meterRegistry.get("httpcomponents.httpclient.pool.total.max").tag("httpclient", "case-server").gauge().value());
+        assertEquals(0, meterRegistry.get("httpcomponents.httpclient.pool.total.connections")
+            .tag("httpclient", "case-server").tag("state", "leased").gauge().value());
+        // the connection is kept alive and reused by the following requests
+        assertEquals(1, meterRegistry.get("httpcomponents.httpclient.pool.total.connections")
+            .tag("httpclient", "case-server").tag("state", "available").gauge().value());
+        assertEquals(3, meterRegistry.get("app.conversion.http.client.lease").tag("client", "case-server").timer().count());
+    }
+}
@@ -0,0 +1,192 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.network.conversion.server;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.core.ResponseBytes;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class S3CaseDataSourceTest {
+
+    private static final String BUCKET = "ws-bucket";
+
+    private final Map<String, byte[]> objects = new HashMap<>();
+
+    private final List<String> requestedRanges = new ArrayList<>();
+
+    private final AtomicInteger abortedRequests = new AtomicInteger();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final NetworkConversionObserver observer = new NetworkConversionObserver(ObservationRegistry.NOOP, meterRegistry);
+
+    private S3Client s3Client;
+
+    @BeforeEach
+    void setUp() {
+        s3Client = mock(S3Client.class);
+        when(s3Client.getObjectAsBytes(any(GetObjectRequest.class))).thenAnswer(invocation -> {
+            GetObjectRequest request = invocation.getArgument(0);
+            return ResponseBytes.fromByteArray(getObjectResponse(request), getRange(request));
+        });
+        when(s3Client.getObject(any(GetObjectRequest.class))).thenAnswer(invocation -> {
+            GetObjectRequest request = invocation.getArgument(0);
+            return new ResponseInputStream<>(getObjectResponse(request), AbortableInputStream.create(new ByteArrayInputStream(getRange(request)),
+                abortedRequests::incrementAndGet));
+        });
+    }
+
+    private GetObjectResponse getObjectResponse(GetObjectRequest request) {
+        long[] range = parseRange(request);
+        return GetObjectResponse.builder()
+            .contentLength(range[1] - range[0])
+            .contentRange(request.range() != null ? "bytes " + range[0] + "-" + (range[1] - 1) + "/" + objects.get(request.key()).length : null)
+            .build();
+    }
+
+    private byte[] getRange(GetObjectRequest request) {
+        requestedRanges.add(request.range());
+        long[] range = parseRange(request);
+        return Arrays.copyOfRange(objects.get(request.key()), (int) range[0], (int) range[1]);
+    }
+
+    private long[] parseRange(GetObjectRequest request) {
+        long size = objects.get(request.key()).length;
+        if (request.range() == null) {
+            return new long[] {0, size};
+        }
+        String[] bounds = request.range().substring("bytes=".length()).split("-", -1);
+        if (bounds[0].isEmpty()) {
+            return new long[] {Math.max(0, size - Long.parseLong(bounds[1])), size};
+        }
+        return new long[] {Long.parseLong(bounds[0]), Math.min(size, Long.parseLong(bounds[1]) + 1)};
+    }
+
+    private static byte[] createContent(String line, int count) {
+        return line.repeat(count).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private long getDownloadCount(String format) {
+        return meterRegistry.get("app.conversion.phase").tag("phase", NetworkConversionObserver.PHASE_DOWNLOAD)
+            .tag("format", format).tag("outcome", "success").timer().count();
+    }
+
+    @Test
+    void shouldReadZipEntriesWithRangedRequests() throws IOException {
+        byte[] eqContent = createContent("<cim:ACLineSegment/>\n", 5000);
+        byte[] tpContent = createContent("<cim:TopologicalNode/>\n", 100);
+        ByteArrayOutputStream zip = new ByteArrayOutputStream();
+        try (ZipOutputStream zos = new ZipOutputStream(zip)) {
+            zos.putNextEntry(new ZipEntry("folder/"));
+            zos.closeEntry();
+            zos.putNextEntry(new ZipEntry("case_EQ.xml"));
+            zos.write(eqContent);
+            zos.closeEntry();
+            ZipEntry storedEntry = new ZipEntry("case_TP.xml");
+            storedEntry.setMethod(ZipEntry.STORED);
+            storedEntry.setSize(tpContent.length);
+            CRC32 crc = new CRC32();
+            crc.update(tpContent);
+            storedEntry.setCrc(crc.getValue());
+            zos.putNextEntry(storedEntry);
+            zos.write(tpContent);
+            zos.closeEntry();
+        }
+        objects.put("cases/uuid/case.zip", zip.toByteArray());
+
+        S3CaseDataSource dataSource = new S3CaseDataSource(s3Client, BUCKET, "cases/uuid/case.zip", observer);
+        assertEquals("case", dataSource.getBaseName());
+        assertEquals(Set.of("case_EQ.xml", "case_TP.xml"), dataSource.listNames(".*"));
+        assertEquals(Set.of("case_EQ.xml"), dataSource.listNames(".*_EQ.*"));
+        assertTrue(dataSource.exists("_TP", "xml"));
+        assertFalse(dataSource.exists("case_SV.xml"));
+        // the whole central directory is in the end of the archive
+        assertEquals(List.of("bytes=-65557"), requestedRanges);
+
+        try (InputStream is = dataSource.newInputStream("case_EQ.xml")) {
+            assertArrayEquals(eqContent, is.readAllBytes());
+        }
+        try (InputStream is = dataSource.newInputStream("_TP", "xml")) {
+            assertArrayEquals(tpContent, is.readAllBytes());
+        }
+        assertEquals(3, requestedRanges.size());
+        assertThrows(IOException.class, () -> dataSource.newInputStream("case_SV.xml"));
+        // each ranged GET is a download
+        assertEquals(3, getDownloadCount("none"));
+    }
+
+    @Test
+    void shouldReadCompressedAndPlainCases() throws IOException {
+        byte[] content = createContent("<iidm:network/>\n", 100);
+        ByteArrayOutputStream gzip = new ByteArrayOutputStream();
+        try (GZIPOutputStream gos = new GZIPOutputStream(gzip)) {
+            gos.write(content);
+        }
+        objects.put("cases/network.xiidm.gz", gzip.toByteArray());
+        objects.put("cases/network.xiidm", content);
+
+        S3CaseDataSource gzipDataSource = new S3CaseDataSource(s3Client, BUCKET, "cases/network.xiidm.gz", observer);
+        assertEquals("network", gzipDataSource.getBaseName());
+        assertEquals(Set.of("network.xiidm"), gzipDataSource.listNames(".*"));
+        try (InputStream is = gzipDataSource.newInputStream(null, "xiidm")) {
+            assertArrayEquals(content, is.readAllBytes());
+        }
+
+        S3CaseDataSource plainDataSource = new S3CaseDataSource(s3Client, BUCKET, "cases/network.xiidm", observer);
+        assertTrue(plainDataSource.exists("network.xiidm"));
+        CaseDownloadInterceptor.withCaseFormat("XIIDM", () -> {
+            try (InputStream is = plainDataSource.newInputStream("network.xiidm")) {
+                assertArrayEquals(content, is.readAllBytes());
+            }
+            return null;
+        });
+        // the download is recorded on the close of the stream, tagged with the format of the case being read
+        assertEquals(1, getDownloadCount("XIIDM"));
+        assertThrows(IOException.class, () -> plainDataSource.newInputStream("other.xiidm"));
+        // the fully read objects are not aborted, their connection being reused
+        assertEquals(0, abortedRequests.get());
+
+        // a partially read object is aborted, rather than drained
+        try (InputStream is = plainDataSource.newInputStream("network.xiidm")) {
+            assertEquals(10, is.readNBytes(10).length);
+        }
+        assertEquals(1, abortedRequests.get());
+
+        assertTrue(S3CaseDataSource.isSupported("cases/case.zip"));
+        assertFalse(S3CaseDataSource.isSupported("cases/network.xiidm.bz2"));
+        assertFalse(S3CaseDataSource.isSupported(null));
+    }
+}
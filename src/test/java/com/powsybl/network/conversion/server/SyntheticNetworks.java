@@ -0,0 +1,77 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.network.conversion.server;
+
+import com.powsybl.iidm.network.Country;
+import com.powsybl.iidm.network.Network;
+import com.powsybl.iidm.network.Substation;
+import com.powsybl.iidm.network.TopologyKind;
+import com.powsybl.iidm.network.VoltageLevel;
+import com.powsybl.network.store.iidm.impl.NetworkFactoryImpl;
+
+/**
+ * Synthetic networks for the benchmarks and load tests : a chain of substations, each with one bus, one generator and one load,
+ * linked to the previous substation by a line.
+ */
+final class SyntheticNetworks {
+
+    private SyntheticNetworks() {
+    }
+
+    static Network create(int substationCount) {
+        Network network = new NetworkFactoryImpl().createNetwork("synthetic_" + substationCount, "test");
+        for (int i = 0; i < substationCount; i++) {
+            Substation substation = network.newSubstation()
+                .setId("S" + i)
+                .setCountry(Country.FR)
+                .add();
+            VoltageLevel voltageLevel = substation.newVoltageLevel()
+                .setId("VL" + i)
+                .setNominalV(400)
+                .setTopologyKind(TopologyKind.BUS_BREAKER)
+                .add();
+            String busId = "B" + i;
+            voltageLevel.getBusBreakerView().newBus().setId(busId).add();
+            voltageLevel.newGenerator()
+                .setId("G" + i)
+                .setBus(busId)
+                .setConnectableBus(busId)
+                .setMinP(0)
+                .setMaxP(100)
+                .setTargetP(50)
+                .setTargetV(400)
+                .setVoltageRegulatorOn(true)
+                .add();
+            voltageLevel.newLoad()
+                .setId("L" + i)
+                .setBus(busId)
+                .setConnectableBus(busId)
+                .setP0(10)
+                .setQ0(5)
+                .add();
+            if (i > 0) {
+                String previousBusId = "B" + (i - 1);
+                network.newLine()
+                    .setId("LINE" + i)
+                    .setVoltageLevel1("VL" + (i - 1))
+                    .setBus1(previousBusId)
+                    .setConnectableBus1(previousBusId)
+                    .setVoltageLevel2("VL" + i)
+                    .setBus2(busId)
+                    .setConnectableBus2(busId)
+                    .setR(1)
+                    .setX(10)
+                    .setG1(0)
+                    .setB1(0)
+                    .setG2(0)
+                    .setB2(0)
+                    .add();
+            }
+        }
+        return network;
+    }
+}
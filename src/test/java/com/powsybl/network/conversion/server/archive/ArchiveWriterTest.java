@@ -0,0 +1,225 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.network.conversion.server.archive;
+
+import com.powsybl.network.conversion.server.NetworkConversionException;
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
+import org.apache.commons.compress.compressors.zstandard.ZstdCompressorInputStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ArchiveWriterTest {
+
+    private static final int BLOCK_SIZE = 64 * 1024;
+
+    @TempDir
+    private Path tempDir;
+
+    private ArchiveWriter archiveWriter;
+
+    private Map<String, byte[]> contents;
+
+    private Map<String, Path> entries;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        archiveWriter = new ArchiveWriter(DataSize.ofBytes(BLOCK_SIZE), 2);
+        // a small file compressed as a whole, and a large one compressed by blocks
+        contents = new LinkedHashMap<>();
+        contents.put("network.xiidm", createContent(1000));
+        contents.put("large/network.xiidm", createContent(5 * BLOCK_SIZE + 123));
+        entries = new LinkedHashMap<>();
+        for (Map.Entry<String, byte[]> content : contents.entrySet()) {
+            Path file = tempDir.resolve(content.getKey().replace('/', '_'));
+            Files.write(file, content.getValue());
+            entries.put(content.getKey(), file);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        archiveWriter.shutdown();
+    }
+
+    private static byte[] createContent(int size) {
+        byte[] content = new byte[size];
+        Random random = new Random(size);
+        for (int i = 0; i < size; i++) {
+            content[i] = (byte) ('a' + random.nextInt(16));
+        }
+        return content;
+    }
+
+    @Test
+    void shouldWriteZipArchives() throws IOException {
+        for (ArchiveCodec codec : new ArchiveCodec[] {ArchiveCodec.ZIP, ArchiveCodec.ZIP_STORED}) {
+            Path archive = archiveWriter.write(tempDir, "network_" + codec, entries, new ArchiveOptions(codec, codec.getDefaultLevel()));
+            assertEquals("network_" + codec + ".zip", archive.getFileName().toString());
+            Map<String, byte[]> readContents = new HashMap<>();
+            try (ZipFile zipFile = new ZipFile(archive.toFile())) {
+                Enumeration<? extends ZipEntry> zipEntries = zipFile.entries();
+                while (zipEntries.hasMoreElements()) {
+                    ZipEntry zipEntry = zipEntries.nextElement();
+                    assertEquals(codec == ArchiveCodec.ZIP ? ZipEntry.DEFLATED : ZipEntry.STORED, zipEntry.getMethod());
+                    try (InputStream is = zipFile.getInputStream(zipEntry)) {
+                        readContents.put(zipEntry.getName(), is.readAllBytes());
+                    }
+                }
+            }
+            assertContents(readContents);
+        }
+    }
+
+    @Test
+    void shouldStoreCompressedFilesInZipArchives() throws IOException {
+        Path gzipFile = tempDir.resolve("network.xiidm.gz");
+        try (OutputStream os = new GZIPOutputStream(Files.newOutputStream(gzipFile))) {
+            os.write(contents.get("network.xiidm"));
+        }
+        Path archive = archiveWriter.write(tempDir, "network", Map.of("network.xiidm.gz", gzipFile), ArchiveOptions.DEFAULT);
+        try (ZipFile zipFile = new ZipFile(archive.toFile())) {
+            assertEquals(ZipEntry.STORED, zipFile.getEntry("network.xiidm.gz").getMethod());
+        }
+
+        // a tarball of compressed files is not compressed again
+        Path tarArchive = archiveWriter.write(tempDir, "network", Map.of("network.xiidm.gz", gzipFile),
+            new ArchiveOptions(ArchiveCodec.TAR_ZST, ArchiveCodec.TAR_ZST.getDefaultLevel()));
+        assertEquals("network.tar", tarArchive.getFileName().toString());
+    }
+
+    @Test
+    void shouldWriteTarArchives() throws IOException {
+        Path tarGzArchive = archiveWriter.write(tempDir, "network", entries, new ArchiveOptions(ArchiveCodec.TAR_GZ, 1));
+        assertEquals("network.tar.gz", tarGzArchive.getFileName().toString());
+        // the archive is made of several gzip members, read as a single stream
+        try (InputStream is = new GZIPInputStream(Files.newInputStream(tarGzArchive))) {
+            assertContents(readTar(is));
+        }
+
+        Path tarZstArchive = archiveWriter.write(tempDir, "network", entries, new ArchiveOptions(ArchiveCodec.TAR_ZST, ArchiveCodec.TAR_ZST.getDefaultLevel()));
+        assertEquals("network.tar.zst", tarZstArchive.getFileName().toString());
+        try (InputStream is = new ZstdCompressorInputStream(Files.newInputStream(tarZstArchive))) {
+            assertContents(readTar(is));
+        }
+
+        Path tarArchive = archiveWriter.write(tempDir, "network", entries, new ArchiveOptions(ArchiveCodec.TAR, 0));
+        try (InputStream is = Files.newInputStream(tarArchive)) {
+            assertContents(readTar(is));
+        }
+    }
+
+    @Test
+    void shouldShareBlockPermitsBetweenConcurrentArchives() throws Exception {
+        int permits = archiveWriter.getAvailableBlockPermits();
+        ExecutorService exporters = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Path>> archives = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                String baseName = "network_" + i;
+                archives.add(exporters.submit(() -> archiveWriter.write(tempDir, baseName, entries, new ArchiveOptions(ArchiveCodec.TAR_GZ, 1))));
+            }
+            for (Future<Path> archive : archives) {
+                try (InputStream is = new GZIPInputStream(Files.newInputStream(archive.get(30, TimeUnit.SECONDS)))) {
+                    assertContents(readTar(is));
+                }
+            }
+        } finally {
+            exporters.shutdownNow();
+        }
+        // the permits of the written blocks are all released
+        assertEquals(permits, archiveWriter.getAvailableBlockPermits());
+    }
+
+    @Test
+    void shouldWriteArchivesInMemory() throws IOException {
+        List<ArchiveEntry> inMemoryEntries = contents.entrySet().stream().map(content -> ArchiveEntry.ofContent(content.getKey(), content.getValue())).toList();
+
+        InMemoryArchive zipArchive = archiveWriter.write("network", inMemoryEntries, ArchiveOptions.DEFAULT);
+        assertEquals("network.zip", zipArchive.fileName());
+        Map<String, byte[]> readContents = new HashMap<>();
+        try (ZipInputStream zis = new ZipInputStream(new ByteArrayInputStream(zipArchive.content()))) {
+            ZipEntry zipEntry;
+            while ((zipEntry = zis.getNextEntry()) != null) {
+                readContents.put(zipEntry.getName(), zis.readAllBytes());
+            }
+        }
+        assertContents(readContents);
+
+        InMemoryArchive storedZipArchive = archiveWriter.write("network", inMemoryEntries, new ArchiveOptions(ArchiveCodec.ZIP_STORED, 0));
+        try (ZipInputStream zis = new ZipInputStream(new ByteArrayInputStream(storedZipArchive.content()))) {
+            assertEquals(ZipEntry.STORED, zis.getNextEntry().getMethod());
+        }
+
+        InMemoryArchive tarZstArchive = archiveWriter.write("network", inMemoryEntries, new ArchiveOptions(ArchiveCodec.TAR_ZST, 3));
+        assertEquals("network.tar.zst", tarZstArchive.fileName());
+        try (InputStream is = new ZstdCompressorInputStream(new ByteArrayInputStream(tarZstArchive.content()))) {
+            assertContents(readTar(is));
+        }
+    }
+
+    private static Map<String, byte[]> readTar(InputStream is) throws IOException {
+        Map<String, byte[]> readContents = new HashMap<>();
+        try (TarArchiveInputStream tis = new TarArchiveInputStream(is)) {
+            TarArchiveEntry tarEntry;
+            while ((tarEntry = tis.getNextEntry()) != null) {
+                readContents.put(tarEntry.getName(), tis.readAllBytes());
+            }
+        }
+        return readContents;
+    }
+
+    private void assertContents(Map<String, byte[]> readContents) {
+        assertEquals(contents.keySet(), readContents.keySet());
+        contents.forEach((name, content) -> assertArrayEquals(content, readContents.get(name), name));
+    }
+
+    @Test
+    void shouldReadArchiveOptionsFromFormatParameters() {
+        assertEquals(ArchiveOptions.DEFAULT, ArchiveOptions.fromFormatParameters(null));
+        assertEquals(ArchiveOptions.DEFAULT, ArchiveOptions.fromFormatParameters(Map.of("iidm.export.xml.indent", "false")));
+        assertEquals(new ArchiveOptions(ArchiveCodec.TAR_ZST, 3), ArchiveOptions.fromFormatParameters(Map.of(ArchiveOptions.CODEC_PARAMETER, "TAR_ZST")));
+        assertEquals(new ArchiveOptions(ArchiveCodec.TAR_GZ, 9),
+            ArchiveOptions.fromFormatParameters(Map.of(ArchiveOptions.CODEC_PARAMETER, "TAR_GZ", ArchiveOptions.LEVEL_PARAMETER, "9")));
+        Map<String, Object> unknownCodec = Map.of(ArchiveOptions.CODEC_PARAMETER, "RAR");
+        assertThrows(NetworkConversionException.class, () -> ArchiveOptions.fromFormatParameters(unknownCodec));
+        Map<String, Object> invalidLevel = Map.of(ArchiveOptions.CODEC_PARAMETER, "TAR_GZ", ArchiveOptions.LEVEL_PARAMETER, 12);
+        assertThrows(NetworkConversionException.class, () -> ArchiveOptions.fromFormatParameters(invalidLevel));
+
+        assertEquals("application/zstd", ArchiveCodec.getContentType("network.tar.zst"));
+        assertEquals("application/x-tar", ArchiveCodec.getContentType("network.tar"));
+        assertEquals("application/zip", ArchiveCodec.getContentType("network.xiidm.zip"));
+    }
+}
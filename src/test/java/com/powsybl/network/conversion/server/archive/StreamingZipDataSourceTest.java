@@ -0,0 +1,54 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.network.conversion.server.archive;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StreamingZipDataSourceTest {
+
+    @Test
+    void shouldStreamFilesAsZipEntries() throws IOException {
+        ByteArrayOutputStream archive = new ByteArrayOutputStream();
+        StreamingZipDataSource dataSource = new StreamingZipDataSource(archive, "network", Deflater.DEFAULT_COMPRESSION);
+        try (OutputStream os = dataSource.newOutputStream("_EQ", "xml", false)) {
+            os.write("equipments".getBytes(StandardCharsets.UTF_8));
+            // the files are written one after the other
+            assertThrows(IOException.class, () -> dataSource.newOutputStream("_TP", "xml", false));
+        }
+        try (OutputStream os = dataSource.newOutputStream("network_TP.xml", false)) {
+            os.write("topology".getBytes(StandardCharsets.UTF_8));
+        }
+        assertThrows(IOException.class, () -> dataSource.newOutputStream("_EQ", "xml", false));
+        assertTrue(dataSource.exists("_EQ", "xml"));
+        assertEquals(Set.of("network_TP.xml"), dataSource.listNames(".*_TP.*"));
+        assertThrows(IOException.class, () -> dataSource.newInputStream("network_EQ.xml"));
+        dataSource.finish();
+        assertEquals(archive.size(), dataSource.getArchiveSize());
+
+        try (ZipInputStream zis = new ZipInputStream(new ByteArrayInputStream(archive.toByteArray()))) {
+            ZipEntry entry = zis.getNextEntry();
+            assertEquals("network_EQ.xml", entry.getName());
+            assertEquals(ZipEntry.DEFLATED, entry.getMethod());
+            assertEquals("equipments", new String(zis.readAllBytes(), StandardCharsets.UTF_8));
+            assertEquals("network_TP.xml", zis.getNextEntry().getName());
+            assertEquals("topology", new String(zis.readAllBytes(), StandardCharsets.UTF_8));
+            assertNull(zis.getNextEntry());
+        }
+    }
+}
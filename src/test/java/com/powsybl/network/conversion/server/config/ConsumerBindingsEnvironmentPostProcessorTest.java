@@ -0,0 +1,58 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.network.conversion.server.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConsumerBindingsEnvironmentPostProcessorTest {
+
+    private final ConsumerBindingsEnvironmentPostProcessor postProcessor = new ConsumerBindingsEnvironmentPostProcessor();
+
+    @Test
+    void shouldGenerateConsumersFromConcurrency() {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new MapPropertySource("test", Map.of(
+            "max-concurrent-import-export", "3",
+            "spring.cloud.stream.bindings.consumeCaseImportStart1-in-0.destination", "case.import.start",
+            "spring.cloud.stream.bindings.consumeCaseImportStart1-in-0.group", "importGroup",
+            "spring.cloud.stream.rabbit.bindings.consumeCaseImportStart1-in-0.consumer.auto-bind-dlq", "true"
+        )));
+
+        postProcessor.postProcessEnvironment(environment, null);
+
+        assertThat(environment.getProperty("spring.cloud.function.definition")).isEqualTo(
+            "consumeCaseImportStart1;consumeCaseImportStart2;consumeCaseImportStart3;" +
+            "consumeNetworkExportStart1;consumeNetworkExportStart2;consumeNetworkExportStart3;" +
+            "consumeCaseExportStart1;consumeCaseExportStart2;consumeCaseExportStart3");
+        assertThat(environment.getProperty("spring.cloud.stream.bindings.consumeCaseImportStart3-in-0.destination")).isEqualTo("case.import.start");
+        assertThat(environment.getProperty("spring.cloud.stream.bindings.consumeCaseImportStart2-in-0.group")).isEqualTo("importGroup");
+        assertThat(environment.getProperty("spring.cloud.stream.rabbit.bindings.consumeCaseImportStart2-in-0.consumer.auto-bind-dlq")).isEqualTo("true");
+        assertThat(environment.containsProperty("spring.cloud.stream.bindings.consumeCaseImportStart4-in-0.destination")).isFalse();
+    }
+
+    @Test
+    void shouldNotOverrideExplicitConfiguration() {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new MapPropertySource("test", Map.of(
+            "max-concurrent-import-export", "2",
+            "spring.cloud.function.definition", "consumeCaseImportStart1",
+            "spring.cloud.stream.bindings.consumeCaseImportStart1-in-0.group", "importGroup",
+            "spring.cloud.stream.bindings.consumeCaseImportStart2-in-0.group", "otherGroup"
+        )));
+
+        postProcessor.postProcessEnvironment(environment, null);
+
+        assertThat(environment.getProperty("spring.cloud.function.definition")).isEqualTo("consumeCaseImportStart1");
+        assertThat(environment.getProperty("spring.cloud.stream.bindings.consumeCaseImportStart2-in-0.group")).isEqualTo("otherGroup");
+    }
+}
@@ -0,0 +1,72 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.network.conversion.server.jfr;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConversionEventsTest {
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    void shouldRecordPhaseEventsWithJobIds() throws Exception {
+        UUID caseUuid = UUID.randomUUID();
+        UUID networkUuid = UUID.randomUUID();
+        Path recordingFile = tempDir.resolve("recording.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(ConversionPhaseEvent.class).withThreshold(Duration.ZERO);
+            recording.start();
+
+            ConversionEvents.inJob(caseUuid, null, () -> {
+                ConversionPhaseEvent importEvent = ConversionEvents.beginPhase("import", "XIIDM");
+                ConversionEvents.setEquipments(() -> 42);
+                ConversionEvents.endPhase(importEvent, true);
+                ConversionEvents.inNetwork(networkUuid, () -> {
+                    ConversionPhaseEvent flushEvent = ConversionEvents.beginPhase("flush", "XIIDM");
+                    ConversionEvents.setBytes(() -> 1024);
+                    ConversionEvents.endPhase(flushEvent, false);
+                    return null;
+                });
+            });
+            // details are ignored out of a phase
+            ConversionEvents.setBytes(() -> fail("should not be computed"));
+
+            recording.stop();
+            recording.dump(recordingFile);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(recordingFile).stream()
+            .filter(event -> event.getEventType().getName().equals(ConversionPhaseEvent.NAME))
+            .toList();
+        assertEquals(2, events.size());
+
+        RecordedEvent importEvent = events.stream().filter(event -> event.getString("phase").equals("import")).findFirst().orElseThrow();
+        assertEquals("XIIDM", importEvent.getString("format"));
+        assertEquals(caseUuid.toString(), importEvent.getString("caseUuid"));
+        assertNull(importEvent.getString("networkUuid"));
+        assertEquals(42, importEvent.getLong("equipments"));
+        assertTrue(importEvent.getBoolean("success"));
+
+        RecordedEvent flushEvent = events.stream().filter(event -> event.getString("phase").equals("flush")).findFirst().orElseThrow();
+        assertEquals(caseUuid.toString(), flushEvent.getString("caseUuid"));
+        assertEquals(networkUuid.toString(), flushEvent.getString("networkUuid"));
+        assertEquals(1024, flushEvent.getLong("bytes"));
+        assertFalse(flushEvent.getBoolean("success"));
+    }
+}
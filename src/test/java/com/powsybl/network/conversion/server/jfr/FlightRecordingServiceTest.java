@@ -0,0 +1,61 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.network.conversion.server.jfr;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+import software.amazon.awssdk.services.s3.S3Client;
+
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class FlightRecordingServiceTest {
+
+    @TempDir
+    private Path tempDir;
+
+    private FlightRecordingService service;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        Method preDestroy = FlightRecordingService.class.getDeclaredMethod("preDestroy");
+        preDestroy.setAccessible(true);
+        preDestroy.invoke(service);
+    }
+
+    @Test
+    void shouldRunOneRecordingAtATimeWithUniqueNames() throws Exception {
+        service = new FlightRecordingService(mock(S3Client.class), "ws-bucket", "flight_recordings", tempDir.toString(), Duration.ofMinutes(30));
+
+        Path firstRecording = Path.of(service.startRecording(Duration.ofMillis(500), FlightRecordingService.Storage.LOCAL));
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+            () -> service.startRecording(Duration.ofMillis(500), FlightRecordingService.Storage.LOCAL));
+        assertEquals(HttpStatus.CONFLICT, exception.getStatusCode());
+
+        // a new recording can be started once the previous one is stored, in another file
+        long deadline = System.nanoTime() + Duration.ofSeconds(30).toNanos();
+        String secondRecording = null;
+        while (secondRecording == null && System.nanoTime() < deadline) {
+            try {
+                secondRecording = service.startRecording(Duration.ofMillis(500), FlightRecordingService.Storage.LOCAL);
+            } catch (ResponseStatusException e) {
+                Thread.sleep(100);
+            }
+        }
+        assertTrue(Files.exists(firstRecording));
+        assertNotNull(secondRecording);
+        assertNotEquals(firstRecording, Path.of(secondRecording));
+    }
+}
@@ -0,0 +1,84 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ * SPDX-License-Identifier: MPL-2.0
+ */
+package com.powsybl.network.conversion.server.report;
+
+import com.powsybl.commons.report.ReportNode;
+import com.powsybl.commons.report.TypedValue;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedReporterTest {
+
+    private static ReportNode createRootReportNode() {
+        return ReportNode.newRootReportNode()
+            .withAllResourceBundlesFromClasspath()
+            .withMessageTemplate("network.conversion.server.reporterId")
+            .withUntypedValue("reporterId", "test")
+            .build();
+    }
+
+    private static void addReport(ReportNode reportNode, String messageKey, TypedValue severity) {
+        reportNode.newReportNode()
+            .withMessageTemplate(messageKey)
+            .withSeverity(severity)
+            .add();
+    }
+
+    @Test
+    void shouldKeepOnlyFirstReportsOfEachKey() {
+        ReportNode root = createRootReportNode();
+        BoundedReporter boundedReporter = new BoundedReporter(2, "INFO");
+        ReportNode bounded = boundedReporter.wrap(root);
+
+        for (int i = 0; i < 5; i++) {
+            addReport(bounded, "network.conversion.server.subReporterId", TypedValue.WARN_SEVERITY);
+        }
+        // dropped because below the severity threshold
+        addReport(bounded, "network.conversion.server.reporterId", TypedValue.DEBUG_SEVERITY);
+
+        assertEquals(2, root.getChildren().size());
+        assertEquals(4, boundedReporter.getSuppressedCount());
+
+        boundedReporter.addSummary(root);
+        // one summary per message key having suppressed reports
+        assertEquals(4, root.getChildren().size());
+    }
+
+    @Test
+    void shouldBoundReportsAddedUnderKeptReports() {
+        ReportNode root = createRootReportNode();
+        BoundedReporter boundedReporter = new BoundedReporter(1, "TRACE");
+        ReportNode bounded = boundedReporter.wrap(root);
+
+        ReportNode section = bounded.newReportNode()
+            .withMessageTemplate("network.conversion.server.reporterId")
+            .add();
+        addReport(section, "network.conversion.server.subReporterId", TypedValue.WARN_SEVERITY);
+        addReport(section, "network.conversion.server.subReporterId", TypedValue.WARN_SEVERITY);
+
+        // suppressed report nodes still accept children, which are simply discarded
+        ReportNode suppressedSection = bounded.newReportNode()
+            .withMessageTemplate("network.conversion.server.reporterId")
+            .add();
+        addReport(suppressedSection, "network.conversion.server.subReporterId", TypedValue.WARN_SEVERITY);
+
+        assertEquals(1, root.getChildren().size());
+        assertEquals(1, section.getChildren().size());
+        assertEquals(2, boundedReporter.getSuppressedCount());
+    }
+
+    @Test
+    void shouldNotBoundWithDefaultSettings() {
+        assertFalse(BoundedReporter.isBounding(0, "TRACE"));
+        assertTrue(BoundedReporter.isBounding(10, "TRACE"));
+        assertTrue(BoundedReporter.isBounding(0, "WARN"));
+        assertThrows(IllegalArgumentException.class, () -> new BoundedReporter(0, "UNKNOWN"));
+        assertThrows(IllegalArgumentException.class, () -> BoundedReporter.isBounding(0, "WARNING"));
+    }
+}